@@ -0,0 +1,71 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.user.User;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+/**
+ * Read model for the admin user drawer: everything about a user's account
+ * besides the user row itself, fetched in a single query.
+ */
+@org.springframework.stereotype.Repository
+public interface AccountSummaryRepository extends org.springframework.data.repository.Repository<User, UUID> {
+
+    /**
+     * Account summary row. Lists are JSON arrays (newest first) whose field
+     * names match the {@link UserDetailResponse} DTOs they are read into.
+     */
+    interface AccountSummary {
+
+        /**
+         * Moderation log entries, as {@link ModerationLogResponse}s.
+         */
+        String getModerationHistory();
+
+        /**
+         * The active subscription as a {@link UserDetailResponse.SubscriptionInfo},
+         * or null.
+         */
+        String getCurrentSubscription();
+
+        /**
+         * The 10 latest payments, as {@link UserDetailResponse.TransactionInfo}s.
+         */
+        String getRecentTransactions();
+
+        /**
+         * Startups owned by the user, as {@link UserDetailResponse.StartupSummary}s.
+         */
+        String getOwnedStartups();
+
+        Boolean getHasActiveSession();
+    }
+
+    @Query(value = "SELECT " +
+            "CAST((SELECT COALESCE(json_agg(json_build_object(" +
+            "'id', l.id, 'actionType', l.action_type, 'reason', l.reason, 'durationType', l.duration_type, " +
+            "'expiresAt', l.expires_at, 'previousStatus', l.previous_status, 'newStatus', l.new_status, " +
+            "'active', COALESCE(l.is_active, false), 'adminId', l.admin_id, 'adminEmail', l.admin_email, " +
+            "'revokedAt', l.revoked_at, 'revokedBy', l.revoked_by, 'revokeReason', l.revoke_reason, " +
+            "'createdAt', l.created_at) ORDER BY l.created_at DESC), '[]') " +
+            "FROM user_moderation_logs l WHERE l.user_id = :userId) AS text) AS \"moderationHistory\", " +
+            "CAST((SELECT json_build_object('plan', s.plan_type, 'status', s.status, 'amount', s.amount, " +
+            "'startDate', s.start_date, 'endDate', s.end_date) " +
+            "FROM subscriptions s WHERE s.user_id = :userId AND s.status = 'ACTIVE' " +
+            "ORDER BY s.start_date DESC LIMIT 1) AS text) AS \"currentSubscription\", " +
+            "CAST((SELECT COALESCE(json_agg(json_build_object(" +
+            "'transactionId', p.transaction_id, 'amount', p.amount, 'currency', p.currency, " +
+            "'status', p.status, 'description', p.description, 'paymentMethod', p.payment_method, " +
+            "'timestamp', p.\"timestamp\") ORDER BY p.\"timestamp\" DESC), '[]') " +
+            "FROM (SELECT * FROM payments WHERE user_id = :userId ORDER BY \"timestamp\" DESC LIMIT 10) p) " +
+            "AS text) AS \"recentTransactions\", " +
+            "CAST((SELECT COALESCE(json_agg(json_build_object(" +
+            "'id', st.id, 'name', st.name, 'industry', st.industry, 'stage', st.stage, 'role', 'OWNER', " +
+            "'status', st.status, 'raisedAmount', st.raised_amount, 'createdAt', st.created_at)), '[]') " +
+            "FROM startups st WHERE st.owner_id = :userId) AS text) AS \"ownedStartups\", " +
+            "EXISTS (SELECT 1 FROM refresh_tokens t WHERE t.user_id = :userId AND t.expiry_date > NOW()) " +
+            "AS \"hasActiveSession\"", nativeQuery = true)
+    AccountSummary findAccountSummary(@Param("userId") UUID userId);
+}
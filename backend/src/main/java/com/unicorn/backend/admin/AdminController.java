@@ -35,9 +35,11 @@ public class AdminController {
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
     private final com.unicorn.backend.user.AvatarService avatarService;
     private final TokenBlacklistService tokenBlacklistService;
-    private final com.unicorn.backend.service.EmailService emailService;
+    private final com.unicorn.backend.service.EmailOutboxService emailOutboxService;
     private final StartupModerationLogRepository startupModerationLogRepository;
     private final SubscriptionService subscriptionService;
+    private final DashboardMetricsService dashboardMetricsService;
+    private final UserDetailCache userDetailCache;
 
     public AdminController(UserRepository userRepository, StartupService startupService,
             com.unicorn.backend.security.RefreshTokenRepository refreshTokenRepository,
@@ -46,9 +48,11 @@ public class AdminController {
             org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
             com.unicorn.backend.user.AvatarService avatarService,
             TokenBlacklistService tokenBlacklistService,
-            com.unicorn.backend.service.EmailService emailService,
+            com.unicorn.backend.service.EmailOutboxService emailOutboxService,
             StartupModerationLogRepository startupModerationLogRepository,
-            SubscriptionService subscriptionService) {
+            SubscriptionService subscriptionService,
+            DashboardMetricsService dashboardMetricsService,
+            UserDetailCache userDetailCache) {
         this.userRepository = userRepository;
         this.startupService = startupService;
         this.refreshTokenRepository = refreshTokenRepository;
@@ -57,9 +61,11 @@ public class AdminController {
         this.passwordEncoder = passwordEncoder;
         this.avatarService = avatarService;
         this.tokenBlacklistService = tokenBlacklistService;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
         this.startupModerationLogRepository = startupModerationLogRepository;
         this.subscriptionService = subscriptionService;
+        this.dashboardMetricsService = dashboardMetricsService;
+        this.userDetailCache = userDetailCache;
     }
 
     @PostMapping("/users")
@@ -87,6 +93,7 @@ public class AdminController {
         user = userRepository.saveAndFlush(user);
         user.setAvatarUrl(avatarService.getRandomAvatar(user.getId()));
         userRepository.save(user);
+        dashboardMetricsService.recordUserRegistered(user.getRole());
 
         return ResponseEntity.ok(java.util.Map.of("message", "Admin user created successfully"));
     }
@@ -237,51 +244,7 @@ public class AdminController {
      */
     @GetMapping("/users/stats")
     public ResponseEntity<java.util.Map<String, Object>> getUserStats() {
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-
-        // Total Users
-        long total = userRepository.count();
-        java.time.LocalDateTime startOfMonth = java.time.YearMonth.now().atDay(1).atStartOfDay();
-        long newThisMonth = userRepository.countByCreatedAtAfter(startOfMonth);
-
-        java.util.Map<String, Object> totalStats = new java.util.HashMap<>();
-        totalStats.put("value", total);
-        totalStats.put("newThisMonth", newThisMonth);
-        stats.put("total", totalStats);
-
-        // Active Users (Status = ACTIVE) & Online Users (Active Session)
-        long active = userRepository.countByStatus("ACTIVE");
-        long onlineNow = refreshTokenRepository.countDistinctUserByExpiryDateAfter(java.time.Instant.now());
-
-        java.util.Map<String, Object> activeStats = new java.util.HashMap<>();
-        activeStats.put("value", active);
-        activeStats.put("onlineNow", onlineNow);
-        stats.put("active", activeStats);
-
-        // Investors
-        long investorsCount = userRepository.countByRole("INVESTOR");
-        long verifiedInvestors = userRepository.countByRoleAndInvestorProfile_IsVerifiedTrue("INVESTOR");
-
-        java.util.Map<String, Object> investorStats = new java.util.HashMap<>();
-        investorStats.put("value", investorsCount);
-        investorStats.put("verifiedCount", verifiedInvestors);
-        stats.put("investors", investorStats);
-
-        // Startups
-        // Using StartupRepository countByStatus is better for actual startups
-        // But logic says "Startups" box usually means Startup Users or Startup
-        // profiles.
-        // Assuming box title "Startups" refers to Startup entities:
-        long totalStartups = startupRepository.count();
-        java.math.BigDecimal totalRaised = startupRepository.getTotalFundingRaised();
-
-        java.util.Map<String, Object> startupStats = new java.util.HashMap<>();
-        startupStats.put("value", totalStartups);
-        startupStats.put("totalRaised", totalRaised != null ? totalRaised : java.math.BigDecimal.ZERO);
-        stats.put("startups", startupStats);
-
-        System.out.println("--- Dashboard Stats Accessed - Build V2 ---");
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardMetricsService.getUserStats());
     }
 
     /**
@@ -310,6 +273,7 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("Startup not found: " + id));
 
         startupRepository.delete(startup);
+        dashboardMetricsService.recordStartupDeleted(startup.getStatus());
         return ResponseEntity.noContent().build();
     }
 
@@ -401,19 +365,7 @@ public class AdminController {
      */
     @GetMapping("/startups/stats-overview")
     public ResponseEntity<java.util.Map<String, Object>> getStartupOverviewStats() {
-        java.util.Map<String, Object> stats = new java.util.HashMap<>();
-
-        long total = startupRepository.count();
-        long active = startupRepository.countByStatus(StartupStatus.ACTIVE);
-        long banned = startupRepository.countByStatus(StartupStatus.BANNED);
-        long totalMembers = startupRepository.countTotalMembers();
-
-        stats.put("total", total);
-        stats.put("active", active);
-        stats.put("banned", banned);
-        stats.put("totalMembers", totalMembers);
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardMetricsService.getStartupOverviewStats());
     }
 
     /**
@@ -518,7 +470,7 @@ public class AdminController {
                 String subject = "Startup Status Update: " + status;
                 String body = "Your startup '" + startup.getName() + "' has been marked as " + status + ".\nReason: "
                         + (reason != null ? reason : "No reason provided.");
-                emailService.sendGenericEmail(startup.getOwner().getEmail(), subject, body);
+                emailOutboxService.enqueueGeneric(startup.getOwner().getEmail(), subject, body);
             }
         }
 
@@ -575,7 +527,7 @@ public class AdminController {
         String subject = "Warning regarding your startup: " + startup.getName();
         String body = "You have received a warning from the administration:\n\n" + message;
 
-        emailService.sendGenericEmail(startup.getOwner().getEmail(), subject, body);
+        emailOutboxService.enqueueGeneric(startup.getOwner().getEmail(), subject, body);
 
         // Increment Warning Count and Log
         int currentCount = startup.getWarningCount() != null ? startup.getWarningCount() : 0;
@@ -643,6 +595,7 @@ public class AdminController {
                     admin.getId(),
                     admin.getEmail(),
                     reason);
+            userDetailCache.evict(userId);
 
             if (subscription != null) {
                 return ResponseEntity.ok(java.util.Map.of(
@@ -0,0 +1,42 @@
+package com.unicorn.backend.admin;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One dashboard metric value for one day (e.g. {@code users.total} on
+ * 2024-05-01). Today's row is overwritten by each refresh of
+ * {@link DashboardMetricsService}; earlier rows are the history used for
+ * growth percentages.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "daily_metrics", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_metrics_date_key", columnNames = { "metric_date", "metric_key" })
+}, indexes = {
+        @Index(name = "idx_daily_metrics_key_date", columnList = "metric_key, metric_date")
+})
+public class DailyMetric {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "metric_date", nullable = false)
+    private LocalDate metricDate;
+
+    @Column(name = "metric_key", nullable = false, length = 60)
+    private String metricKey;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal value;
+}
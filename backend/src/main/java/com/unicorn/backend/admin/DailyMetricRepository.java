@@ -0,0 +1,33 @@
+package com.unicorn.backend.admin;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyMetricRepository extends JpaRepository<DailyMetric, Long> {
+
+    /**
+     * Insert or overwrite the value of a metric for a day.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric_date, metric_key, value) VALUES (:date, :key, :value) " +
+            "ON CONFLICT (metric_date, metric_key) DO UPDATE SET value = :value", nativeQuery = true)
+    int upsert(@Param("date") LocalDate date, @Param("key") String key, @Param("value") BigDecimal value);
+
+    /**
+     * All metrics of the latest snapshot taken on or before the given day.
+     */
+    @Query("SELECT m FROM DailyMetric m WHERE m.metricDate = " +
+            "(SELECT MAX(d.metricDate) FROM DailyMetric d WHERE d.metricDate <= :date)")
+    List<DailyMetric> findLatestOnOrBefore(@Param("date") LocalDate date);
+
+    List<DailyMetric> findByMetricKeyAndMetricDateGreaterThanEqualOrderByMetricDateAsc(String metricKey,
+            LocalDate from);
+}
@@ -0,0 +1,328 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.investor.InvestorProfileRepository;
+import com.unicorn.backend.security.RefreshTokenRepository;
+import com.unicorn.backend.startup.StartupRepository;
+import com.unicorn.backend.startup.StartupStatus;
+import com.unicorn.backend.subscription.SubscriptionService;
+import com.unicorn.backend.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin dashboard metrics.
+ * A scheduled refresh runs the count/sum queries once, keeps the result in
+ * memory and writes it as today's row set in {@code daily_metrics}. Between
+ * refreshes, registrations and startup changes adjust the counts through
+ * in-memory deltas (applied after commit), so the dashboard endpoints never
+ * scan the tables themselves. Growth percentages compare the current values
+ * with the stored snapshot from one period ago.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardMetricsService {
+
+    public static final String USERS_TOTAL = "users.total";
+    public static final String USERS_NEW_THIS_MONTH = "users.new_this_month";
+    public static final String USERS_ACTIVE = "users.active";
+    public static final String USERS_ONLINE = "users.online";
+    public static final String USERS_INVESTORS = "users.investors";
+    public static final String USERS_VERIFIED_INVESTORS = "users.verified_investors";
+    public static final String INVESTOR_PROFILES = "investors.profiles";
+    public static final String INVESTORS_PENDING = "investors.pending_verification";
+    public static final String STARTUPS_TOTAL = "startups.total";
+    public static final String STARTUPS_ACTIVE = "startups.active";
+    public static final String STARTUPS_BANNED = "startups.banned";
+    public static final String STARTUPS_MEMBERS = "startups.members";
+    public static final String STARTUPS_FUNDING = "startups.funding_raised";
+    public static final String REVENUE_MRR = "revenue.mrr";
+
+    private final UserRepository userRepository;
+    private final StartupRepository startupRepository;
+    private final InvestorProfileRepository investorProfileRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SubscriptionService subscriptionService;
+    private final DailyMetricRepository dailyMetricRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${dashboard.metrics.growth.period-days:30}")
+    private int growthPeriodDays;
+
+    private final Map<String, AtomicLong> pending = new ConcurrentHashMap<>();
+    private volatile Map<String, BigDecimal> current = Map.of();
+    private volatile Map<String, BigDecimal> baseline = Map.of();
+    private volatile LocalDateTime refreshedAt;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Recompute all metrics, store them as today's snapshot and reload the
+     * growth baseline (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${dashboard.metrics.refresh.interval:300000}")
+    public void refresh() {
+        // Deltas recorded so far were committed before the queries run, so the new
+        // values include them. Deltas recorded while computing are kept: each may
+        // or may not be in its count, depending on whether it committed before that
+        // query ran, so a count can be off by those events until the next refresh.
+        Map<String, Long> included = new HashMap<>();
+        pending.forEach((key, delta) -> included.put(key, delta.get()));
+
+        Map<String, BigDecimal> values;
+        try {
+            values = compute();
+        } catch (Exception e) {
+            log.error("Failed to compute dashboard metrics: {}", e.getMessage());
+            return;
+        }
+
+        synchronized (pending) {
+            included.forEach((key, delta) -> pending.get(key).addAndGet(-delta));
+            current = Map.copyOf(values);
+        }
+        refreshedAt = LocalDateTime.now();
+
+        LocalDate today = LocalDate.now();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    values.forEach((key, value) -> dailyMetricRepository.upsert(today, key, value)));
+            baseline = toMap(dailyMetricRepository.findLatestOnOrBefore(today.minusDays(growthPeriodDays)));
+        } catch (Exception e) {
+            log.error("Failed to store dashboard metrics snapshot: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, BigDecimal> compute() {
+        Map<String, BigDecimal> values = new HashMap<>();
+        LocalDateTime startOfMonth = YearMonth.now().atDay(1).atStartOfDay();
+
+        values.put(USERS_TOTAL, count(userRepository.count()));
+        values.put(USERS_NEW_THIS_MONTH, count(userRepository.countByCreatedAtAfter(startOfMonth)));
+        values.put(USERS_ACTIVE, count(userRepository.countByStatus("ACTIVE")));
+        values.put(USERS_ONLINE, count(refreshTokenRepository.countDistinctUserByExpiryDateAfter(Instant.now())));
+        values.put(USERS_INVESTORS, count(userRepository.countByRole("INVESTOR")));
+        values.put(USERS_VERIFIED_INVESTORS,
+                count(userRepository.countByRoleAndInvestorProfile_IsVerifiedTrue("INVESTOR")));
+        values.put(INVESTOR_PROFILES, count(investorProfileRepository.count()));
+        values.put(INVESTORS_PENDING, count(investorProfileRepository.countPendingVerifications()));
+        values.put(STARTUPS_TOTAL, count(startupRepository.count()));
+        values.put(STARTUPS_ACTIVE, count(startupRepository.countByStatus(StartupStatus.ACTIVE)));
+        values.put(STARTUPS_BANNED, count(startupRepository.countByStatus(StartupStatus.BANNED)));
+        values.put(STARTUPS_MEMBERS, count(startupRepository.countTotalMembers()));
+        values.put(STARTUPS_FUNDING, orZero(startupRepository.getTotalFundingRaised()));
+        values.put(REVENUE_MRR, orZero(subscriptionService.calculateMRR()));
+        return values;
+    }
+
+    /**
+     * Count a newly registered user once the surrounding transaction commits.
+     */
+    public void recordUserRegistered(String role) {
+        afterCommit(() -> {
+            add(USERS_TOTAL, 1);
+            add(USERS_NEW_THIS_MONTH, 1);
+            if ("INVESTOR".equals(role)) {
+                add(USERS_INVESTORS, 1);
+            }
+        });
+    }
+
+    /**
+     * Count a new startup once the surrounding transaction commits.
+     */
+    public void recordStartupCreated(StartupStatus status) {
+        afterCommit(() -> {
+            add(STARTUPS_TOTAL, 1);
+            add(statusKey(status), 1);
+        });
+    }
+
+    /**
+     * Count a deleted startup once the surrounding transaction commits.
+     */
+    public void recordStartupDeleted(StartupStatus status) {
+        afterCommit(() -> {
+            add(STARTUPS_TOTAL, -1);
+            add(statusKey(status), -1);
+        });
+    }
+
+    /**
+     * Move a startup between status counts once the surrounding transaction
+     * commits.
+     */
+    public void recordStartupStatusChanged(StartupStatus from, StartupStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            add(statusKey(from), -1);
+            add(statusKey(to), 1);
+        });
+    }
+
+    /**
+     * Stats for the main admin dashboard.
+     */
+    public DashboardStatsResponse getDashboardStats() {
+        return DashboardStatsResponse.builder()
+                .totalUsers(longValue(USERS_TOTAL))
+                .activeStartups(longValue(STARTUPS_ACTIVE))
+                .activeInvestors(longValue(INVESTOR_PROFILES))
+                .pendingVerifications(longValue(INVESTORS_PENDING))
+                .mrr(value(REVENUE_MRR))
+                .totalFunding(value(STARTUPS_FUNDING))
+                .userGrowth(growth(USERS_TOTAL))
+                .startupGrowth(growth(STARTUPS_ACTIVE))
+                .investorGrowth(growth(INVESTOR_PROFILES))
+                .mrrGrowth(growth(REVENUE_MRR))
+                .build();
+    }
+
+    /**
+     * Stats for the user management page.
+     */
+    public Map<String, Object> getUserStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", Map.of(
+                "value", longValue(USERS_TOTAL),
+                "newThisMonth", longValue(USERS_NEW_THIS_MONTH),
+                "growth", growth(USERS_TOTAL)));
+        stats.put("active", Map.of(
+                "value", longValue(USERS_ACTIVE),
+                "onlineNow", longValue(USERS_ONLINE),
+                "growth", growth(USERS_ACTIVE)));
+        stats.put("investors", Map.of(
+                "value", longValue(USERS_INVESTORS),
+                "verifiedCount", longValue(USERS_VERIFIED_INVESTORS),
+                "growth", growth(USERS_INVESTORS)));
+        stats.put("startups", Map.of(
+                "value", longValue(STARTUPS_TOTAL),
+                "totalRaised", value(STARTUPS_FUNDING),
+                "growth", growth(STARTUPS_TOTAL)));
+        stats.put("refreshedAt", refreshedAt);
+        return stats;
+    }
+
+    /**
+     * Stats for the startup overview page.
+     */
+    public Map<String, Object> getStartupOverviewStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", longValue(STARTUPS_TOTAL));
+        stats.put("active", longValue(STARTUPS_ACTIVE));
+        stats.put("banned", longValue(STARTUPS_BANNED));
+        stats.put("totalMembers", longValue(STARTUPS_MEMBERS));
+        stats.put("growth", growth(STARTUPS_TOTAL));
+        return stats;
+    }
+
+    /**
+     * Stored daily values of one metric, oldest first.
+     */
+    public Map<LocalDate, BigDecimal> getHistory(String metricKey, int days) {
+        Map<LocalDate, BigDecimal> history = new LinkedHashMap<>();
+        LocalDate from = LocalDate.now().minusDays(days);
+        for (DailyMetric metric : dailyMetricRepository
+                .findByMetricKeyAndMetricDateGreaterThanEqualOrderByMetricDateAsc(metricKey, from)) {
+            history.put(metric.getMetricDate(), metric.getValue());
+        }
+        return history;
+    }
+
+    /**
+     * Percentage change against the snapshot from one growth period ago;
+     * 0 when there is no history yet.
+     */
+    private double growth(String key) {
+        BigDecimal previous = baseline.get(key);
+        if (previous == null) {
+            return 0.0;
+        }
+        BigDecimal now = value(key);
+        if (previous.signum() == 0) {
+            return now.signum() == 0 ? 0.0 : 100.0;
+        }
+        return now.subtract(previous)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(previous, 1, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    private BigDecimal value(String key) {
+        synchronized (pending) {
+            BigDecimal value = current.getOrDefault(key, BigDecimal.ZERO);
+            AtomicLong delta = pending.get(key);
+            return delta != null ? value.add(BigDecimal.valueOf(delta.get())) : value;
+        }
+    }
+
+    private long longValue(String key) {
+        return Math.max(0, value(key).longValue());
+    }
+
+    private void add(String key, long delta) {
+        if (key != null) {
+            pending.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static String statusKey(StartupStatus status) {
+        if (status == StartupStatus.ACTIVE) {
+            return STARTUPS_ACTIVE;
+        }
+        return status == StartupStatus.BANNED ? STARTUPS_BANNED : null;
+    }
+
+    private static BigDecimal count(long count) {
+        return BigDecimal.valueOf(count);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static Map<String, BigDecimal> toMap(List<DailyMetric> metrics) {
+        Map<String, BigDecimal> values = new HashMap<>();
+        for (DailyMetric metric : metrics) {
+            values.put(metric.getMetricKey(), metric.getValue());
+        }
+        return Map.copyOf(values);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
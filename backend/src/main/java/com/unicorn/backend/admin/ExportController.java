@@ -0,0 +1,135 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.deal.DealStatus;
+import com.unicorn.backend.payment.PaymentStatus;
+import com.unicorn.backend.startup.StartupStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+/**
+ * Streaming CSV / NDJSON exports for the admin dashboard.
+ * Responses are gzip-encoded when the client accepts it. Exports get their own
+ * async timeout ({@code admin.export.timeout-ms}) so long exports can finish
+ * without raising the timeout of every other async request.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Value("${admin.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
+    /**
+     * Export payments, optionally filtered by status and time range.
+     */
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return export(request, "payments", format, acceptEncoding,
+                (exportFormat, gzip) -> exportService.exportPayments(exportFormat, gzip, status, from, to));
+    }
+
+    /**
+     * Export users, optionally filtered by role and status.
+     */
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return export(request, "users", format, acceptEncoding,
+                (exportFormat, gzip) -> exportService.exportUsers(exportFormat, gzip, role, status));
+    }
+
+    /**
+     * Export startups, optionally filtered by status.
+     */
+    @GetMapping("/startups")
+    public ResponseEntity<StreamingResponseBody> exportStartups(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) StartupStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return export(request, "startups", format, acceptEncoding,
+                (exportFormat, gzip) -> exportService.exportStartups(exportFormat, gzip, status));
+    }
+
+    /**
+     * Export deals, optionally filtered by status.
+     */
+    @GetMapping("/deals")
+    public ResponseEntity<StreamingResponseBody> exportDeals(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) DealStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        return export(request, "deals", format, acceptEncoding,
+                (exportFormat, gzip) -> exportService.exportDeals(exportFormat, gzip, status));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(HttpServletRequest request, String name, String format, String acceptEncoding,
+            BiFunction<ExportFormat, Boolean, StreamingResponseBody> body) {
+        ExportFormat exportFormat = ExportFormat.fromString(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        String filename = name + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        extendAsyncTimeout(request);
+        return response.body(body.apply(exportFormat, gzip));
+    }
+
+    /**
+     * Apply the export timeout to this request only. The streaming body runs as
+     * a callable; the interceptor sets the timeout just before async processing
+     * starts, replacing the default from {@code spring.mvc.async.request-timeout}.
+     */
+    private void extendAsyncTimeout(HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportController.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(exportTimeoutMs);
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,181 @@
+package com.unicorn.backend.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.backend.deal.DealExportRow;
+import com.unicorn.backend.deal.DealRepository;
+import com.unicorn.backend.deal.DealStatus;
+import com.unicorn.backend.payment.PaymentExportRow;
+import com.unicorn.backend.payment.PaymentRepository;
+import com.unicorn.backend.payment.PaymentStatus;
+import com.unicorn.backend.startup.StartupExportRow;
+import com.unicorn.backend.startup.StartupRepository;
+import com.unicorn.backend.startup.StartupStatus;
+import com.unicorn.backend.user.UserExportRow;
+import com.unicorn.backend.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming admin exports.
+ * Rows are read as flat projections from a database cursor inside a read-only
+ * transaction and written to the response one by one (optionally gzipped), so
+ * memory use does not depend on the number of rows and no COUNT query is run.
+ * CSV columns and NDJSON fields are the components of the row record.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+    private final StartupRepository startupRepository;
+    private final DealRepository dealRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(
+            PaymentRepository paymentRepository,
+            UserRepository userRepository,
+            StartupRepository startupRepository,
+            DealRepository dealRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.paymentRepository = paymentRepository;
+        this.userRepository = userRepository;
+        this.startupRepository = startupRepository;
+        this.dealRepository = dealRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportPayments(ExportFormat format, boolean gzip, PaymentStatus status,
+            LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.of(2000, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.now().plusDays(1);
+        return stream("payments", PaymentExportRow.class,
+                () -> paymentRepository.streamForExport(status, start, end), format, gzip);
+    }
+
+    public StreamingResponseBody exportUsers(ExportFormat format, boolean gzip, String role, String status) {
+        return stream("users", UserExportRow.class,
+                () -> userRepository.streamForExport(role, status), format, gzip);
+    }
+
+    public StreamingResponseBody exportStartups(ExportFormat format, boolean gzip, StartupStatus status) {
+        return stream("startups", StartupExportRow.class,
+                () -> startupRepository.streamForExport(status), format, gzip);
+    }
+
+    public StreamingResponseBody exportDeals(ExportFormat format, boolean gzip, DealStatus status) {
+        return stream("deals", DealExportRow.class,
+                () -> dealRepository.streamForExport(status), format, gzip);
+    }
+
+    private <T extends Record> StreamingResponseBody stream(String name, Class<T> type, Supplier<Stream<T>> source,
+            ExportFormat format, boolean gzip) {
+        RecordComponent[] columns = type.getRecordComponents();
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            long started = System.currentTimeMillis();
+            long rows;
+            try {
+                rows = readOnlyTransaction.execute(status -> {
+                    long written = 0;
+                    try (Stream<T> stream = source.get()) {
+                        if (format == ExportFormat.CSV) {
+                            writeCsvHeader(writer, columns);
+                        }
+                        Iterator<T> iterator = stream.iterator();
+                        while (iterator.hasNext()) {
+                            T row = iterator.next();
+                            if (format == ExportFormat.CSV) {
+                                writeCsvRow(writer, columns, row);
+                            } else {
+                                writer.write(objectMapper.writeValueAsString(row));
+                                writer.write('\n');
+                            }
+                            written++;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return written;
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client went away
+                log.warn("Export of {} aborted: {}", name, e.getCause().getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Exported {} {} as {} in {} ms", rows, name, format, System.currentTimeMillis() - started);
+        };
+    }
+
+    private static void writeCsvHeader(Writer writer, RecordComponent[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns[i].getName());
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvRow(Writer writer, RecordComponent[] columns, Record row) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value;
+            try {
+                value = columns[i].getAccessor().invoke(row);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read export column " + columns[i].getName(), e);
+            }
+            if (value != null) {
+                writer.write(csvField(value));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote a CSV field if needed. Text starting with a formula character is
+     * prefixed with an apostrophe so spreadsheets don't evaluate it.
+     */
+    private static String csvField(Object value) {
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
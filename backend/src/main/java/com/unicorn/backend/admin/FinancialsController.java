@@ -1,11 +1,13 @@
 package com.unicorn.backend.admin;
 
-import com.unicorn.backend.appconfig.AppConfigService;
 import com.unicorn.backend.deal.DealService;
 import com.unicorn.backend.deal.DealStatus;
 import com.unicorn.backend.payment.Payment;
 import com.unicorn.backend.payment.PaymentRepository;
+import com.unicorn.backend.payment.PaymentService;
 import com.unicorn.backend.payment.PaymentStatus;
+import com.unicorn.backend.payment.RevenueSeriesService;
+import com.unicorn.backend.subscription.MrrService;
 import com.unicorn.backend.subscription.SubscriptionPlan;
 import com.unicorn.backend.subscription.SubscriptionRepository;
 import com.unicorn.backend.subscription.SubscriptionStatus;
@@ -21,10 +23,11 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Controller for financial analytics and dashboard data.
@@ -37,23 +40,25 @@ import java.util.stream.Collectors;
 public class FinancialsController {
 
     private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
     private final DealService dealService;
-    private final AppConfigService appConfigService;
+    private final MrrService mrrService;
+    private final RevenueSeriesService revenueSeriesService;
 
     /**
      * Get comprehensive financial summary with USD currency conversion.
      */
     @GetMapping("/summary")
     public ResponseEntity<FinancialSummaryDTO> getFinancialSummary() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startOfMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime startOfPrevMonth = startOfMonth.minusMonths(1);
-        LocalDateTime endOfPrevMonth = startOfMonth.minusSeconds(1);
+        LocalDate today = LocalDate.now();
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        LocalDate startOfPrevMonth = startOfMonth.minusMonths(1);
+        LocalDate endOfPrevMonth = startOfMonth.minusDays(1);
 
         // Revenue calculations (Converted to USD)
-        BigDecimal currentMonthRevenue = calculateRevenueForPeriod(startOfMonth, now);
+        BigDecimal currentMonthRevenue = calculateRevenueForPeriod(startOfMonth, today);
         BigDecimal previousMonthRevenue = calculateRevenueForPeriod(startOfPrevMonth, endOfPrevMonth);
 
         BigDecimal revenueGrowth = BigDecimal.ZERO;
@@ -99,8 +104,7 @@ public class FinancialsController {
         long totalPayments = completedPayments + pendingPayments + failedPayments + refundedPayments;
 
         // Lifetime revenue (Converted to USD)
-        BigDecimal lifetimeRevenue = calculateRevenueForPeriod(
-                LocalDateTime.of(2020, 1, 1, 0, 0), now);
+        BigDecimal lifetimeRevenue = calculateRevenueForPeriod(LocalDate.of(2020, 1, 1), today);
 
         // Deals/Commission metrics (Already converted to USD in DealService)
         BigDecimal totalCommission = dealService.getDealStats().getTotalCommissionRevenue();
@@ -140,43 +144,18 @@ public class FinancialsController {
      */
     @GetMapping("/revenue/monthly")
     public ResponseEntity<List<RevenueDataPointDTO>> getMonthlyRevenue() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime startDate = now.minusMonths(11).withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-
-        List<Object[]> rawData = paymentRepository.getMonthlyRevenueByCurrency(startDate);
-
-        // Map: MonthNum -> Total Revenue (USD)
-        Map<Integer, BigDecimal> monthlyRevenueMap = new HashMap<>();
-        Map<Integer, String> monthNameMap = new HashMap<>();
-
-        for (Object[] row : rawData) {
-            String monthName = (String) row[0];
-            int monthNum = ((Number) row[1]).intValue();
-            String currency = (String) row[2];
-            BigDecimal amount = (BigDecimal) row[3];
-
-            BigDecimal amountUSD = convertToUSD(amount, currency);
-
-            monthlyRevenueMap.put(monthNum, monthlyRevenueMap.getOrDefault(monthNum, BigDecimal.ZERO).add(amountUSD));
-            monthNameMap.put(monthNum, monthName);
-        }
-
+        YearMonth now = YearMonth.now();
         List<RevenueDataPointDTO> result = new ArrayList<>();
 
-        // Ensure all 12 months are present, even if 0 revenue
-        for (int i = 0; i < 12; i++) {
-            LocalDateTime monthDate = startDate.plusMonths(i);
-            int monthNum = monthDate.getMonthValue();
-            String monthName = monthDate.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
-
-            result.add(RevenueDataPointDTO.builder()
-                    .month(monthName)
-                    .monthNum(monthNum)
-                    .revenue(monthlyRevenueMap.getOrDefault(monthNum, BigDecimal.ZERO))
-                    .proRevenue(BigDecimal.ZERO) // Simplified
-                    .eliteRevenue(BigDecimal.ZERO)
-                    .build());
-        }
+        // All 12 months are present, even if 0 revenue
+        revenueSeriesService.getMonthly(now.minusMonths(11), now).forEach((month, revenue) ->
+                result.add(RevenueDataPointDTO.builder()
+                        .month(month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                        .monthNum(month.getMonthValue())
+                        .revenue(revenue)
+                        .proRevenue(BigDecimal.ZERO) // Simplified
+                        .eliteRevenue(BigDecimal.ZERO)
+                        .build()));
 
         return ResponseEntity.ok(result);
     }
@@ -186,25 +165,50 @@ public class FinancialsController {
      */
     @GetMapping("/revenue/daily")
     public ResponseEntity<List<Map<String, Object>>> getDailyRevenue() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = LocalDate.now();
         List<Map<String, Object>> result = new ArrayList<>();
 
-        for (int i = 29; i >= 0; i--) {
-            LocalDateTime dayStart = now.minusDays(i).withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime dayEnd = dayStart.plusDays(1).minusSeconds(1);
-
-            BigDecimal revenue = calculateRevenueForPeriod(dayStart, dayEnd);
-
+        revenueSeriesService.getDaily(today.minusDays(29), today).forEach((day, revenue) -> {
             Map<String, Object> point = new HashMap<>();
-            point.put("date", dayStart.toLocalDate().toString());
-            point.put("day", dayStart.getDayOfMonth());
+            point.put("date", day.toString());
+            point.put("day", day.getDayOfMonth());
             point.put("revenue", revenue);
             result.add(point);
-        }
+        });
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Get yearly revenue with USD conversion.
+     */
+    @GetMapping("/revenue/yearly")
+    public ResponseEntity<List<Map<String, Object>>> getYearlyRevenue(
+            @RequestParam(defaultValue = "5") int years) {
+        Year now = Year.now();
+        List<Map<String, Object>> result = new ArrayList<>();
+
+        revenueSeriesService.getYearly(now.minusYears(Math.max(1, Math.min(years, 20)) - 1), now)
+                .forEach((year, revenue) -> {
+                    Map<String, Object> point = new HashMap<>();
+                    point.put("year", year.getValue());
+                    point.put("revenue", revenue);
+                    result.add(point);
+                });
 
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Rebuild the revenue time series from payment history.
+     */
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRevenueSeries() {
+        long buckets = revenueSeriesService.rebuild();
+        log.info("Rebuilt {} revenue buckets from payment history", buckets);
+        return ResponseEntity.ok(Map.of("success", true, "buckets", buckets));
+    }
+
     /**
      * Get subscription statistics breakdown with USD conversion.
      */
@@ -223,8 +227,9 @@ public class FinancialsController {
         long freeUsers = userRepository.count() - proActive - eliteActive;
 
         // Calculate revenue by plan with USD conversion
-        BigDecimal proRevenue = calculateMRRByPlan(SubscriptionPlan.PRO);
-        BigDecimal eliteRevenue = calculateMRRByPlan(SubscriptionPlan.ELITE);
+        Map<SubscriptionPlan, BigDecimal> mrrByPlan = mrrService.getMrrByPlan();
+        BigDecimal proRevenue = mrrByPlan.getOrDefault(SubscriptionPlan.PRO, BigDecimal.ZERO);
+        BigDecimal eliteRevenue = mrrByPlan.getOrDefault(SubscriptionPlan.ELITE, BigDecimal.ZERO);
 
         SubscriptionStatsDTO stats = SubscriptionStatsDTO.builder()
                 .totalSubscriptions(totalSubs)
@@ -269,6 +274,19 @@ public class FinancialsController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Refund a completed payment (removes it from revenue).
+     */
+    @PostMapping("/payments/{transactionId}/refund")
+    public ResponseEntity<Map<String, Object>> refundPayment(@PathVariable String transactionId) {
+        try {
+            Payment payment = paymentService.refundPayment(transactionId);
+            return ResponseEntity.ok(Map.of("success", true, "status", payment.getStatus().name()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
     /**
      * Get payment status breakdown for pie chart.
      */
@@ -282,60 +300,13 @@ public class FinancialsController {
         return ResponseEntity.ok(breakdown);
     }
 
-    // --- Helper Methods for Currency Conversion ---
+    // --- Helper Methods ---
 
-    private BigDecimal calculateRevenueForPeriod(LocalDateTime start, LocalDateTime end) {
-        List<Object[]> results = paymentRepository.getTotalRevenueForPeriodByCurrency(start, end);
-        BigDecimal totalUSD = BigDecimal.ZERO;
-        for (Object[] row : results) {
-            String currency = (String) row[0];
-            BigDecimal amount = (BigDecimal) row[1];
-            totalUSD = totalUSD.add(convertToUSD(amount, currency));
-        }
-        return totalUSD;
+    private BigDecimal calculateRevenueForPeriod(LocalDate start, LocalDate end) {
+        return revenueSeriesService.getTotal(start, end);
     }
 
     private BigDecimal calculateMRR() {
-        List<Object[]> results = subscriptionRepository.calculateTotalActiveMRRByCurrency();
-        BigDecimal totalUSD = BigDecimal.ZERO;
-        for (Object[] row : results) {
-            String currency = (String) row[0];
-            BigDecimal amount = (BigDecimal) row[1];
-            totalUSD = totalUSD.add(convertToUSD(amount, currency));
-        }
-        return totalUSD;
-    }
-
-    private BigDecimal calculateMRRByPlan(SubscriptionPlan plan) {
-        List<Object[]> results = subscriptionRepository.calculateMRRByPlanAndCurrency(plan);
-        BigDecimal totalUSD = BigDecimal.ZERO;
-        for (Object[] row : results) {
-            String currency = (String) row[0];
-            BigDecimal amount = (BigDecimal) row[1];
-            totalUSD = totalUSD.add(convertToUSD(amount, currency));
-        }
-        return totalUSD;
-    }
-
-    private BigDecimal convertToUSD(BigDecimal amount, String currency) {
-        if (amount == null)
-            return BigDecimal.ZERO;
-        if (currency == null || "USD".equalsIgnoreCase(currency)) {
-            return amount;
-        }
-
-        String rateKey = "rate_" + currency.toLowerCase();
-        String rateValue = appConfigService.getValue(rateKey).orElse(null);
-
-        if (rateValue != null) {
-            try {
-                BigDecimal rate = new BigDecimal(rateValue);
-                // Rate format: 1 USD = X Currency => USD Amount = Currency Amount / Rate
-                return amount.divide(rate, 2, RoundingMode.HALF_UP);
-            } catch (NumberFormatException e) {
-                return amount;
-            }
-        }
-        return amount;
+        return mrrService.getMrr();
     }
 }
@@ -26,6 +26,7 @@ import java.util.UUID;
 public class InvestorVerificationController {
 
         private final InvestorProfileRepository investorProfileRepository;
+        private final UserDetailCache userDetailCache;
 
         /**
          * Get paginated list of investors pending verification.
@@ -69,6 +70,7 @@ public class InvestorVerificationController {
                 profile.setReadyForPayment(true);
                 profile.setVerificationNotes("Approved for payment on " + LocalDateTime.now());
                 investorProfileRepository.save(profile);
+                userDetailCache.evict(profile.getUser().getId());
 
                 // TODO: Send notification/email to investor
                 // notificationService.sendVerificationApprovalNotification(profile.getUser());
@@ -136,6 +138,7 @@ public class InvestorVerificationController {
                 profile.setVerificationRequested(false);
                 profile.setVerificationNotes("Rejected: " + reason + " on " + LocalDateTime.now());
                 investorProfileRepository.save(profile);
+                userDetailCache.evict(profile.getUser().getId());
 
                 // TODO: Send rejection notification
                 // notificationService.sendVerificationRejectionNotification(profile.getUser(),
@@ -161,6 +164,7 @@ public class InvestorVerificationController {
                 profile.setVerificationNotes("Verification completed on " + LocalDateTime.now());
                 investorProfileRepository.save(profile);
                 investorProfileRepository.flush();
+                userDetailCache.evict(profile.getUser().getId());
 
                 return ResponseEntity.ok(Map.of(
                                 "message", "Investor verification completed.",
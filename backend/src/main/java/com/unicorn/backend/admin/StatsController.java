@@ -1,18 +1,16 @@
 package com.unicorn.backend.admin;
 
-import com.unicorn.backend.investor.InvestorProfileRepository;
-import com.unicorn.backend.payment.PaymentService;
-import com.unicorn.backend.startup.StartupRepository;
-import com.unicorn.backend.subscription.SubscriptionService;
-import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
 
 /**
  * Controller for dashboard statistics.
@@ -23,52 +21,28 @@ import java.math.BigDecimal;
 @RequiredArgsConstructor
 public class StatsController {
 
-    private final UserRepository userRepository;
-    private final StartupRepository startupRepository;
-    private final InvestorProfileRepository investorProfileRepository;
-    private final SubscriptionService subscriptionService;
-    private final PaymentService paymentService;
+    private final DashboardMetricsService dashboardMetricsService;
 
     /**
-     * Get dashboard statistics.
+     * Get dashboard statistics (served from the metrics snapshot, see
+     * {@link DashboardMetricsService}).
      * 
      * GET /api/v1/admin/stats
      */
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
-        // Count users
-        long totalUsers = userRepository.count();
-
-        // Count active startups
-        long activeStartups = startupRepository.countByStatus(
-                com.unicorn.backend.startup.StartupStatus.ACTIVE);
-
-        // Count investors with profiles
-        long activeInvestors = investorProfileRepository.count();
-
-        // Count pending investor verifications
-        long pendingVerifications = investorProfileRepository.countPendingVerifications();
-
-        // Calculate MRR
-        BigDecimal mrr = subscriptionService.calculateMRR();
-
-        // Calculate total funding raised by startups
-        BigDecimal totalFunding = startupRepository.getTotalFundingRaised();
-
-        DashboardStatsResponse response = DashboardStatsResponse.builder()
-                .totalUsers(totalUsers)
-                .activeStartups(activeStartups)
-                .activeInvestors(activeInvestors)
-                .pendingVerifications(pendingVerifications)
-                .mrr(mrr != null ? mrr : BigDecimal.ZERO)
-                .totalFunding(totalFunding != null ? totalFunding : BigDecimal.ZERO)
-                // TODO: Calculate growth percentages based on historical data
-                .userGrowth(12.5)
-                .startupGrowth(8.3)
-                .investorGrowth(5.2)
-                .mrrGrowth(15.7)
-                .build();
+        return ResponseEntity.ok(dashboardMetricsService.getDashboardStats());
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * Get the stored daily values of one metric (e.g. {@code users.total}).
+     * 
+     * GET /api/v1/admin/stats/history?metric=users.total&days=90
+     */
+    @GetMapping("/stats/history")
+    public ResponseEntity<Map<LocalDate, BigDecimal>> getMetricHistory(
+            @RequestParam String metric,
+            @RequestParam(defaultValue = "90") int days) {
+        return ResponseEntity.ok(dashboardMetricsService.getHistory(metric, Math.min(Math.max(days, 1), 366)));
     }
 }
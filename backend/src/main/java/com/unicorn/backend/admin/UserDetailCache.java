@@ -0,0 +1,76 @@
+package com.unicorn.backend.admin;
+
+import com.unicorn.backend.subscription.SubscriptionEndedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of the admin user drawer ({@link UserDetailResponse}).
+ * Entries are evicted by admin actions on the user (moderation, investor
+ * verification, subscription revocation) and when a subscription ends, and
+ * otherwise expire after 30 seconds, which covers logins and payments.
+ */
+@Component
+public class UserDetailCache {
+
+    private static final int TTL_SECONDS = 30;
+    private static final int MAX_ENTRIES = 1000;
+
+    private record Entry(UserDetailResponse details, LocalDateTime expiresAt) {
+    }
+
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Get the cached details of a user, loading them if missing or expired.
+     */
+    public UserDetailResponse get(UUID userId, Supplier<UserDetailResponse> loader) {
+        LocalDateTime now = LocalDateTime.now();
+        Entry entry = cache.get(userId);
+        if (entry != null && now.isBefore(entry.expiresAt())) {
+            return entry.details();
+        }
+
+        UserDetailResponse details = loader.get();
+        if (cache.size() >= MAX_ENTRIES) {
+            cache.values().removeIf(e -> !now.isBefore(e.expiresAt()));
+        }
+        if (cache.size() < MAX_ENTRIES) {
+            cache.put(userId, new Entry(details, now.plusSeconds(TTL_SECONDS)));
+        }
+        return details;
+    }
+
+    /**
+     * Drop the details of a user whose subscription ended, once the change commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionEnded(SubscriptionEndedEvent event) {
+        cache.remove(event.userId());
+    }
+
+    /**
+     * Evict a user's entry. When called inside a transaction the entry is evicted
+     * again after commit, so a concurrent reader cannot re-cache the old details.
+     */
+    public void evict(UUID userId) {
+        cache.remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(userId);
+                }
+            });
+        }
+    }
+}
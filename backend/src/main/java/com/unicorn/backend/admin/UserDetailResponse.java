@@ -3,10 +3,7 @@ package com.unicorn.backend.admin;
 import com.unicorn.backend.investor.InvestorProfile;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.startup.StartupResponse;
-import com.unicorn.backend.subscription.Subscription;
-import com.unicorn.backend.payment.Payment;
 import com.unicorn.backend.user.User;
-import com.unicorn.backend.user.UserModerationLog;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -139,12 +136,17 @@ public class UserDetailResponse {
                 private LocalDateTime timestamp;
         }
 
+        /**
+         * Build the response from the user (with investor profile and memberships
+         * loaded) and the rest of the account read from the account summary.
+         */
         public static UserDetailResponse fromEntity(
                         User user,
-                        List<UserModerationLog> history,
+                        List<ModerationLogResponse> history,
                         long warningCount,
-                        Subscription currentSubscription,
-                        List<Payment> recentPayments,
+                        SubscriptionInfo currentSubscription,
+                        List<StartupSummary> ownedStartups,
+                        List<TransactionInfo> recentTransactions,
                         boolean hasActiveSession) {
 
                 UserDetailResponseBuilder builder = UserDetailResponse.builder()
@@ -179,24 +181,16 @@ public class UserDetailResponse {
                                 .deletedAt(user.getDeletedAt())
                                 .deletionReason(user.getDeletionReason())
                                 .warningCount(warningCount)
-                                .startupCount(user.getStartups() != null ? user.getStartups().size() : 0)
+                                .startupCount(ownedStartups.size())
                                 .hasInvestorProfile(user.getInvestorProfile() != null)
                                 .isInvestorVerified(user.getInvestorProfile() != null &&
                                                 Boolean.TRUE.equals(user.getInvestorProfile().getIsVerified()))
                                 .hasActiveSession(hasActiveSession)
-                                .moderationHistory(history.stream()
-                                                .map(ModerationLogResponse::fromEntity)
-                                                .toList());
+                                .moderationHistory(history);
 
                 // Add subscription info
                 if (currentSubscription != null) {
-                        builder.currentSubscription(SubscriptionInfo.builder()
-                                        .plan(currentSubscription.getPlanType().name())
-                                        .status(currentSubscription.getStatus().name())
-                                        .amount(currentSubscription.getAmount())
-                                        .startDate(currentSubscription.getStartDate())
-                                        .endDate(currentSubscription.getEndDate())
-                                        .build());
+                        builder.currentSubscription(currentSubscription);
                 } else {
                         builder.currentSubscription(SubscriptionInfo.builder()
                                         .plan("FREE")
@@ -231,20 +225,7 @@ public class UserDetailResponse {
                 java.util.Map<UUID, StartupSummary> startupMap = new java.util.HashMap<>();
 
                 // 1. Add owned startups
-                if (user.getStartups() != null) {
-                        user.getStartups().forEach(s -> {
-                                startupMap.put(s.getId(), StartupSummary.builder()
-                                                .id(s.getId())
-                                                .name(s.getName())
-                                                .industry(s.getIndustry())
-                                                .stage(s.getStage() != null ? s.getStage().name() : null)
-                                                .role("OWNER")
-                                                .status(s.getStatus() != null ? s.getStatus().name() : null)
-                                                .raisedAmount(s.getRaisedAmount())
-                                                .createdAt(s.getCreatedAt())
-                                                .build());
-                        });
-                }
+                ownedStartups.forEach(s -> startupMap.put(s.getId(), s));
 
                 // 2. Add joined startups (memberships)
                 if (user.getMemberships() != null) {
@@ -280,18 +261,8 @@ public class UserDetailResponse {
                 }
 
                 // Add recent transactions
-                if (recentPayments != null && !recentPayments.isEmpty()) {
-                        builder.recentTransactions(recentPayments.stream()
-                                        .map(p -> TransactionInfo.builder()
-                                                        .transactionId(p.getTransactionId())
-                                                        .amount(p.getAmount())
-                                                        .currency(p.getCurrency())
-                                                        .status(p.getStatus() != null ? p.getStatus().name() : null)
-                                                        .description(p.getDescription())
-                                                        .paymentMethod(p.getPaymentMethod())
-                                                        .timestamp(p.getTimestamp())
-                                                        .build())
-                                        .toList());
+                if (recentTransactions != null && !recentTransactions.isEmpty()) {
+                        builder.recentTransactions(recentTransactions);
                 }
 
                 return builder.build();
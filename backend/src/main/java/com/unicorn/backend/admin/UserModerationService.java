@@ -1,21 +1,19 @@
 package com.unicorn.backend.admin;
 
-import com.unicorn.backend.payment.Payment;
-import com.unicorn.backend.payment.PaymentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unicorn.backend.security.RefreshTokenRepository;
-import com.unicorn.backend.subscription.Subscription;
-import com.unicorn.backend.subscription.SubscriptionRepository;
 import com.unicorn.backend.user.*;
 import com.unicorn.backend.investor.InvestorProfile;
-import com.unicorn.backend.investor.InvestorProfileRepository;
 import com.unicorn.backend.jwt.TokenBlacklistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -28,48 +26,61 @@ public class UserModerationService {
         private final UserRepository userRepository;
         private final UserModerationLogRepository moderationLogRepository;
         private final RefreshTokenRepository refreshTokenRepository;
-        private final SubscriptionRepository subscriptionRepository;
-        private final PaymentRepository paymentRepository;
+        private final AccountSummaryRepository accountSummaryRepository;
+        private final ObjectMapper objectMapper;
         private final TokenBlacklistService tokenBlacklistService;
-        private final InvestorProfileRepository investorProfileRepository;
+        private final UserDetailCache userDetailCache;
+        private final TransactionTemplate transactionTemplate;
 
         /**
          * Get detailed user information for admin view.
+         * Served from a short-lived cache that moderation actions evict. On a miss
+         * the drawer takes two queries: the user with investor profile and
+         * memberships, and the account summary for everything else.
          */
-        @Transactional(readOnly = true)
         public UserDetailResponse getUserDetails(UUID userId) {
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found: " + userId));
-
-                // Explicitly refresh investor profile to ensure latest status is visible
-                if ("INVESTOR".equals(user.getRole())) {
-                        investorProfileRepository.findByUser(user).ifPresent(user::setInvestorProfile);
-                }
-
-                List<UserModerationLog> moderationHistory = moderationLogRepository
-                                .findByUserIdOrderByCreatedAtDesc(userId);
-
-                long warningCount = moderationLogRepository
-                                .countByUserIdAndActionTypeAndIsActiveTrue(userId, ModerationActionType.WARNING);
-
-                // Get current subscription
-                Optional<Subscription> currentSubscription = subscriptionRepository.findActiveByUserId(userId);
+                return userDetailCache.get(userId,
+                                () -> transactionTemplate.execute(status -> loadUserDetails(userId)));
+        }
 
-                // Get recent payments
-                List<Payment> recentPayments = paymentRepository.findTop10ByUserIdOrderByTimestampDesc(userId);
+        private UserDetailResponse loadUserDetails(UUID userId) {
+                User user = userRepository.findWithProfileAndMembershipsById(userId)
+                                .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                AccountSummaryRepository.AccountSummary summary = accountSummaryRepository
+                                .findAccountSummary(userId);
 
-                // Check for active sessions
-                boolean hasActiveSession = refreshTokenRepository.findByUserId(userId)
-                                .stream()
-                                .anyMatch(token -> token.getExpiryDate().isAfter(java.time.Instant.now()));
+                List<ModerationLogResponse> moderationHistory = readJson(summary.getModerationHistory(),
+                                new TypeReference<>() {
+                                });
+                long warningCount = moderationHistory.stream()
+                                .filter(log -> log.getActionType() == ModerationActionType.WARNING && log.isActive())
+                                .count();
 
                 return UserDetailResponse.fromEntity(
                                 user,
                                 moderationHistory,
                                 warningCount,
-                                currentSubscription.orElse(null),
-                                recentPayments,
-                                hasActiveSession);
+                                readJson(summary.getCurrentSubscription(),
+                                                new TypeReference<UserDetailResponse.SubscriptionInfo>() {
+                                                }),
+                                readJson(summary.getOwnedStartups(),
+                                                new TypeReference<List<UserDetailResponse.StartupSummary>>() {
+                                                }),
+                                readJson(summary.getRecentTransactions(),
+                                                new TypeReference<List<UserDetailResponse.TransactionInfo>>() {
+                                                }),
+                                Boolean.TRUE.equals(summary.getHasActiveSession()));
+        }
+
+        private <T> T readJson(String json, TypeReference<T> type) {
+                if (json == null) {
+                        return null;
+                }
+                try {
+                        return objectMapper.readValue(json, type);
+                } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Invalid account summary: " + e.getOriginalMessage(), e);
+                }
         }
 
         /**
@@ -79,6 +90,7 @@ public class UserModerationService {
         public void approveInvestorForPayment(UUID userId, UUID adminId, String adminEmail) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 if (!"INVESTOR".equals(user.getRole())) {
                         throw new RuntimeException("User is not an investor");
@@ -98,6 +110,7 @@ public class UserModerationService {
         public UserModerationLog suspendUser(UUID userId, User adminUser, SuspendUserRequest request) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -158,6 +171,7 @@ public class UserModerationService {
         public UserModerationLog warnUser(UUID userId, User adminUser, WarnUserRequest request) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -188,6 +202,7 @@ public class UserModerationService {
         public UserModerationLog unsuspendUser(UUID userId, User adminUser, String reason) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -259,6 +274,7 @@ public class UserModerationService {
         public UserModerationLog softDeleteUser(UUID userId, User adminUser, String reason) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -301,6 +317,7 @@ public class UserModerationService {
         public UserModerationLog restoreUser(UUID userId, User adminUser) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -344,6 +361,7 @@ public class UserModerationService {
         public void hardDeleteUser(UUID userId, User adminUser) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -385,6 +403,7 @@ public class UserModerationService {
         public UserModerationLog updateUserStatus(UUID userId, User adminUser, String newStatus, String reason) {
                 User user = userRepository.findById(userId)
                                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+                userDetailCache.evict(userId);
 
                 // Super Admin check
                 if (("ADMIN".equals(user.getRole()) || "SUPER_ADMIN".equals(user.getRole()))
@@ -454,6 +473,8 @@ public class UserModerationService {
          */
         @Transactional
         public void deleteModerationLog(UUID logId) {
+                moderationLogRepository.findById(logId)
+                                .ifPresent(log -> userDetailCache.evict(log.getUser().getId()));
                 moderationLogRepository.deleteById(logId);
         }
 }
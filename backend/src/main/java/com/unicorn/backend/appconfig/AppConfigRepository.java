@@ -1,8 +1,10 @@
 package com.unicorn.backend.appconfig;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,4 +22,10 @@ public interface AppConfigRepository extends JpaRepository<AppConfig, String> {
      * Find all configs ordered by category and key.
      */
     List<AppConfig> findAllByOrderByCategoryAscKeyAsc();
+
+    /**
+     * Latest update time across all configs (for change detection).
+     */
+    @Query("SELECT MAX(c.updatedAt) FROM AppConfig c")
+    LocalDateTime findLatestUpdate();
 }
@@ -2,19 +2,22 @@ package com.unicorn.backend.appconfig;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for managing application configuration.
- * Uses in-memory caching with TTL to reduce database reads.
+ * Reads are served from an immutable {@link AppConfigSnapshot} that is rebuilt
+ * after local writes commit and when another node's change is detected.
  */
 @Slf4j
 @Service
@@ -23,115 +26,105 @@ public class AppConfigService {
 
     private final AppConfigRepository configRepository;
 
-    // ==================== Config Cache ====================
+    // ==================== Config Snapshot ====================
 
     /**
-     * In-memory cache for config values.
-     * Key: config key, Value: cached value
+     * Current immutable, pre-parsed config. Replaced as a whole on change.
      */
-    private final Map<String, String> configCache = new ConcurrentHashMap<>();
+    private volatile AppConfigSnapshot snapshot = AppConfigSnapshot.EMPTY;
 
     /**
-     * Cache timestamp for TTL validation.
+     * Rebuild the snapshot from the database and swap it in.
      */
-    private volatile LocalDateTime cacheLoadedAt = null;
-
-    /**
-     * Cache TTL in minutes.
-     */
-    private static final int CACHE_TTL_MINUTES = 5;
-
-    /**
-     * Load all configs into cache.
-     */
-    private void loadCache() {
-        Map<String, String> newCache = new HashMap<>();
-        configRepository.findAll().forEach(config -> newCache.put(config.getKey(), config.getValue()));
-        configCache.clear();
-        configCache.putAll(newCache);
-        cacheLoadedAt = LocalDateTime.now();
-        log.debug("Config cache loaded with {} entries", configCache.size());
+    private void reload() {
+        // Read the update stamp first: a change racing with the load then shows up
+        // as a stamp mismatch on the next refresh check
+        LocalDateTime latestUpdate = configRepository.findLatestUpdate();
+        Map<String, String> values = new HashMap<>();
+        configRepository.findAll().forEach(config -> values.put(config.getKey(), config.getValue()));
+        snapshot = new AppConfigSnapshot(values, new AppConfigSnapshot.Stamp(values.size(), latestUpdate));
+        log.debug("Config snapshot loaded with {} entries", values.size());
     }
 
     /**
-     * Check if cache needs refresh.
+     * Reload once the current transaction commits (or immediately if there is
+     * none), so readers never see uncommitted values.
      */
-    private boolean isCacheStale() {
-        if (cacheLoadedAt == null || configCache.isEmpty()) {
-            return true;
+    private void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
         }
-        return LocalDateTime.now().isAfter(cacheLoadedAt.plusMinutes(CACHE_TTL_MINUTES));
     }
 
     /**
-     * Ensure cache is fresh.
+     * Pick up changes made on other nodes (scheduled job).
+     * Compares the row count and latest update time with the current snapshot
+     * and reloads only when they differ.
      */
-    private void ensureCacheFresh() {
-        if (isCacheStale()) {
-            synchronized (this) {
-                if (isCacheStale()) {
-                    loadCache();
-                }
+    @Scheduled(fixedDelayString = "${appconfig.refresh.interval:10000}")
+    public void refreshIfChanged() {
+        try {
+            AppConfigSnapshot.Stamp current = new AppConfigSnapshot.Stamp(configRepository.count(),
+                    configRepository.findLatestUpdate());
+            if (!snapshot.isBuiltFrom(current)) {
+                reload();
+                log.info("Config snapshot refreshed after external change");
             }
+        } catch (Exception e) {
+            log.warn("Failed to check for config changes: {}", e.getMessage());
         }
     }
 
+    // ==================== Public Methods ====================
+
     /**
-     * Invalidate the cache (called after updates).
+     * Get the current config snapshot (typed, pre-parsed).
      */
-    private void invalidateCache() {
-        cacheLoadedAt = null;
+    public AppConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
-    // ==================== Public Methods ====================
-
     /**
      * Get a config value by key (CACHED).
      */
     public Optional<String> getValue(String key) {
-        ensureCacheFresh();
-        return Optional.ofNullable(configCache.get(key));
+        return Optional.ofNullable(snapshot.get(key));
     }
 
     /**
      * Get a config value with default fallback (CACHED).
      */
     public String getValue(String key, String defaultValue) {
-        return getValue(key).orElse(defaultValue);
+        String value = snapshot.get(key);
+        return value != null ? value : defaultValue;
     }
 
     /**
      * Get a numeric config value (CACHED).
      */
     public int getIntValue(String key, int defaultValue) {
-        return getValue(key).map(v -> {
-            try {
-                return Integer.parseInt(v);
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
-        }).orElse(defaultValue);
+        return snapshot.getInt(key, defaultValue);
     }
 
     /**
      * Get a double config value (CACHED).
      */
     public double getDoubleValue(String key, double defaultValue) {
-        return getValue(key).map(v -> {
-            try {
-                return Double.parseDouble(v);
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
-        }).orElse(defaultValue);
+        return snapshot.getDouble(key, defaultValue);
     }
 
     /**
-     * Get all configs as a map (CACHED).
+     * Get all configs as a map (CACHED, unmodifiable).
      */
     public Map<String, String> getAllAsMap() {
-        ensureCacheFresh();
-        return new HashMap<>(configCache);
+        return snapshot.values();
     }
 
     /**
@@ -159,22 +152,14 @@ public class AppConfigService {
         return configRepository.findByCategory(category);
     }
 
-    private volatile boolean cachedMaintenanceMode = false;
-
     @jakarta.annotation.PostConstruct
     public void init() {
-        // Initialize cache
-        cachedMaintenanceMode = Boolean.parseBoolean(getValue("maintenance_mode", "false"));
+        // Initialize snapshot
+        reload();
     }
 
     public boolean isMaintenanceModeEnabled() {
-        return cachedMaintenanceMode;
-    }
-
-    private void updateCachedMaintenanceMode(String key, String value) {
-        if ("maintenance_mode".equals(key)) {
-            cachedMaintenanceMode = Boolean.parseBoolean(value);
-        }
+        return snapshot.maintenanceMode();
     }
 
     /**
@@ -186,8 +171,6 @@ public class AppConfigService {
                 .orElseThrow(() -> new RuntimeException("Config not found: " + key));
         config.setValue(value);
 
-        updateCachedMaintenanceMode(key, value);
-
         // Auto-increment version when a config is updated,
         // UNLESS it's an exchange rate (dashboard only)
         if (!key.startsWith("rate_")) {
@@ -195,7 +178,7 @@ public class AppConfigService {
         }
 
         AppConfig saved = configRepository.save(config);
-        invalidateCache();
+        reloadAfterCommit();
         return saved;
     }
 
@@ -215,10 +198,8 @@ public class AppConfigService {
         if (valueType != null)
             config.setValueType(valueType);
 
-        updateCachedMaintenanceMode(key, value);
-
         AppConfig saved = configRepository.save(config);
-        invalidateCache();
+        reloadAfterCommit();
         return saved;
     }
 
@@ -226,7 +207,7 @@ public class AppConfigService {
      * Get current config version for mobile sync.
      */
     public int getVersion() {
-        return getIntValue("config_version", 1);
+        return snapshot.version();
     }
 
     /**
@@ -234,7 +215,6 @@ public class AppConfigService {
      */
     @Transactional
     public void incrementVersion() {
-        int currentVersion = getVersion();
         AppConfig versionConfig = configRepository.findById("config_version")
                 .orElse(AppConfig.builder()
                         .key("config_version")
@@ -242,8 +222,17 @@ public class AppConfigService {
                         .valueType("NUMBER")
                         .description("Configuration version for mobile app sync")
                         .build());
+        int currentVersion = getVersion();
+        try {
+            if (versionConfig.getValue() != null) {
+                currentVersion = Integer.parseInt(versionConfig.getValue().trim());
+            }
+        } catch (NumberFormatException e) {
+            // Fall back to the snapshot version
+        }
         versionConfig.setValue(String.valueOf(currentVersion + 1));
         configRepository.save(versionConfig);
+        reloadAfterCommit();
     }
 
     /**
@@ -276,10 +265,22 @@ public class AppConfigService {
         upsertIfNotExists("nudge.cooldown.elite.days", "3", "Cooldown days between nudges to same investor (ELITE)",
                 "nudge", "NUMBER");
 
+        // Notification retention
+        upsertIfNotExists("notification.retention.read.days", "30", "Days to keep read notifications",
+                "notifications", "NUMBER");
+        upsertIfNotExists("notification.retention.unread.days", "180",
+                "Days to keep any notification (per-type overrides: notification.retention.type.<TYPE>.days)",
+                "notifications", "NUMBER");
+        upsertIfNotExists("notification.retention.max.per.user", "500", "Maximum stored notifications per user",
+                "notifications", "NUMBER");
+
         // System
         upsertIfNotExists("maintenance_mode", "false", "Enable maintenance mode", "system", "BOOLEAN");
         upsertIfNotExists("config_version", "1", "Configuration version for mobile app sync", "system", "NUMBER");
         upsertIfNotExists("default_currency", "USD", "Default currency for payments", "system", "TEXT");
+        upsertIfNotExists("ratelimit.enabled", "true",
+                "Enable request rate limiting (per-limit overrides: ratelimit.<name>.capacity / .per_minute)",
+                "system", "BOOLEAN");
 
         // Verification
         upsertIfNotExists("investor_verification_fee", "99.00", "Investor verification fee (for record-keeping)",
@@ -313,8 +314,8 @@ public class AppConfigService {
                 "NUMBER");
         upsertIfNotExists("feed.base.freshness", "10", "Base freshness score for new posts", "feed", "NUMBER");
 
-        // Ensure cache is synced after defaults
-        init();
+        // Ensure snapshot is synced after defaults
+        reloadAfterCommit();
     }
 
     private void upsertIfNotExists(String key, String value, String description, String category, String valueType) {
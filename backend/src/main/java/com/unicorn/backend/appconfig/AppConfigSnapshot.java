@@ -0,0 +1,186 @@
+package com.unicorn.backend.appconfig;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, pre-parsed view of all app config rows.
+ * Values are parsed once when the snapshot is built; {@link AppConfigService}
+ * swaps the whole snapshot atomically when configuration changes, so readers
+ * only pay for a volatile load and a field access.
+ */
+public final class AppConfigSnapshot {
+
+    // ==================== Feed Algorithm Keys ====================
+    public static final String FEED_DECAY_GRAVITY = "feed.decay.gravity";
+    public static final String FEED_LIKE_POINTS = "feed.like.points";
+    public static final String FEED_COMMENT_POINTS = "feed.comment.points";
+    public static final String FEED_SHARE_POINTS = "feed.share.points";
+    public static final String FEED_EDIT_PENALTY = "feed.edit.penalty";
+    public static final String FEED_BOOST_FREE = "feed.boost.free";
+    public static final String FEED_BOOST_PRO = "feed.boost.pro";
+    public static final String FEED_BOOST_ELITE = "feed.boost.elite";
+    public static final String FEED_MEDIA_EDIT_HOURS = "feed.media.edit.hours";
+    public static final String FEED_BASE_FRESHNESS = "feed.base.freshness";
+    public static final String MAX_POST_LENGTH = "max_post_length";
+    public static final String MAX_COMMENT_LENGTH = "max_comment_length";
+
+    // ==================== Nudge Keys ====================
+    public static final String NUDGE_LIMIT_FREE_MONTHLY = "nudge.limit.free.monthly";
+    public static final String NUDGE_LIMIT_PRO_MONTHLY = "nudge.limit.pro.monthly";
+    public static final String NUDGE_COOLDOWN_PRO_DAYS = "nudge.cooldown.pro.days";
+    public static final String NUDGE_COOLDOWN_ELITE_DAYS = "nudge.cooldown.elite.days";
+
+    // ==================== System Keys ====================
+    public static final String MAINTENANCE_MODE = "maintenance_mode";
+    public static final String CONFIG_VERSION = "config_version";
+
+    /**
+     * Feed ranking algorithm parameters.
+     */
+    public record FeedConfig(
+            double likePoints,
+            double commentPoints,
+            double sharePoints,
+            double gravity,
+            double editPenalty,
+            double baseFreshness,
+            double boostFree,
+            double boostPro,
+            double boostElite,
+            int mediaEditHours,
+            int maxPostLength,
+            int maxCommentLength) {
+    }
+
+    /**
+     * Nudge plan limits and cooldowns.
+     */
+    public record NudgeConfig(
+            int freeMonthlyLimit,
+            int proMonthlyLimit,
+            int proCooldownDays,
+            int eliteCooldownDays) {
+    }
+
+    /**
+     * Identifies the DB state a snapshot was built from (row count and latest
+     * update time). Used to detect changes made on other nodes.
+     */
+    public record Stamp(long rowCount, LocalDateTime latestUpdate) {
+    }
+
+    static final AppConfigSnapshot EMPTY = new AppConfigSnapshot(Map.of(), new Stamp(0, null));
+
+    private final Map<String, String> values;
+    private final Map<String, Integer> intValues;
+    private final Map<String, Double> doubleValues;
+    private final Stamp stamp;
+    private final FeedConfig feed;
+    private final NudgeConfig nudge;
+    private final ExchangeRateTable exchangeRates;
+    private final boolean maintenanceMode;
+    private final int version;
+
+    AppConfigSnapshot(Map<String, String> rawValues, Stamp stamp) {
+        Map<String, Integer> ints = new HashMap<>();
+        Map<String, Double> doubles = new HashMap<>();
+        for (Map.Entry<String, String> entry : rawValues.entrySet()) {
+            String value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            try {
+                ints.put(entry.getKey(), Integer.parseInt(value.trim()));
+            } catch (NumberFormatException ignored) {
+                // Not an integer
+            }
+            try {
+                doubles.put(entry.getKey(), Double.parseDouble(value.trim()));
+            } catch (NumberFormatException ignored) {
+                // Not a number
+            }
+        }
+
+        this.values = Collections.unmodifiableMap(new HashMap<>(rawValues));
+        this.intValues = Map.copyOf(ints);
+        this.doubleValues = Map.copyOf(doubles);
+        this.stamp = stamp;
+
+        this.feed = new FeedConfig(
+                getDouble(FEED_LIKE_POINTS, 1.0),
+                getDouble(FEED_COMMENT_POINTS, 3.0),
+                getDouble(FEED_SHARE_POINTS, 5.0),
+                getDouble(FEED_DECAY_GRAVITY, 1.5),
+                getDouble(FEED_EDIT_PENALTY, 0.1),
+                getDouble(FEED_BASE_FRESHNESS, 10.0),
+                getDouble(FEED_BOOST_FREE, 1.0),
+                getDouble(FEED_BOOST_PRO, 1.5),
+                getDouble(FEED_BOOST_ELITE, 2.0),
+                getInt(FEED_MEDIA_EDIT_HOURS, 2),
+                getInt(MAX_POST_LENGTH, 2000),
+                getInt(MAX_COMMENT_LENGTH, 1000));
+
+        this.nudge = new NudgeConfig(
+                getInt(NUDGE_LIMIT_FREE_MONTHLY, 4),
+                getInt(NUDGE_LIMIT_PRO_MONTHLY, 12),
+                getInt(NUDGE_COOLDOWN_PRO_DAYS, 5),
+                getInt(NUDGE_COOLDOWN_ELITE_DAYS, 3));
+
+        this.exchangeRates = ExchangeRateTable.from(values);
+        this.maintenanceMode = Boolean.parseBoolean(values.get(MAINTENANCE_MODE));
+        this.version = getInt(CONFIG_VERSION, 1);
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Integer value = intValues.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Double value = doubleValues.get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * All raw values (unmodifiable).
+     */
+    public Map<String, String> values() {
+        return values;
+    }
+
+    public FeedConfig feed() {
+        return feed;
+    }
+
+    public NudgeConfig nudge() {
+        return nudge;
+    }
+
+    public ExchangeRateTable exchangeRates() {
+        return exchangeRates;
+    }
+
+    public boolean maintenanceMode() {
+        return maintenanceMode;
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public Stamp stamp() {
+        return stamp;
+    }
+
+    boolean isBuiltFrom(Stamp other) {
+        return Objects.equals(stamp, other);
+    }
+}
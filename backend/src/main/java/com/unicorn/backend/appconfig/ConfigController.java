@@ -1,6 +1,10 @@
 package com.unicorn.backend.appconfig;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -17,19 +21,50 @@ import java.util.Map;
 public class ConfigController {
 
     private final AppConfigService configService;
+    private final MaintenanceFilter maintenanceFilter;
+    private final PublicConfigResponseCache publicConfigCache;
 
     /**
      * Get public configuration for mobile app.
      * This endpoint is public and used by the mobile app on splash screen.
-     * 
-     * GET /api/v1/public/config
+     * The body is pre-serialized per config snapshot and served with a strong
+     * ETag; a matching If-None-Match yields 304. With {@code since} only keys
+     * changed after that version are returned (or the full map, flagged with
+     * {@code full: true}, if the version is unknown).
+     *
+     * GET /api/v1/public/config?since={version}
      */
     @GetMapping("/api/v1/public/config")
-    public ResponseEntity<Map<String, Object>> getPublicConfig() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("version", configService.getVersion());
-        response.put("data", configService.getAllAsMap());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getPublicConfig(
+            @RequestParam(required = false) Integer since,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AppConfigSnapshot snapshot = configService.getSnapshot();
+        PublicConfigResponseCache.CachedBody body = since != null
+                ? publicConfigCache.getDelta(snapshot, since)
+                : publicConfigCache.getFull(snapshot);
+
+        // Each encoding gets its own strong validator; either one matches
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? body.etag().replaceFirst("\"$", "-gzip\"") : body.etag();
+
+        if (PublicConfigResponseCache.matches(ifNoneMatch, body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? body.gzip() : body.json());
     }
 
     /**
@@ -119,6 +154,20 @@ public class ConfigController {
         return ResponseEntity.ok(Map.of("version", configService.getVersion()));
     }
 
+    /**
+     * Get maintenance-mode rejection counts by reason.
+     *
+     * GET /api/v1/admin/config/maintenance/stats
+     */
+    @GetMapping("/api/v1/admin/config/maintenance/stats")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMaintenanceStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", configService.isMaintenanceModeEnabled());
+        response.put("rejections", maintenanceFilter.getRejectionCounts());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Sync exchange rates from external API.
      * POST /api/v1/admin/config/sync-rates
@@ -0,0 +1,63 @@
+package com.unicorn.backend.appconfig;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts amounts to USD using the exchange rates from app config.
+ * Rates come from the {@link ExchangeRateTable} of the current config
+ * snapshot, so they are parsed once per config change rather than per
+ * conversion. Grouped query results should be converted with
+ * {@link #convertAll(Map)} so the work is per currency, not per row.
+ */
+@Service
+@RequiredArgsConstructor
+public class CurrencyConversionService {
+
+    private final AppConfigService appConfigService;
+
+    /**
+     * Current exchange rate table.
+     */
+    public ExchangeRateTable getRates() {
+        return appConfigService.getSnapshot().exchangeRates();
+    }
+
+    /**
+     * Convert one amount to USD.
+     */
+    public BigDecimal toUsd(BigDecimal amount, String currency) {
+        return getRates().toUsd(amount, currency);
+    }
+
+    /**
+     * Convert per-currency amounts to USD and add them up.
+     *
+     * @param amountsByCurrency amounts keyed by currency code
+     * @return total in USD
+     */
+    public BigDecimal convertAll(Map<String, BigDecimal> amountsByCurrency) {
+        ExchangeRateTable rates = getRates();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<String, BigDecimal> entry : amountsByCurrency.entrySet()) {
+            total = total.add(rates.toUsd(entry.getValue(), entry.getKey()));
+        }
+        return total;
+    }
+
+    /**
+     * Convert grouped query rows of [currency, amount] to USD and add them up.
+     */
+    public BigDecimal convertRows(List<Object[]> rows) {
+        ExchangeRateTable rates = getRates();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Object[] row : rows) {
+            total = total.add(rates.toUsd((BigDecimal) row[1], (String) row[0]));
+        }
+        return total;
+    }
+}
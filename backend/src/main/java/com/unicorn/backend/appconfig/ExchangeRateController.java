@@ -13,19 +13,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ExchangeRateController {
 
-    private final AppConfigService appConfigService;
+    private final CurrencyConversionService currencyConversionService;
 
     @GetMapping
     public Map<String, Double> getExchangeRates() {
-        return appConfigService.getByCategory("exchange_rates").stream()
+        return currencyConversionService.getRates().rates().entrySet().stream()
                 .collect(Collectors.toMap(
-                        config -> config.getKey().replace("rate_", "").toUpperCase(),
-                        config -> {
-                            try {
-                                return Double.parseDouble(config.getValue());
-                            } catch (NumberFormatException e) {
-                                return 1.0; // Fallback
-                            }
-                        }));
+                        Map.Entry::getKey,
+                        entry -> entry.getValue().perUsd().doubleValue()));
     }
 }
@@ -0,0 +1,97 @@
+package com.unicorn.backend.appconfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable exchange rate table parsed from the {@code rate_*} config keys
+ * (rate format: 1 USD = X currency). Each rate is stored together with its
+ * reciprocal at a fixed scale, so converting to USD is one multiplication.
+ * Built once per {@link AppConfigSnapshot}.
+ */
+public final class ExchangeRateTable {
+
+    public static final String RATE_KEY_PREFIX = "rate_";
+    public static final String BASE_CURRENCY = "USD";
+
+    /**
+     * Scale of the precomputed USD multipliers; high enough for rates in the
+     * tens of thousands (e.g. LBP) to stay exact to the cent.
+     */
+    private static final int MULTIPLIER_SCALE = 20;
+    private static final int RESULT_SCALE = 2;
+
+    /**
+     * One parsed rate and its USD multiplier.
+     */
+    public record Rate(BigDecimal perUsd, BigDecimal toUsd) {
+    }
+
+    private final Map<String, Rate> rates;
+
+    private ExchangeRateTable(Map<String, Rate> rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * Parse all {@code rate_*} entries; invalid or non-positive rates are skipped.
+     */
+    static ExchangeRateTable from(Map<String, String> values) {
+        Map<String, Rate> rates = new HashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!entry.getKey().startsWith(RATE_KEY_PREFIX) || entry.getValue() == null) {
+                continue;
+            }
+            try {
+                BigDecimal perUsd = new BigDecimal(entry.getValue().trim());
+                if (perUsd.signum() > 0) {
+                    BigDecimal toUsd = BigDecimal.ONE.divide(perUsd, MULTIPLIER_SCALE, RoundingMode.HALF_UP);
+                    rates.put(normalize(entry.getKey().substring(RATE_KEY_PREFIX.length())),
+                            new Rate(perUsd, toUsd));
+                }
+            } catch (NumberFormatException ignored) {
+                // Not a valid rate
+            }
+        }
+        return new ExchangeRateTable(Map.copyOf(rates));
+    }
+
+    /**
+     * Convert an amount to USD. USD amounts and amounts in a currency without a
+     * rate are returned unchanged; null is treated as zero.
+     */
+    public BigDecimal toUsd(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return BigDecimal.ZERO;
+        }
+        if (currency == null || BASE_CURRENCY.equalsIgnoreCase(currency)) {
+            return amount;
+        }
+        Rate rate = rates.get(normalize(currency));
+        if (rate == null) {
+            return amount;
+        }
+        return amount.multiply(rate.toUsd()).setScale(RESULT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The parsed rate of a currency, or null if there is none.
+     */
+    public Rate get(String currency) {
+        return currency != null ? rates.get(normalize(currency)) : null;
+    }
+
+    /**
+     * All rates by upper-case currency code.
+     */
+    public Map<String, Rate> rates() {
+        return rates;
+    }
+
+    private static String normalize(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,25 +1,64 @@
 package com.unicorn.backend.appconfig;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.backend.jwt.JwtService;
+import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Front-door gate for maintenance mode.
+ * Runs before {@link com.unicorn.backend.jwt.JwtAuthenticationFilter} so that
+ * non-admin traffic is rejected without loading the user from the database.
+ * Admins are recognised from the signed role claim of their access token; the
+ * JWT filter still performs full validation for requests that pass the gate.
+ */
 @Component
-@RequiredArgsConstructor
 public class MaintenanceFilter extends OncePerRequestFilter {
 
+    /**
+     * Why a request was rejected while maintenance mode is on.
+     */
+    public enum RejectionReason {
+        NO_TOKEN,
+        INVALID_TOKEN,
+        NON_ADMIN
+    }
+
+    // Paths that stay reachable so clients don't crash and admins can log in
+    private static final String[] ALLOWED_PREFIXES = { "/api/v1/public", "/api/v1/auth" };
+    private static final String[] ALLOWED_FRAGMENTS = { "swagger", "api-docs" };
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AppConfigService appConfigService;
+    private final JwtService jwtService;
+    private final byte[] rejectionBody;
+    private final Map<RejectionReason, LongAdder> rejectionCounts = new EnumMap<>(RejectionReason.class);
+
+    public MaintenanceFilter(AppConfigService appConfigService, JwtService jwtService, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        this.appConfigService = appConfigService;
+        this.jwtService = jwtService;
+        this.rejectionBody = objectMapper.writeValueAsBytes(Map.of(
+                "error", "Service Unavailable",
+                "message", "The system is currently under maintenance. Please try again later.",
+                "code", "MAINTENANCE_MODE"));
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounts.put(reason, new LongAdder());
+        }
+    }
 
     @Override
     protected void doFilterInternal(
@@ -28,43 +67,74 @@ public class MaintenanceFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         // Skip check if maintenance is disabled (Instant RAM check)
-        if (!appConfigService.isMaintenanceModeEnabled()) {
+        if (!appConfigService.isMaintenanceModeEnabled() || isAllowedPath(request.getServletPath())) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String path = request.getServletPath();
-
-        // Allow Swagger endpoints if any (optional, but good practice)
-        if (path.contains("swagger") || path.contains("api-docs")) {
+        RejectionReason reason = checkAdminToken(request.getHeader("Authorization"));
+        if (reason == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Allow public endpoints and auth endpoints explicitly so clients don't crash
-        // and can login
-        if (path.startsWith("/api/v1/public") || path.startsWith("/api/v1/auth")) {
-            filterChain.doFilter(request, response);
-            return;
+        // Reject for normal users
+        rejectionCounts.get(reason).increment();
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType("application/json");
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    private static boolean isAllowedPath(String path) {
+        for (String prefix : ALLOWED_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (String fragment : ALLOWED_FRAGMENTS) {
+            if (path.contains(fragment)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // Check if user is Admin (SecurityContext is populated by JwtFilter before
-        // this)
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        boolean isAdmin = auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_SUPER_ADMIN"));
+    /**
+     * Check the bearer token for an admin role claim (signature check only, no
+     * DB access).
+     *
+     * @return null if the caller is an admin, otherwise the rejection reason
+     */
+    private RejectionReason checkAdminToken(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return RejectionReason.NO_TOKEN;
+        }
 
-        if (isAdmin) {
-            filterChain.doFilter(request, response);
-            return;
+        String role;
+        try {
+            role = jwtService.extractClaim(authHeader.substring(BEARER_PREFIX.length()),
+                    claims -> claims.get("role", String.class));
+        } catch (ExpiredJwtException e) {
+            // Let expired admin tokens through so the JWT filter answers 401 and the
+            // dashboard can refresh
+            role = e.getClaims().get("role", String.class);
+        } catch (Exception e) {
+            return RejectionReason.INVALID_TOKEN;
         }
 
-        // Reject for normal users
-        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
-        response.setContentType("application/json");
-        new ObjectMapper().writeValue(response.getOutputStream(), Map.of(
-                "error", "Service Unavailable",
-                "message", "The system is currently under maintenance. Please try again later.",
-                "code", "MAINTENANCE_MODE"));
+        if ("ADMIN".equalsIgnoreCase(role) || "SUPER_ADMIN".equalsIgnoreCase(role)) {
+            return null;
+        }
+        return RejectionReason.NON_ADMIN;
+    }
+
+    /**
+     * Number of requests rejected since startup, by reason.
+     */
+    public Map<String, Long> getRejectionCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        rejectionCounts.forEach((reason, count) -> counts.put(reason.name(), count.sum()));
+        return counts;
     }
 }
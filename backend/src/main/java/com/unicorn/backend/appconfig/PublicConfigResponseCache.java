@@ -0,0 +1,198 @@
+package com.unicorn.backend.appconfig;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized public config responses.
+ * The full response is serialized and gzipped once per config snapshot and
+ * served with a strong ETag. Deltas ({@code ?since=version}) are computed
+ * against the values first seen for that version and cached per snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublicConfigResponseCache {
+
+    /**
+     * Number of past versions kept for delta responses.
+     */
+    private static final int MAX_HISTORY = 20;
+    private static final int UNKNOWN_VERSION = -1;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Serialized body with its ETag, in plain and gzip form.
+     */
+    public record CachedBody(String etag, byte[] json, byte[] gzip) {
+    }
+
+    private record Entry(AppConfigSnapshot snapshot, CachedBody full, Map<Integer, CachedBody> deltas) {
+    }
+
+    private volatile Entry current;
+
+    /**
+     * Values first seen for each config version, oldest first.
+     */
+    private final LinkedHashMap<Integer, Map<String, String>> history = new LinkedHashMap<>();
+
+    /**
+     * Full public config for the given snapshot.
+     */
+    public CachedBody getFull(AppConfigSnapshot snapshot) {
+        return entryFor(snapshot).full();
+    }
+
+    /**
+     * Changes since the given version, or the full config (flagged with
+     * {@code full: true}) if that version is no longer known.
+     */
+    public CachedBody getDelta(AppConfigSnapshot snapshot, int since) {
+        Entry entry = entryFor(snapshot);
+        boolean known;
+        synchronized (this) {
+            known = since <= snapshot.version() && history.containsKey(since);
+        }
+        // Unknown versions share one fallback body so arbitrary values can't grow the cache
+        int key = known ? since : UNKNOWN_VERSION;
+        return entry.deltas().computeIfAbsent(key, v -> buildDelta(snapshot, v));
+    }
+
+    private Entry entryFor(AppConfigSnapshot snapshot) {
+        Entry entry = current;
+        if (entry != null && entry.snapshot() == snapshot) {
+            return entry;
+        }
+
+        synchronized (this) {
+            entry = current;
+            if (entry == null || entry.snapshot() != snapshot) {
+                recordHistory(snapshot);
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("version", snapshot.version());
+                body.put("data", new TreeMap<>(snapshot.values()));
+                entry = new Entry(snapshot, serialize(body), new ConcurrentHashMap<>());
+                current = entry;
+                log.debug("Public config response rebuilt for version {}", snapshot.version());
+            }
+            return entry;
+        }
+    }
+
+    private void recordHistory(AppConfigSnapshot snapshot) {
+        history.putIfAbsent(snapshot.version(), snapshot.values());
+        while (history.size() > MAX_HISTORY) {
+            Integer oldest = history.keySet().iterator().next();
+            history.remove(oldest);
+        }
+    }
+
+    private CachedBody buildDelta(AppConfigSnapshot snapshot, int since) {
+        Map<String, String> base;
+        synchronized (this) {
+            base = history.get(since);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", snapshot.version());
+
+        if (base == null) {
+            body.put("full", true);
+            body.put("data", new TreeMap<>(snapshot.values()));
+            return serialize(body);
+        }
+
+        Map<String, String> changed = new TreeMap<>();
+        for (Map.Entry<String, String> e : snapshot.values().entrySet()) {
+            if (!base.containsKey(e.getKey()) || !Objects.equals(base.get(e.getKey()), e.getValue())) {
+                changed.put(e.getKey(), e.getValue());
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : base.keySet()) {
+            if (!snapshot.values().containsKey(key)) {
+                removed.add(key);
+            }
+        }
+        removed.sort(null);
+
+        body.put("since", since);
+        body.put("full", false);
+        body.put("changed", changed);
+        body.put("removed", removed);
+        return serialize(body);
+    }
+
+    private CachedBody serialize(Map<String, Object> body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new CachedBody(etagFor(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize public config", e);
+        }
+    }
+
+    private static String etagFor(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Check an If-None-Match header against an ETag (handles lists, weak
+     * validators and the gzip variant suffix).
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String bare = etag.substring(1, etag.length() - 1);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            tag = tag.replace("\"", "");
+            if (tag.equals(bare) || tag.equals(bare + "-gzip")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.unicorn.backend.auth;
 
+import com.unicorn.backend.ratelimit.RateLimitScope;
+import com.unicorn.backend.ratelimit.RateLimited;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,22 +20,26 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @RateLimited(name = "auth.login", capacity = 10, perMinute = 10, scope = RateLimitScope.IP)
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         return ResponseEntity.ok(service.login(request, httpRequest));
     }
 
     @PostMapping("/verify")
+    @RateLimited(name = "auth.verify", capacity = 10, perMinute = 10, scope = RateLimitScope.IP)
     public ResponseEntity<LoginResponse> verify(@RequestBody VerifyRequest request, HttpServletRequest httpRequest) {
         return ResponseEntity.ok(service.verify(request.email(), request.otp(), httpRequest));
     }
 
     @PostMapping("/register")
+    @RateLimited(name = "auth.register", capacity = 5, perMinute = 5, scope = RateLimitScope.IP)
     public ResponseEntity<LoginResponse> register(@RequestBody RegisterRequest request,
             HttpServletRequest httpRequest) {
         return ResponseEntity.ok(service.register(request, httpRequest));
     }
 
     @PostMapping("/refresh-token")
+    @RateLimited(name = "auth.refresh", capacity = 20, perMinute = 20, scope = RateLimitScope.IP)
     public ResponseEntity<LoginResponse> refreshToken(@RequestBody RefreshTokenRequest request) {
         return ResponseEntity.ok(service.refreshToken(request));
     }
@@ -11,12 +11,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class AuthenticationService {
+        private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+        private static final int USERNAME_CANDIDATES = 10;
+
         private final AuthenticationManager authenticationManager;
         private final UserRepository userRepository;
         private final JwtService jwtService;
@@ -25,18 +34,22 @@ public class AuthenticationService {
         private final AvatarService avatarService;
         private final com.unicorn.backend.investor.InvestorProfileRepository investorProfileRepository;
 
-        private final com.unicorn.backend.service.EmailService emailService;
+        private final com.unicorn.backend.service.EmailOutboxService emailOutboxService;
         private final com.unicorn.backend.appconfig.AppConfigService appConfigService;
         private final UserOneTimePasswordRepository userOneTimePasswordRepository;
+        private final com.unicorn.backend.admin.DashboardMetricsService dashboardMetricsService;
+        private final OtpHasher otpHasher;
 
         public AuthenticationService(AuthenticationManager authenticationManager, UserRepository userRepository,
                         JwtService jwtService, RefreshTokenService refreshTokenService,
                         org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
                         AvatarService avatarService,
                         com.unicorn.backend.investor.InvestorProfileRepository investorProfileRepository,
-                        com.unicorn.backend.service.EmailService emailService,
+                        com.unicorn.backend.service.EmailOutboxService emailOutboxService,
                         com.unicorn.backend.appconfig.AppConfigService appConfigService,
-                        UserOneTimePasswordRepository userOneTimePasswordRepository) {
+                        UserOneTimePasswordRepository userOneTimePasswordRepository,
+                        com.unicorn.backend.admin.DashboardMetricsService dashboardMetricsService,
+                        OtpHasher otpHasher) {
                 this.authenticationManager = authenticationManager;
                 this.userRepository = userRepository;
                 this.jwtService = jwtService;
@@ -44,13 +57,17 @@ public class AuthenticationService {
                 this.passwordEncoder = passwordEncoder;
                 this.avatarService = avatarService;
                 this.investorProfileRepository = investorProfileRepository;
-                this.emailService = emailService;
+                this.emailOutboxService = emailOutboxService;
                 this.appConfigService = appConfigService;
                 this.userOneTimePasswordRepository = userOneTimePasswordRepository;
+                this.dashboardMetricsService = dashboardMetricsService;
+                this.otpHasher = otpHasher;
         }
 
+        @Transactional
         public LoginResponse register(RegisterRequest request, HttpServletRequest httpRequest) {
                 User user;
+                boolean newUser = false;
                 if (userRepository.existsByEmail(request.email())) {
                         User existingUser = userRepository.findByEmail(request.email()).get();
 
@@ -76,6 +93,7 @@ public class AuthenticationService {
                 } else {
                         user = new User();
                         user.setEmail(request.email());
+                        newUser = true;
                 }
 
                 user.setPasswordHash(passwordEncoder.encode(request.password()));
@@ -149,11 +167,9 @@ public class AuthenticationService {
                         }
 
                         // Check if username exists and belongs to ANOTHER user
-                        if (userRepository.existsByUsername(sanitized)) {
-                                User owner = userRepository.findByUsername(sanitized).orElse(null);
-                                if (owner != null && !owner.getId().equals(user.getId())) {
-                                        throw new IllegalArgumentException("Username already exists");
-                                }
+                        User owner = userRepository.findByUsername(sanitized).orElse(null);
+                        if (owner != null && !owner.getId().equals(user.getId())) {
+                                throw new IllegalArgumentException("Username already exists");
                         }
                         finalUsername = sanitized;
                 } else {
@@ -164,22 +180,7 @@ public class AuthenticationService {
                                 base = "u" + base;
                         }
                         base = base.replaceAll("[-_]{2,}", "_");
-                        finalUsername = base;
-
-                        if (userRepository.existsByUsername(finalUsername)) {
-                                User owner = userRepository.findByUsername(finalUsername).orElse(null);
-                                if (owner != null && !owner.getId().equals(user.getId())) {
-                                        int attempts = 0;
-                                        while (userRepository.existsByUsername(finalUsername) && attempts < 10) {
-                                                String randomSuffix = String.valueOf((int) (Math.random() * 1000));
-                                                finalUsername = base + randomSuffix;
-                                                attempts++;
-                                        }
-                                        if (userRepository.existsByUsername(finalUsername)) {
-                                                finalUsername = base + System.currentTimeMillis();
-                                        }
-                                }
-                        }
+                        finalUsername = allocateUsername(base, user.getUsername());
                 }
                 user.setUsername(finalUsername);
 
@@ -190,6 +191,9 @@ public class AuthenticationService {
                 // Set default avatar only if not set (or overwrite for reclaim)
                 savedUser.setAvatarUrl(avatarService.getRandomAvatar(savedUser.getId()));
                 savedUser = userRepository.saveAndFlush(savedUser);
+                if (newUser) {
+                        dashboardMetricsService.recordUserRegistered(savedUser.getRole());
+                }
 
                 // Create Investor Profile if role is INVESTOR
                 if ("INVESTOR".equals(savedUser.getRole())) {
@@ -212,13 +216,14 @@ public class AuthenticationService {
                         investorProfileRepository.save(profile);
                 }
 
-                // Generate OTP
-                String otp = String.valueOf((int) (Math.random() * 900000) + 100000); // 6 digit OTP
-                UserOneTimePassword otpEntity = new UserOneTimePassword(savedUser, otp, 15); // 15 mins expiry
+                // Generate OTP (stored hashed)
+                String otp = String.valueOf(SECURE_RANDOM.nextInt(900000) + 100000); // 6 digit OTP
+                UserOneTimePassword otpEntity = new UserOneTimePassword(savedUser,
+                                otpHasher.hash(savedUser.getId(), otp), 15); // 15 mins expiry
                 userOneTimePasswordRepository.save(otpEntity);
 
-                // Send Email
-                emailService.sendOtp(savedUser.getEmail(), otp);
+                // Queue Email (delivered by the outbox sender after commit)
+                emailOutboxService.enqueueOtp(savedUser.getEmail(), otp);
 
                 // Return Empty Response or Partial (No Tokens)
                 return new LoginResponse(null, null, savedUser.getUsername(), savedUser.getEmail(), savedUser.getRole(),
@@ -227,6 +232,33 @@ public class AuthenticationService {
                                 null, false);
         }
 
+        /**
+         * Pick a free username derived from the base. All candidates are checked with
+         * a single query instead of one existence check per attempt.
+         *
+         * @param base            sanitized base username
+         * @param currentUsername username already owned by this user (reclaim), if any
+         */
+        private String allocateUsername(String base, String currentUsername) {
+                List<String> candidates = new ArrayList<>();
+                candidates.add(base);
+                for (int i = 0; i < USERNAME_CANDIDATES; i++) {
+                        candidates.add(base + SECURE_RANDOM.nextInt(1000));
+                }
+
+                Set<String> taken = new HashSet<>(userRepository.findExistingUsernames(candidates));
+                if (currentUsername != null) {
+                        taken.remove(currentUsername);
+                }
+
+                for (String candidate : candidates) {
+                        if (!taken.contains(candidate)) {
+                                return candidate;
+                        }
+                }
+                return base + System.currentTimeMillis();
+        }
+
         public LoginResponse login(LoginRequest request, HttpServletRequest httpRequest) {
                 // 1. Resolve User first (by Email or Username)
                 String input = request.email();
@@ -331,7 +363,7 @@ public class AuthenticationService {
                         throw new IllegalArgumentException("OTP has expired");
                 }
 
-                if (!otpEntity.getOtpCode().equals(otp)) {
+                if (!otpHasher.matches(otpEntity, otp)) {
                         throw new IllegalArgumentException("Invalid OTP");
                 }
 
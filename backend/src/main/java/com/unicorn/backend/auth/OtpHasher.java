@@ -0,0 +1,54 @@
+package com.unicorn.backend.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Hashes one-time passwords with HMAC-SHA256 under a server-side key, so the
+ * six-digit codes cannot be brute-forced from a copy of the table alone.
+ */
+@Component
+public class OtpHasher {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public OtpHasher(@Value("${otp.hmac.key}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("otp.hmac.key must be set");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String hash(UUID userId, String otpCode) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] hashed = mac.doFinal((userId + ":" + otpCode).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hashed);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /**
+     * Constant-time comparison of a submitted code against a stored OTP.
+     */
+    public boolean matches(UserOneTimePassword stored, String otpCode) {
+        if (otpCode == null || stored.getOtpHash() == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                hash(stored.getUser().getId(), otpCode).getBytes(StandardCharsets.US_ASCII),
+                stored.getOtpHash().getBytes(StandardCharsets.US_ASCII));
+    }
+}
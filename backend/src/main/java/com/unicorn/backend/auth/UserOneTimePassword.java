@@ -22,15 +22,19 @@ public class UserOneTimePassword {
     @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false, unique = true)
     private User user;
 
+    /**
+     * HMAC of the code and user id (see {@link OtpHasher}). The plain code is
+     * never stored.
+     */
     @Column(name = "otp_code", nullable = false)
-    private String otpCode;
+    private String otpHash;
 
     @Column(name = "expiry_date", nullable = false)
     private LocalDateTime expiryDate;
 
-    public UserOneTimePassword(User user, String otpCode, int expiryMinutes) {
+    public UserOneTimePassword(User user, String otpHash, int expiryMinutes) {
         this.user = user;
-        this.otpCode = otpCode;
+        this.otpHash = otpHash;
         this.expiryDate = LocalDateTime.now().plusMinutes(expiryMinutes);
     }
 
@@ -1,5 +1,6 @@
 package com.unicorn.backend.chat;
 
+import com.unicorn.backend.ratelimit.RateLimited;
 import com.unicorn.backend.user.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -133,6 +134,7 @@ public class ChatController {
      * POST /api/chats/{id}/messages
      */
     @PostMapping("/{id}/messages")
+    @RateLimited(name = "chat.message", capacity = 30, perMinute = 60)
     public ResponseEntity<MessageResponse> sendMessage(
             @PathVariable UUID id,
             @Valid @RequestBody SendMessageRequest request,
@@ -183,6 +185,7 @@ public class ChatController {
      * POST /api/chats/reports
      */
     @PostMapping("/reports")
+    @RateLimited(name = "report.create", capacity = 5, perMinute = 5)
     public ResponseEntity<ChatReportResponse> reportMessage(
             @Valid @RequestBody ReportMessageRequest request,
             @AuthenticationPrincipal User user) {
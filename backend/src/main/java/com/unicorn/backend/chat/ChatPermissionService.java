@@ -3,9 +3,8 @@ package com.unicorn.backend.chat;
 import com.unicorn.backend.investor.InvestorProfile;
 import com.unicorn.backend.investor.InvestorProfileRepository;
 import com.unicorn.backend.startup.Startup;
-import com.unicorn.backend.subscription.Subscription;
 import com.unicorn.backend.subscription.SubscriptionPlan;
-import com.unicorn.backend.subscription.SubscriptionRepository;
+import com.unicorn.backend.subscription.SubscriptionService;
 import com.unicorn.backend.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -27,7 +26,7 @@ import java.util.Optional;
 public class ChatPermissionService {
 
     private final InvestorProfileRepository investorProfileRepository;
-    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionService subscriptionService;
     private final MonthlyMessageLimitRepository monthlyMessageLimitRepository;
     private final ChatBlockRepository chatBlockRepository;
 
@@ -78,10 +77,10 @@ public class ChatPermissionService {
             return false;
         }
 
-        // Get the startup owner's active subscription
-        Optional<Subscription> activeSub = subscriptionRepository.findActiveByUserId(startup.getOwner().getId());
+        // Get the startup owner's active plan
+        SubscriptionPlan plan = subscriptionService.getActivePlan(startup.getOwner().getId());
 
-        if (activeSub.isEmpty() || activeSub.get().getPlanType() != SubscriptionPlan.ELITE) {
+        if (plan != SubscriptionPlan.ELITE) {
             // Only Elite plan can send requests
             return false;
         }
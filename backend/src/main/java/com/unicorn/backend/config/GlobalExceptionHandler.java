@@ -46,6 +46,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
     }
 
+    @ExceptionHandler(com.unicorn.backend.exception.RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimitExceededException(
+            com.unicorn.backend.exception.RateLimitExceededException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "Too Many Requests");
+        response.put("errorCode", "RATE_LIMITED");
+        response.put("message", "Too many requests. Please try again in " + e.getRetryAfterSeconds() + " seconds.");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception e) {
         // Log the error to console so we can debug it
@@ -31,6 +31,13 @@ public class GooglePlayConfig {
     @Value("${google.play.service-account-path:service-account.json}")
     private String serviceAccountPath;
 
+    /**
+     * Overrides the Google APIs root URL (e.g. a local stub of the Play API for
+     * load tests); empty uses the real endpoint.
+     */
+    @Value("${google.play.root-url:}")
+    private String rootUrl;
+
     /**
      * Creates and configures the AndroidPublisher bean for Google Play API access.
      * 
@@ -54,12 +61,12 @@ public class GooglePlayConfig {
                         .fromStream(credentialsStream)
                         .createScoped(Collections.singleton(AndroidPublisherScopes.ANDROIDPUBLISHER));
 
-                return new AndroidPublisher.Builder(
+                AndroidPublisher.Builder builder = new AndroidPublisher.Builder(
                         GoogleNetHttpTransport.newTrustedTransport(),
                         GsonFactory.getDefaultInstance(),
                         new HttpCredentialsAdapter(credentials))
-                        .setApplicationName("Unicorn Backend")
-                        .build();
+                        .setApplicationName("Unicorn Backend");
+                return withRootUrl(builder).build();
             }
         } catch (Exception e) {
             log.error("Failed to initialize AndroidPublisher: {}", e.getMessage());
@@ -73,13 +80,21 @@ public class GooglePlayConfig {
      * actual API calls.
      */
     private AndroidPublisher createDummyPublisher() throws GeneralSecurityException, IOException {
-        return new AndroidPublisher.Builder(
+        AndroidPublisher.Builder builder = new AndroidPublisher.Builder(
                 GoogleNetHttpTransport.newTrustedTransport(),
                 GsonFactory.getDefaultInstance(),
                 request -> {
                 })
-                .setApplicationName("Unicorn Backend (No Credentials)")
-                .build();
+                .setApplicationName("Unicorn Backend (No Credentials)");
+        return withRootUrl(builder).build();
+    }
+
+    private AndroidPublisher.Builder withRootUrl(AndroidPublisher.Builder builder) {
+        if (rootUrl != null && !rootUrl.isBlank()) {
+            log.info("Using Google Play API root URL: {}", rootUrl);
+            builder.setRootUrl(rootUrl.endsWith("/") ? rootUrl : rootUrl + "/");
+        }
+        return builder;
     }
 
     /**
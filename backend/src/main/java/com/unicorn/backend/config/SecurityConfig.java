@@ -73,7 +73,7 @@ public class SecurityConfig {
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterAfter(maintenanceFilter, JwtAuthenticationFilter.class);
+                .addFilterBefore(maintenanceFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,22 @@
+package com.unicorn.backend.deal;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat deal row for admin exports (read without loading entities).
+ */
+public record DealExportRow(
+        UUID id,
+        String investorEmail,
+        String startupName,
+        BigDecimal amount,
+        String currency,
+        DealStatus status,
+        DealType dealType,
+        BigDecimal equityPercentage,
+        BigDecimal commissionPercentage,
+        LocalDateTime dealDate,
+        LocalDateTime createdAt) {
+}
@@ -1,14 +1,18 @@
 package com.unicorn.backend.deal;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Deal entity operations.
@@ -59,4 +63,33 @@ public interface DealRepository extends JpaRepository<Deal, UUID> {
      */
     @Query("SELECT COALESCE(SUM(d.amount * d.commissionPercentage / 100), 0) FROM Deal d WHERE d.status = 'COMPLETED'")
     java.math.BigDecimal getTotalCommissionRevenue();
+
+    /**
+     * Count deals per status.
+     * Returns rows of [status, count].
+     */
+    @Query("SELECT d.status, COUNT(d) FROM Deal d GROUP BY d.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Sum completed deals per currency.
+     * Returns rows of [currency, SUM(amount), SUM(amount * commissionPercentage)];
+     * deals without a commission don't contribute to the last column.
+     */
+    @Query("SELECT d.currency, COALESCE(SUM(d.amount), 0), COALESCE(SUM(d.amount * d.commissionPercentage), 0) " +
+            "FROM Deal d WHERE d.status = 'COMPLETED' GROUP BY d.currency")
+    List<Object[]> sumCompletedByCurrency();
+
+    /**
+     * Stream deals for export, newest first. Rows are fetched from the database
+     * cursor in chunks; the stream must be consumed and closed inside a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.unicorn.backend.deal.DealExportRow(d.id, i.email, s.name, d.amount, d.currency, " +
+            "d.status, d.dealType, d.equityPercentage, d.commissionPercentage, d.dealDate, d.createdAt) " +
+            "FROM Deal d LEFT JOIN d.investor i LEFT JOIN d.startup s " +
+            "WHERE (:status IS NULL OR d.status = :status) " +
+            "ORDER BY d.createdAt DESC")
+    Stream<DealExportRow> streamForExport(@Param("status") DealStatus status);
 }
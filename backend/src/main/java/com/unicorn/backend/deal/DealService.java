@@ -1,6 +1,6 @@
 package com.unicorn.backend.deal;
 
-import com.unicorn.backend.appconfig.AppConfigService;
+import com.unicorn.backend.appconfig.CurrencyConversionService;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.startup.StartupRepository;
 import com.unicorn.backend.user.User;
@@ -14,7 +14,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,7 +31,8 @@ public class DealService {
     private final DealRepository dealRepository;
     private final UserRepository userRepository;
     private final StartupRepository startupRepository;
-    private final AppConfigService appConfigService;
+    private final CurrencyConversionService currencyConversionService;
+    private final DealStatsCache dealStatsCache;
 
     /**
      * Create a new deal.
@@ -62,6 +66,7 @@ public class DealService {
                 .build();
 
         Deal savedDeal = dealRepository.save(deal);
+        dealStatsCache.evict();
         return DealResponse.fromEntity(savedDeal);
     }
 
@@ -160,6 +165,7 @@ public class DealService {
         }
 
         Deal updatedDeal = dealRepository.save(deal);
+        dealStatsCache.evict();
         return DealResponse.fromEntity(updatedDeal);
     }
 
@@ -172,69 +178,50 @@ public class DealService {
             throw new IllegalArgumentException("Deal not found with ID: " + id);
         }
         dealRepository.deleteById(id);
+        dealStatsCache.evict();
     }
 
     /**
      * Get deal statistics with amounts converted to USD.
-     * Uses exchange rates from AppConfig for proper multi-currency handling.
+     * Totals are aggregated per currency in the database (and cached, see
+     * {@link DealStatsCache}); each currency group is converted once.
      */
     @Transactional(readOnly = true)
     public DealStats getDealStats() {
-        // Calculate totals with currency conversion to USD
-        List<Deal> completedDeals = dealRepository.findAll().stream()
-                .filter(d -> d.getStatus() == DealStatus.COMPLETED)
-                .toList();
-
-        BigDecimal totalCompletedAmountUSD = BigDecimal.ZERO;
-        BigDecimal totalCommissionUSD = BigDecimal.ZERO;
-
-        for (Deal deal : completedDeals) {
-            BigDecimal amountInUSD = convertToUSD(deal.getAmount(), deal.getCurrency());
-            totalCompletedAmountUSD = totalCompletedAmountUSD.add(amountInUSD);
-
-            if (deal.getCommissionPercentage() != null) {
-                BigDecimal commission = amountInUSD.multiply(deal.getCommissionPercentage())
-                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-                totalCommissionUSD = totalCommissionUSD.add(commission);
-            }
-        }
-
+        DealStatsCache.DealTotals totals = dealStatsCache.get(this::loadDealTotals);
+
+        Map<String, BigDecimal> amounts = new HashMap<>();
+        Map<String, BigDecimal> commissionBases = new HashMap<>();
+        totals.completedByCurrency().forEach((currency, sums) -> {
+            amounts.put(currency, sums.amount());
+            commissionBases.put(currency, sums.commissionBasis());
+        });
+        BigDecimal totalCompletedAmountUSD = currencyConversionService.convertAll(amounts);
+        BigDecimal totalCommissionUSD = currencyConversionService.convertAll(commissionBases)
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+
+        Map<DealStatus, Long> counts = totals.countsByStatus();
         return DealStats.builder()
-                .totalDeals(dealRepository.count())
-                .pendingDeals(dealRepository.countByStatus(DealStatus.PENDING))
-                .completedDeals(dealRepository.countByStatus(DealStatus.COMPLETED))
-                .cancelledDeals(dealRepository.countByStatus(DealStatus.CANCELLED))
+                .totalDeals(counts.values().stream().mapToLong(Long::longValue).sum())
+                .pendingDeals(counts.getOrDefault(DealStatus.PENDING, 0L))
+                .completedDeals(counts.getOrDefault(DealStatus.COMPLETED, 0L))
+                .cancelledDeals(counts.getOrDefault(DealStatus.CANCELLED, 0L))
                 .totalCompletedAmount(totalCompletedAmountUSD)
                 .totalCommissionRevenue(totalCommissionUSD)
                 .build();
     }
 
-    /**
-     * Convert amount from any currency to USD using exchange rates from AppConfig.
-     */
-    private BigDecimal convertToUSD(BigDecimal amount, String currency) {
-        if (amount == null)
-            return BigDecimal.ZERO;
-        if (currency == null || "USD".equalsIgnoreCase(currency)) {
-            return amount;
+    private DealStatsCache.DealTotals loadDealTotals() {
+        Map<DealStatus, Long> counts = new EnumMap<>(DealStatus.class);
+        for (Object[] row : dealRepository.countGroupedByStatus()) {
+            counts.put((DealStatus) row[0], (Long) row[1]);
         }
 
-        // Get exchange rate from AppConfig (rate is: 1 USD = X currency)
-        String rateKey = "rate_" + currency.toLowerCase();
-        String rateValue = appConfigService.getValue(rateKey).orElse(null);
-
-        if (rateValue != null) {
-            try {
-                BigDecimal rate = new BigDecimal(rateValue);
-                // Convert: amount in currency / rate = amount in USD
-                return amount.divide(rate, 2, RoundingMode.HALF_UP);
-            } catch (NumberFormatException e) {
-                // If rate parsing fails, return original amount
-                return amount;
-            }
+        Map<String, DealStatsCache.CurrencyTotals> byCurrency = new HashMap<>();
+        for (Object[] row : dealRepository.sumCompletedByCurrency()) {
+            byCurrency.put((String) row[0],
+                    new DealStatsCache.CurrencyTotals((BigDecimal) row[1], (BigDecimal) row[2]));
         }
-
-        // No exchange rate found, return original amount
-        return amount;
+        return new DealStatsCache.DealTotals(Map.copyOf(counts), byCurrency);
     }
 }
@@ -0,0 +1,82 @@
+package com.unicorn.backend.deal;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the aggregated deal totals behind {@link DealService#getDealStats()}.
+ * Totals are kept per currency (unconverted), so exchange rate changes apply
+ * on the next read without invalidation. The entry is evicted whenever a deal
+ * changes and expires after a short TTL so changes made on another node are
+ * picked up.
+ */
+@Component
+public class DealStatsCache {
+
+    private static final int TTL_MINUTES = 5;
+
+    /**
+     * Sums of completed deals in one currency.
+     */
+    record CurrencyTotals(BigDecimal amount, BigDecimal commissionBasis) {
+    }
+
+    /**
+     * Aggregated deal totals as loaded from the database.
+     */
+    record DealTotals(Map<DealStatus, Long> countsByStatus, Map<String, CurrencyTotals> completedByCurrency) {
+    }
+
+    private record Entry(DealTotals totals, LocalDateTime expiresAt) {
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry entry;
+
+    /**
+     * Get the cached totals, loading them if missing or expired.
+     */
+    public DealTotals get(Supplier<DealTotals> loader) {
+        Entry current = entry;
+        if (current != null && LocalDateTime.now().isBefore(current.expiresAt())) {
+            return current.totals();
+        }
+
+        long loadedAt = generation.get();
+        DealTotals totals = loader.get();
+        // Don't cache a result that may predate an eviction made while loading
+        if (generation.get() == loadedAt) {
+            entry = new Entry(totals, LocalDateTime.now().plusMinutes(TTL_MINUTES));
+        }
+        return totals;
+    }
+
+    /**
+     * Evict the totals. When called inside a transaction they are evicted again
+     * after commit, so a concurrent reader cannot re-cache the old totals.
+     */
+    public void evict() {
+        invalidate();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        entry = null;
+    }
+}
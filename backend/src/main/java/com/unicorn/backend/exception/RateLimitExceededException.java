@@ -0,0 +1,15 @@
+package com.unicorn.backend.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+    private final String limitName;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String limitName, long retryAfterSeconds) {
+        super("Rate limit exceeded for " + limitName);
+        this.limitName = limitName;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
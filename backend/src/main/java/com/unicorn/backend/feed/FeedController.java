@@ -1,6 +1,7 @@
 package com.unicorn.backend.feed;
 
 import com.unicorn.backend.user.User;
+import com.unicorn.backend.ratelimit.RateLimited;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -161,6 +162,7 @@ public class FeedController {
      * Create a new post.
      */
     @PostMapping
+    @RateLimited(name = "feed.post", capacity = 5, perMinute = 5)
     public ResponseEntity<PostResponse> createPost(
             @Valid @RequestBody CreatePostRequest request,
             @AuthenticationPrincipal User currentUser) {
@@ -212,6 +214,7 @@ public class FeedController {
      * Like a post.
      */
     @PostMapping("/{postId}/like")
+    @RateLimited(name = "feed.like", capacity = 30, perMinute = 60)
     public ResponseEntity<Map<String, String>> likePost(
             @PathVariable UUID postId,
             @AuthenticationPrincipal User currentUser) {
@@ -228,6 +231,7 @@ public class FeedController {
      * Unlike a post.
      */
     @DeleteMapping("/{postId}/like")
+    @RateLimited(name = "feed.like", capacity = 30, perMinute = 60)
     public ResponseEntity<Map<String, String>> unlikePost(
             @PathVariable UUID postId,
             @AuthenticationPrincipal User currentUser) {
@@ -244,6 +248,7 @@ public class FeedController {
      * Share a post (get deep link).
      */
     @PostMapping("/{postId}/share")
+    @RateLimited(name = "feed.share", capacity = 10, perMinute = 20)
     public ResponseEntity<Map<String, String>> sharePost(
             @PathVariable UUID postId,
             @AuthenticationPrincipal User currentUser) {
@@ -285,6 +290,7 @@ public class FeedController {
      * Add a comment to a post.
      */
     @PostMapping("/{postId}/comments")
+    @RateLimited(name = "feed.comment", capacity = 10, perMinute = 20)
     public ResponseEntity<CommentResponse> addComment(
             @PathVariable UUID postId,
             @Valid @RequestBody CreateCommentRequest request,
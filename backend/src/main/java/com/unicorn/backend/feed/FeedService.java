@@ -1,10 +1,10 @@
 package com.unicorn.backend.feed;
 
 import com.unicorn.backend.appconfig.AppConfigService;
+import com.unicorn.backend.appconfig.AppConfigSnapshot;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.startup.StartupMember;
 import com.unicorn.backend.startup.StartupRepository;
-import com.unicorn.backend.subscription.Subscription;
 import com.unicorn.backend.subscription.SubscriptionPlan;
 import com.unicorn.backend.subscription.SubscriptionService;
 import com.unicorn.backend.user.User;
@@ -42,17 +42,6 @@ public class FeedService {
     private final StartupRepository startupRepository;
     private final AppConfigService appConfigService;
 
-    // ==================== Algorithm Config Keys ====================
-    private static final String CONFIG_DECAY_GRAVITY = "feed.decay.gravity";
-    private static final String CONFIG_LIKE_POINTS = "feed.like.points";
-    private static final String CONFIG_COMMENT_POINTS = "feed.comment.points";
-    private static final String CONFIG_SHARE_POINTS = "feed.share.points";
-    private static final String CONFIG_EDIT_PENALTY = "feed.edit.penalty";
-    private static final String CONFIG_BOOST_FREE = "feed.boost.free";
-    private static final String CONFIG_BOOST_PRO = "feed.boost.pro";
-    private static final String CONFIG_BOOST_ELITE = "feed.boost.elite";
-    private static final String CONFIG_MEDIA_EDIT_HOURS = "feed.media.edit.hours";
-    private static final String CONFIG_BASE_FRESHNESS = "feed.base.freshness";
     private static final int BATCH_RECALC_SIZE = 500;
 
     // ==================== Post Creation ====================
@@ -67,7 +56,7 @@ public class FeedService {
         }
 
         // Validate content length
-        int maxPostLength = appConfigService.getIntValue("max_post_length", 2000);
+        int maxPostLength = appConfigService.getSnapshot().feed().maxPostLength();
         if (request.getContent() != null && request.getContent().length() > maxPostLength) {
             throw new IllegalArgumentException("Post content must not exceed " + maxPostLength + " characters");
         }
@@ -137,15 +126,11 @@ public class FeedService {
      * Get subscription multiplier for a user based on their current plan.
      */
     private double getSubscriptionMultiplier(UUID userId) {
-        Subscription subscription = subscriptionService.getActiveSubscription(userId);
-        if (subscription == null) {
-            return getConfigDouble(CONFIG_BOOST_FREE, 1.0);
-        }
-
-        return switch (subscription.getPlanType()) {
-            case PRO -> getConfigDouble(CONFIG_BOOST_PRO, 1.5);
-            case ELITE -> getConfigDouble(CONFIG_BOOST_ELITE, 2.0);
-            default -> getConfigDouble(CONFIG_BOOST_FREE, 1.0);
+        AppConfigSnapshot.FeedConfig feedConfig = appConfigService.getSnapshot().feed();
+        return switch (subscriptionService.getActivePlan(userId)) {
+            case PRO -> feedConfig.boostPro();
+            case ELITE -> feedConfig.boostElite();
+            default -> feedConfig.boostFree();
         };
     }
 
@@ -166,7 +151,7 @@ public class FeedService {
 
         // Validate content length if changing
         if (request.getContent() != null) {
-            int maxPostLength = appConfigService.getIntValue("max_post_length", 2000);
+            int maxPostLength = appConfigService.getSnapshot().feed().maxPostLength();
             if (request.getContent().length() > maxPostLength) {
                 throw new IllegalArgumentException("Post content must not exceed " + maxPostLength + " characters");
             }
@@ -223,7 +208,7 @@ public class FeedService {
             return true; // No media yet, can add
         }
 
-        int allowedHours = appConfigService.getIntValue(CONFIG_MEDIA_EDIT_HOURS, 2);
+        int allowedHours = appConfigService.getSnapshot().feed().mediaEditHours();
         LocalDateTime deadline = post.getCreatedAt().plusHours(allowedHours);
         return LocalDateTime.now().isBefore(deadline);
     }
@@ -241,16 +226,17 @@ public class FeedService {
      */
     @Transactional
     public void recalculatePostScore(Post post) {
-        // Get algorithm config
-        double likePoints = getConfigDouble(CONFIG_LIKE_POINTS, 1.0);
-        double commentPoints = getConfigDouble(CONFIG_COMMENT_POINTS, 3.0);
-        double sharePoints = getConfigDouble(CONFIG_SHARE_POINTS, 5.0);
-        double gravity = getConfigDouble(CONFIG_DECAY_GRAVITY, 1.5);
-        double editPenalty = getConfigDouble(CONFIG_EDIT_PENALTY, 0.1);
+        // Get algorithm config (pre-parsed snapshot)
+        AppConfigSnapshot.FeedConfig feedConfig = appConfigService.getSnapshot().feed();
+        double likePoints = feedConfig.likePoints();
+        double commentPoints = feedConfig.commentPoints();
+        double sharePoints = feedConfig.sharePoints();
+        double gravity = feedConfig.gravity();
+        double editPenalty = feedConfig.editPenalty();
 
         // Base freshness score - new posts start with visibility (configurable from
         // dashboard)
-        double baseFreshness = getConfigDouble(CONFIG_BASE_FRESHNESS, 10.0);
+        double baseFreshness = feedConfig.baseFreshness();
 
         // Calculate engagement score
         int likes = post.getLikeCount() != null ? post.getLikeCount() : 0;
@@ -453,7 +439,7 @@ public class FeedService {
                 .orElseThrow(() -> new RuntimeException("Post not found: " + postId));
 
         // Validate content length
-        int maxCommentLength = appConfigService.getIntValue("max_comment_length", 1000);
+        int maxCommentLength = appConfigService.getSnapshot().feed().maxCommentLength();
         if (request.getContent() != null && request.getContent().length() > maxCommentLength) {
             throw new IllegalArgumentException("Comment content must not exceed " + maxCommentLength + " characters");
         }
@@ -721,8 +707,7 @@ public class FeedService {
                     .authorRole(author.getRole());
 
             // Get author's current plan
-            Subscription subscription = subscriptionService.getActiveSubscription(author.getId());
-            builder.authorPlan(subscription != null ? subscription.getPlanType().name() : "FREE");
+            builder.authorPlan(subscriptionService.getActivePlan(author.getId()).name());
 
             // Check if user is a verified investor
             builder.authorIsVerified(author.getInvestorProfile() != null &&
@@ -759,8 +744,7 @@ public class FeedService {
                     .authorAvatarUrl(author.getAvatarUrl())
                     .authorRole(author.getRole());
 
-            Subscription subscription = subscriptionService.getActiveSubscription(author.getId());
-            builder.authorPlan(subscription != null ? subscription.getPlanType().name() : "FREE");
+            builder.authorPlan(subscriptionService.getActivePlan(author.getId()).name());
         }
 
         // Get replies if this is a top-level comment
@@ -774,16 +758,6 @@ public class FeedService {
         return builder.build();
     }
 
-    // ==================== Helper Methods ====================
-
-    private double getConfigDouble(String key, double defaultValue) {
-        try {
-            return Double.parseDouble(appConfigService.getValue(key, String.valueOf(defaultValue)));
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
-    }
-
     // ==================== Post Engagement Details (Admin) ====================
 
     /**
@@ -791,10 +765,11 @@ public class FeedService {
      */
     public Page<EngagementUserResponse> getPostLikes(UUID postId, Pageable pageable) {
         Page<PostLike> likes = likeRepository.findByPostIdOrderByCreatedAtDesc(postId, pageable);
+        Map<UUID, SubscriptionPlan> plans = subscriptionService.getActivePlans(
+                likes.getContent().stream().map(PostLike::getUserId).collect(Collectors.toSet()));
 
         return likes.map(like -> {
             User user = userRepository.findById(like.getUserId()).orElse(null);
-            Subscription subscription = user != null ? subscriptionService.getActiveSubscription(user.getId()) : null;
 
             return EngagementUserResponse.builder()
                     .userId(like.getUserId())
@@ -802,7 +777,7 @@ public class FeedService {
                             : user.getFirstName() + " " + user.getLastName()) : "Unknown User")
                     .userUsername(user != null ? user.getUsername() : null)
                     .userAvatarUrl(user != null ? user.getAvatarUrl() : null)
-                    .userPlan(subscription != null ? subscription.getPlanType().name() : "FREE")
+                    .userPlan(user != null ? plans.getOrDefault(user.getId(), SubscriptionPlan.FREE).name() : "FREE")
                     .engagedAt(like.getCreatedAt())
                     .build();
         });
@@ -813,10 +788,11 @@ public class FeedService {
      */
     public Page<EngagementUserResponse> getPostShares(UUID postId, Pageable pageable) {
         Page<PostShare> shares = shareRepository.findByPostIdOrderByCreatedAtDesc(postId, pageable);
+        Map<UUID, SubscriptionPlan> plans = subscriptionService.getActivePlans(
+                shares.getContent().stream().map(PostShare::getUserId).collect(Collectors.toSet()));
 
         return shares.map(share -> {
             User user = userRepository.findById(share.getUserId()).orElse(null);
-            Subscription subscription = user != null ? subscriptionService.getActiveSubscription(user.getId()) : null;
 
             return EngagementUserResponse.builder()
                     .userId(share.getUserId())
@@ -824,7 +800,7 @@ public class FeedService {
                             : user.getFirstName() + " " + user.getLastName()) : "Unknown User")
                     .userUsername(user != null ? user.getUsername() : null)
                     .userAvatarUrl(user != null ? user.getAvatarUrl() : null)
-                    .userPlan(subscription != null ? subscription.getPlanType().name() : "FREE")
+                    .userPlan(user != null ? plans.getOrDefault(user.getId(), SubscriptionPlan.FREE).name() : "FREE")
                     .engagedAt(share.getCreatedAt())
                     .build();
         });
@@ -854,7 +830,8 @@ public class FeedService {
      */
     private CommentWithRepliesResponse toCommentWithRepliesResponse(Comment comment) {
         User author = userRepository.findById(comment.getAuthorId()).orElse(null);
-        Subscription subscription = author != null ? subscriptionService.getActiveSubscription(author.getId()) : null;
+        SubscriptionPlan plan = author != null ? subscriptionService.getActivePlan(author.getId())
+                : SubscriptionPlan.FREE;
 
         // Count total replies
         long totalReplies = commentRepository.countByParentIdAndIsDeletedFalse(comment.getId());
@@ -881,7 +858,7 @@ public class FeedService {
                         : author.getFirstName() + " " + author.getLastName()) : "Unknown User")
                 .authorUsername(author != null ? author.getUsername() : null)
                 .authorAvatarUrl(author != null ? author.getAvatarUrl() : null)
-                .authorPlan(subscription != null ? subscription.getPlanType().name() : "FREE")
+                .authorPlan(plan.name())
                 .replies(repliesResponse)
                 .replyCount((int) totalReplies) // Cast simply for DTO, though long is better
                 .build();
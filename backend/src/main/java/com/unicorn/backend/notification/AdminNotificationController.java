@@ -1,5 +1,6 @@
 package com.unicorn.backend.notification;
 
+import com.unicorn.backend.notification.push.PushDispatchService;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,8 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,30 +32,30 @@ public class AdminNotificationController {
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final PushDispatchService pushDispatchService;
+    private final BroadcastInboxService broadcastInboxService;
+    private final AnnouncementFanoutService announcementFanoutService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final NotificationStatsAggregator statsAggregator;
 
     /**
      * Get notification statistics for the dashboard.
      */
     @GetMapping("/stats")
     public ResponseEntity<NotificationStatsDTO> getStats() {
-        long total = notificationRepository.count();
-        long unread = notificationRepository.countByReadFalse();
-
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        long todayCount = notificationRepository.countCreatedAfter(startOfDay);
-
-        // Find top notification type
-        List<Object[]> topTypes = notificationRepository.findTopNotificationTypes();
-        String topType = "NONE";
-        long topTypeCount = 0;
-        if (!topTypes.isEmpty()) {
-            Object[] top = topTypes.get(0);
-            topType = ((NotificationType) top[0]).name();
-            topTypeCount = (Long) top[1];
-        }
+        return ResponseEntity.ok(statsAggregator.getStats());
+    }
 
-        NotificationStatsDTO stats = NotificationStatsDTO.of(total, unread, todayCount, topType, topTypeCount);
-        return ResponseEntity.ok(stats);
+    /**
+     * Get pending and dead-lettered delivery counts per channel, plus push
+     * provider counters.
+     */
+    @GetMapping("/delivery-stats")
+    public ResponseEntity<Map<String, Object>> getDeliveryStats() {
+        return ResponseEntity.ok(Map.of(
+                "outbox", notificationDispatcher.getStats(),
+                "push", pushDispatchService.getStats()));
     }
 
     /**
@@ -83,7 +82,7 @@ public class AdminNotificationController {
             notifications = notificationRepository.findAllByOrderByCreatedAtDesc(pageable);
         }
 
-        Page<NotificationDTO> dtos = notifications.map(n -> NotificationDTO.from(n, Map.of()));
+        Page<NotificationDTO> dtos = notifications.map(NotificationDTO::from);
         return ResponseEntity.ok(dtos);
     }
 
@@ -155,45 +154,68 @@ public class AdminNotificationController {
             default -> "ALL_USERS";
         };
 
-        // Create single broadcast notification
-        Notification broadcast = Notification.builder()
-                .type(NotificationType.SYSTEM_ANNOUNCEMENT)
-                .title(request.title())
-                .message(request.message())
-                .data("{\"isAnnouncement\":true}")
-                .broadcast(true)
-                .targetAudience(targetAudienceStr)
-                .build();
-
-        notificationRepository.save(broadcast);
-
-        // Count target users for response
-        long targetCount = switch (request.targetAudience()) {
-            case ALL_USERS -> userRepository.countByStatus("ACTIVE");
-            case INVESTORS_ONLY -> userRepository.countByRole("INVESTOR");
-            case STARTUP_OWNERS_ONLY -> userRepository.countByRole("STARTUP_OWNER");
-            default -> 0;
-        };
+        // Create single broadcast notification; real-time delivery runs as a background job
+        Notification broadcast = broadcastInboxService.createBroadcast(
+                NotificationType.SYSTEM_ANNOUNCEMENT,
+                request.title(),
+                request.message(),
+                "{\"isAnnouncement\":true}",
+                targetAudienceStr);
 
-        log.info("Broadcast announcement created: '{}' for audience: {} (~{} users)",
-                request.title(), targetAudienceStr, targetCount);
+        AnnouncementJob job = announcementFanoutService.start(
+                broadcast,
+                Map.of("isAnnouncement", true),
+                targetAudienceStr,
+                request.channels().contains(NotificationChannel.PUSH));
+
+        log.info("Broadcast announcement created: '{}' for audience: {} (~{} users), job {}",
+                request.title(), targetAudienceStr, job.getTotalRecipients(), job.getId());
 
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Broadcast announcement created",
-                "sentCount", targetCount,
-                "isBroadcast", true));
+                "sentCount", job.getTotalRecipients(),
+                "isBroadcast", true,
+                "jobId", job.getId()));
+    }
+
+    /**
+     * Get recent announcement delivery jobs with their progress.
+     */
+    @GetMapping("/announcements")
+    public ResponseEntity<List<AnnouncementJob>> getAnnouncementJobs() {
+        return ResponseEntity.ok(announcementFanoutService.getRecentJobs());
+    }
+
+    /**
+     * Get progress of one announcement delivery job.
+     */
+    @GetMapping("/announcements/{jobId}")
+    public ResponseEntity<AnnouncementJob> getAnnouncementJob(@PathVariable UUID jobId) {
+        return announcementFanoutService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancel a queued or running announcement delivery job.
+     */
+    @PostMapping("/announcements/{jobId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelAnnouncementJob(@PathVariable UUID jobId) {
+        if (announcementFanoutService.cancel(jobId)) {
+            return ResponseEntity.ok(Map.of("success", true, "message", "Cancellation requested"));
+        }
+        return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "Job not found or already finished"));
     }
 
     /**
-     * Delete old read notifications.
+     * Delete old read notifications (in chunks, see {@link NotificationRetentionService}).
      */
     @DeleteMapping("/cleanup")
-    @org.springframework.transaction.annotation.Transactional
     public ResponseEntity<Map<String, Object>> cleanupOldNotifications(
             @RequestParam(defaultValue = "30") int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        int deletedCount = notificationRepository.deleteOldReadNotifications(cutoffDate);
+        long deletedCount = notificationRetentionService.cleanupReadOlderThan(daysOld);
 
         log.info("Cleaned up {} old read notifications (older than {} days)", deletedCount, daysOld);
         return ResponseEntity.ok(Map.of(
@@ -202,15 +224,26 @@ public class AdminNotificationController {
                 "deletedCount", deletedCount));
     }
 
+    /**
+     * Get rows reclaimed by retention policies.
+     */
+    @GetMapping("/retention/stats")
+    public ResponseEntity<Map<String, Object>> getRetentionStats() {
+        return ResponseEntity.ok(notificationRetentionService.getStats());
+    }
+
     /**
      * Delete a specific notification.
      */
     @DeleteMapping("/{notificationId}")
     public ResponseEntity<Map<String, Object>> deleteNotification(@PathVariable UUID notificationId) {
-        if (!notificationRepository.existsById(notificationId)) {
+        Notification notification = notificationRepository.findById(notificationId).orElse(null);
+        if (notification == null) {
             return ResponseEntity.notFound().build();
         }
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.delete(notification);
+        statsAggregator.recordDeleted(notification);
+        broadcastInboxService.refreshIfChanged();
         return ResponseEntity.ok(Map.of("success", true, "message", "Notification deleted"));
     }
 
@@ -0,0 +1,342 @@
+package com.unicorn.backend.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.backend.user.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delivers broadcast announcements to their audience in real time.
+ * The broadcast itself is a single notification row (see
+ * {@link BroadcastInboxService}); this job walks the audience in keyset-paged
+ * batches, publishes WebSocket messages through a bounded pool (the job thread
+ * runs sends itself when the queue is full) and sends push notifications as
+ * multicast batches. Progress and the keyset cursor are persisted per batch and
+ * a cancel request is honoured at the next batch boundary.
+ * <p>
+ * The node holding a job keeps its heartbeat fresh; a job left queued or
+ * running by a restart or a dead node is claimed once its heartbeat goes stale
+ * and resumed after the last delivered batch (a batch in flight when the node
+ * died is sent again). Jobs older than {@link #MAX_RESUME_AGE_HOURS} are
+ * marked failed instead of delivering a stale announcement.
+ */
+@Slf4j
+@Service
+public class AnnouncementFanoutService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PUBLISH_QUEUE_CAPACITY = 2000;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
+    private static final int HEARTBEAT_LEASE_MINUTES = 5;
+    private static final int MAX_RESUME_AGE_HOURS = 24;
+
+    private final AnnouncementJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PushNotificationService pushNotificationService;
+    private final NotificationRepository notificationRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService jobExecutor;
+    /**
+     * Jobs queued or running on this node, whose heartbeat it refreshes.
+     */
+    private final Set<UUID> localJobs = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor publisher;
+
+    public AnnouncementFanoutService(
+            AnnouncementJobRepository jobRepository,
+            UserRepository userRepository,
+            SimpMessagingTemplate messagingTemplate,
+            PushNotificationService pushNotificationService,
+            NotificationRepository notificationRepository,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.pushNotificationService = pushNotificationService;
+        this.notificationRepository = notificationRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "announcement-fanout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisher = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PUBLISH_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "announcement-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        jobExecutor.shutdownNow();
+        publisher.shutdown();
+    }
+
+    /**
+     * Queue real-time delivery of a broadcast to its audience.
+     *
+     * @param broadcast      the saved (committed) broadcast notification
+     * @param data           parsed broadcast data
+     * @param targetAudience ALL_USERS or a user role
+     * @param push           also send a push notification
+     * @return the created job
+     */
+    public AnnouncementJob start(Notification broadcast, Map<String, Object> data, String targetAudience,
+            boolean push) {
+        String role = BroadcastInboxService.ALL_USERS.equals(targetAudience) ? null : targetAudience;
+        long total = role == null
+                ? userRepository.countByStatus("ACTIVE")
+                : userRepository.countByRoleAndStatus(role, "ACTIVE");
+
+        AnnouncementJob job = jobRepository.save(AnnouncementJob.builder()
+                .notificationId(broadcast.getId())
+                .targetAudience(targetAudience)
+                .pushEnabled(push)
+                .totalRecipients(total)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+
+        submit(job, NotificationDTO.from(broadcast), data);
+        return job;
+    }
+
+    /**
+     * Keep this node's jobs alive and take over jobs abandoned by a restart or
+     * a dead node (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${notification.announcement.recovery.interval:60000}")
+    public void heartbeatAndRecover() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!localJobs.isEmpty()) {
+            Set<UUID> held = Set.copyOf(localJobs);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.heartbeat(held, now));
+        }
+
+        LocalDateTime staleBefore = now.minusMinutes(HEARTBEAT_LEASE_MINUTES);
+        for (AnnouncementJob job : jobRepository.findStale(staleBefore)) {
+            if (localJobs.contains(job.getId())) {
+                continue;
+            }
+            Integer claimed = transactionTemplate.execute(status ->
+                    jobRepository.claimIfStale(job.getId(), now, staleBefore));
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            try {
+                recover(job, now);
+            } catch (Exception e) {
+                log.error("Failed to recover announcement job {}: {}", job.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void recover(AnnouncementJob job, LocalDateTime now) {
+        Optional<Notification> broadcast = notificationRepository.findById(job.getNotificationId());
+        String reason = null;
+        if (broadcast.isEmpty()) {
+            reason = "Interrupted; the broadcast no longer exists";
+        } else if (job.getCreatedAt() != null && job.getCreatedAt().isBefore(now.minusHours(MAX_RESUME_AGE_HOURS))) {
+            reason = "Interrupted; not resumed after " + MAX_RESUME_AGE_HOURS + " hours";
+        }
+        if (reason != null) {
+            String error = reason;
+            updateJob(job.getId(), j -> {
+                j.setStatus(AnnouncementJobStatus.FAILED);
+                j.setLastError(error);
+                j.setFinishedAt(now);
+            });
+            log.warn("Announcement job {} failed: {}", job.getId(), reason);
+            return;
+        }
+
+        log.info("Resuming announcement job {} after {} of {} recipients",
+                job.getId(), job.getProcessedRecipients(), job.getTotalRecipients());
+        submit(job, NotificationDTO.from(broadcast.get()), parseData(broadcast.get().getData()));
+    }
+
+    private void submit(AnnouncementJob job, NotificationDTO dto, Map<String, Object> data) {
+        UUID jobId = job.getId();
+        localJobs.add(jobId);
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    run(job, dto, data);
+                } finally {
+                    localJobs.remove(jobId);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Shutting down; the job is recovered once its heartbeat goes stale
+            localJobs.remove(jobId);
+            throw e;
+        }
+    }
+
+    /**
+     * Ask a queued or running job to stop.
+     *
+     * @return false if the job doesn't exist or has already finished
+     */
+    public boolean cancel(UUID jobId) {
+        Integer updated = transactionTemplate.execute(status -> jobRepository.requestCancel(jobId));
+        return updated != null && updated > 0;
+    }
+
+    public Optional<AnnouncementJob> getJob(UUID jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    public List<AnnouncementJob> getRecentJobs() {
+        return jobRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    private void run(AnnouncementJob job, NotificationDTO dto, Map<String, Object> data) {
+        UUID jobId = job.getId();
+        String role = BroadcastInboxService.ALL_USERS.equals(job.getTargetAudience()) ? null : job.getTargetAudience();
+        boolean push = job.isPushEnabled();
+        AnnouncementJobStatus outcome = AnnouncementJobStatus.COMPLETED;
+        String error = null;
+        long processed = job.getProcessedRecipients();
+        long pushDelivered = job.getPushDelivered();
+
+        try {
+            updateJob(jobId, j -> {
+                j.setStatus(AnnouncementJobStatus.RUNNING);
+                if (j.getStartedAt() == null) {
+                    j.setStartedAt(LocalDateTime.now());
+                }
+            });
+
+            NotificationType type = NotificationType.valueOf(dto.type());
+            Pageable page = PageRequest.of(0, BATCH_SIZE);
+            UUID afterId = job.getLastRecipientId() != null ? job.getLastRecipientId() : MIN_UUID;
+            List<Object[]> rows;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Shutting down; another node resumes from the stored cursor
+                    log.info("Announcement job {} interrupted after {} recipients", jobId, processed);
+                    return;
+                }
+                if (jobRepository.isCancelRequested(jobId)) {
+                    outcome = AnnouncementJobStatus.CANCELLED;
+                    break;
+                }
+
+                rows = role == null
+                        ? userRepository.findActiveRecipientsAfter(afterId, page)
+                        : userRepository.findActiveRecipientsByRoleAfter(role, afterId, page);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<UUID> ids = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    ids.add((UUID) row[0]);
+                    String principal = (String) row[1];
+                    publisher.execute(() -> publish(principal, dto));
+                }
+
+                if (push) {
+                    try {
+                        pushDelivered += pushNotificationService.sendPushToUsers(ids, type, dto.title(),
+                                dto.message(), data);
+                    } catch (Exception e) {
+                        log.warn("Push batch for announcement job {} failed: {}", jobId, e.getMessage());
+                    }
+                }
+
+                processed += rows.size();
+                afterId = ids.get(ids.size() - 1);
+                long processedSoFar = processed;
+                long pushSoFar = pushDelivered;
+                UUID cursor = afterId;
+                transactionTemplate.executeWithoutResult(status -> jobRepository.updateProgress(jobId,
+                        processedSoFar, pushSoFar, cursor, LocalDateTime.now()));
+            } while (rows.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Announcement job {} interrupted after {} recipients", jobId, processed);
+                return;
+            }
+            log.error("Announcement job {} failed: {}", jobId, e.getMessage(), e);
+            outcome = AnnouncementJobStatus.FAILED;
+            error = e.getMessage();
+        }
+
+        AnnouncementJobStatus finalStatus = outcome;
+        String finalError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        long finalProcessed = processed;
+        long finalPush = pushDelivered;
+        updateJob(jobId, j -> {
+            j.setStatus(finalStatus);
+            j.setProcessedRecipients(finalProcessed);
+            j.setPushDelivered(finalPush);
+            j.setLastError(finalError);
+            j.setFinishedAt(LocalDateTime.now());
+        });
+        log.info("Announcement job {} {}: {} recipients, {} push deliveries",
+                jobId, finalStatus, finalProcessed, finalPush);
+    }
+
+    private void publish(String principal, NotificationDTO dto) {
+        try {
+            messagingTemplate.convertAndSendToUser(principal, WEBSOCKET_DESTINATION, dto);
+        } catch (Exception e) {
+            log.debug("Failed to publish announcement to {}: {}", principal, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> parseData(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse announcement data: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private void updateJob(UUID jobId, Consumer<AnnouncementJob> update) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+            update.accept(job);
+            jobRepository.save(job);
+        }));
+    }
+}
@@ -0,0 +1,87 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of delivering a broadcast announcement to its audience in real time
+ * (WebSocket and push). Persisted so any node can report progress, accept
+ * cancellation and resume the job if the node running it goes away.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "announcement_jobs", indexes = {
+        @Index(name = "idx_announcement_job_created_at", columnList = "created_at DESC")
+})
+public class AnnouncementJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "notification_id", nullable = false)
+    private UUID notificationId;
+
+    @Column(name = "target_audience", nullable = false, length = 30)
+    private String targetAudience;
+
+    @Column(name = "push_enabled", nullable = false)
+    private boolean pushEnabled;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private AnnouncementJobStatus status = AnnouncementJobStatus.QUEUED;
+
+    @Column(name = "total_recipients", nullable = false)
+    private long totalRecipients;
+
+    @Column(name = "processed_recipients", nullable = false)
+    private long processedRecipients;
+
+    @Column(name = "push_delivered", nullable = false)
+    private long pushDelivered;
+
+    /**
+     * Set by an admin; the worker stops at the next batch boundary.
+     */
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    /**
+     * Keyset cursor: the last recipient id delivered to, so an interrupted job
+     * resumes after it.
+     */
+    @Column(name = "last_recipient_id")
+    private UUID lastRecipientId;
+
+    /**
+     * Refreshed while a node holds the job; a stale heartbeat lets another node
+     * take it over.
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
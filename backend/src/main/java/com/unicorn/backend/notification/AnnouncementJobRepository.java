@@ -0,0 +1,72 @@
+package com.unicorn.backend.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for announcement fan-out jobs.
+ */
+@Repository
+public interface AnnouncementJobRepository extends JpaRepository<AnnouncementJob, UUID> {
+
+    List<AnnouncementJob> findTop20ByOrderByCreatedAtDesc();
+
+    @Query("SELECT j.cancelRequested FROM AnnouncementJob j WHERE j.id = :id")
+    boolean isCancelRequested(@Param("id") UUID id);
+
+    /**
+     * Record progress and the keyset cursor, and refresh the heartbeat, without
+     * overwriting a concurrent cancel request.
+     */
+    @Modifying
+    @Query("UPDATE AnnouncementJob j SET j.processedRecipients = :processed, j.pushDelivered = :pushDelivered, " +
+            "j.lastRecipientId = :lastRecipientId, j.heartbeatAt = :now WHERE j.id = :id")
+    int updateProgress(@Param("id") UUID id, @Param("processed") long processed,
+            @Param("pushDelivered") long pushDelivered, @Param("lastRecipientId") UUID lastRecipientId,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Refresh the heartbeat of jobs held by this node.
+     */
+    @Modifying
+    @Query("UPDATE AnnouncementJob j SET j.heartbeatAt = :now WHERE j.id IN :ids " +
+            "AND j.status IN (com.unicorn.backend.notification.AnnouncementJobStatus.QUEUED, " +
+            "com.unicorn.backend.notification.AnnouncementJobStatus.RUNNING)")
+    int heartbeat(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Queued or running jobs whose heartbeat is older than the given time, oldest first.
+     */
+    @Query("SELECT j FROM AnnouncementJob j " +
+            "WHERE j.status IN (com.unicorn.backend.notification.AnnouncementJobStatus.QUEUED, " +
+            "com.unicorn.backend.notification.AnnouncementJobStatus.RUNNING) " +
+            "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore) ORDER BY j.createdAt")
+    List<AnnouncementJob> findStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Take over a queued or running job whose heartbeat is older than the given time.
+     *
+     * @return 1 if claimed, 0 if another node holds it or it has finished
+     */
+    @Modifying
+    @Query("UPDATE AnnouncementJob j SET j.heartbeatAt = :now WHERE j.id = :id " +
+            "AND j.status IN (com.unicorn.backend.notification.AnnouncementJobStatus.QUEUED, " +
+            "com.unicorn.backend.notification.AnnouncementJobStatus.RUNNING) " +
+            "AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int claimIfStale(@Param("id") UUID id, @Param("now") LocalDateTime now,
+            @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE AnnouncementJob j SET j.cancelRequested = true WHERE j.id = :id " +
+            "AND j.status IN (com.unicorn.backend.notification.AnnouncementJobStatus.QUEUED, " +
+            "com.unicorn.backend.notification.AnnouncementJobStatus.RUNNING)")
+    int requestCancel(@Param("id") UUID id);
+}
@@ -0,0 +1,12 @@
+package com.unicorn.backend.notification;
+
+/**
+ * Lifecycle of an announcement fan-out job.
+ */
+public enum AnnouncementJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,291 @@
+package com.unicorn.backend.notification;
+
+import com.unicorn.backend.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Serves broadcast notifications from an in-memory list of active broadcasts,
+ * precomputed per target audience. Each user's dismissals are kept as a
+ * {@link BroadcastInboxState} (watermark plus bitmap over broadcast sequence
+ * numbers, which are taken from {@link BroadcastSeqCounterRepository}), so
+ * building a user's inbox is a filter over the cached list with no
+ * per-dismissal queries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastInboxService {
+
+    public static final String ALL_USERS = "ALL_USERS";
+
+    private final NotificationRepository notificationRepository;
+    private final BroadcastInboxStateRepository stateRepository;
+    private final BroadcastSeqCounterRepository seqCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationStatsAggregator statsAggregator;
+
+    private record Entry(long seq, NotificationDTO dto) {
+    }
+
+    /**
+     * Broadcasts visible to one audience, newest first.
+     */
+    private record AudienceView(List<Entry> entries, Set<Long> seqs) {
+    }
+
+    private record Snapshot(long maxSeq, long count, AudienceView allUsers, Map<String, AudienceView> byAudience,
+            Map<UUID, Entry> byId, Set<Long> activeSeqs) {
+
+        AudienceView forRole(String role) {
+            return role != null ? byAudience.getOrDefault(role, allUsers) : allUsers;
+        }
+    }
+
+    private static final Snapshot EMPTY = new Snapshot(0, 0, new AudienceView(List.of(), Set.of()), Map.of(),
+            Map.of(), Set.of());
+
+    /**
+     * Most dismissal bits kept above the watermark. Past this, the watermark is
+     * moved up and broadcasts that many sequence numbers old are hidden even if
+     * never dismissed, so one undismissed broadcast cannot grow the row forever.
+     */
+    static final int MAX_DISMISSED_BITS = 8192;
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Rebuild the active broadcast list. Broadcasts created before sequence
+     * numbers existed are numbered first, oldest to newest.
+     */
+    public void reload() {
+        List<Notification> broadcasts = transactionTemplate.execute(status -> {
+            List<Notification> unnumbered = notificationRepository.findUnnumberedBroadcasts();
+            if (!unnumbered.isEmpty()) {
+                for (Notification notification : unnumbered) {
+                    notification.setBroadcastSeq(seqCounterRepository.next());
+                }
+                notificationRepository.saveAll(unnumbered);
+                log.info("Assigned sequence numbers to {} existing broadcasts", unnumbered.size());
+            }
+            return notificationRepository.findByBroadcastTrueOrderByCreatedAtDesc();
+        });
+
+        List<Entry> all = new ArrayList<>(broadcasts.size());
+        Map<UUID, Entry> byId = new HashMap<>();
+        Set<Long> activeSeqs = new HashSet<>();
+        Map<UUID, String> audiences = new HashMap<>();
+        long maxSeq = 0;
+        for (Notification notification : broadcasts) {
+            Entry entry = new Entry(notification.getBroadcastSeq(), NotificationDTO.from(notification));
+            all.add(entry);
+            byId.put(notification.getId(), entry);
+            activeSeqs.add(entry.seq());
+            audiences.put(notification.getId(),
+                    notification.getTargetAudience() != null ? notification.getTargetAudience() : ALL_USERS);
+            maxSeq = Math.max(maxSeq, entry.seq());
+        }
+        all.sort(Comparator.comparingLong(Entry::seq).reversed());
+
+        // Precompute each audience's list: ALL_USERS broadcasts plus its own
+        Set<String> roles = new HashSet<>(audiences.values());
+        roles.remove(ALL_USERS);
+        Map<String, AudienceView> byAudience = new HashMap<>();
+        for (String role : roles) {
+            byAudience.put(role, view(all.stream()
+                    .filter(e -> {
+                        String audience = audiences.get(e.dto().id());
+                        return ALL_USERS.equals(audience) || role.equals(audience);
+                    })
+                    .toList()));
+        }
+        AudienceView allUsers = view(all.stream()
+                .filter(e -> ALL_USERS.equals(audiences.get(e.dto().id())))
+                .toList());
+
+        snapshot = new Snapshot(maxSeq, broadcasts.size(), allUsers, Map.copyOf(byAudience), Map.copyOf(byId),
+                Set.copyOf(activeSeqs));
+        log.debug("Broadcast cache loaded: {} broadcasts, max seq {}", broadcasts.size(), maxSeq);
+    }
+
+    private static AudienceView view(List<Entry> entries) {
+        Set<Long> seqs = new HashSet<>();
+        entries.forEach(e -> seqs.add(e.seq()));
+        return new AudienceView(entries, Set.copyOf(seqs));
+    }
+
+    /**
+     * Reload when broadcasts were created or deleted on any node (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${notification.broadcast.refresh.interval:30000}")
+    public void refreshIfChanged() {
+        Snapshot current = snapshot;
+        if (notificationRepository.findMaxBroadcastSeq() != current.maxSeq()
+                || notificationRepository.countByBroadcastTrue() != current.count()) {
+            reload();
+        }
+    }
+
+    /**
+     * Reload once the surrounding transaction commits.
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    /**
+     * Create a broadcast with the next sequence number.
+     *
+     * @param targetAudience ALL_USERS or a user role
+     */
+    @Transactional
+    public Notification createBroadcast(NotificationType type, String title, String message, String dataJson,
+            String targetAudience) {
+        Notification broadcast = Notification.builder()
+                .type(type)
+                .title(title)
+                .message(message)
+                .data(dataJson)
+                .broadcast(true)
+                .targetAudience(targetAudience)
+                .broadcastSeq(seqCounterRepository.next())
+                .build();
+        broadcast = notificationRepository.save(broadcast);
+        statsAggregator.recordCreated(type, true);
+        reloadAfterCommit();
+        return broadcast;
+    }
+
+    /**
+     * Broadcasts visible to the user, newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDTO> getVisibleBroadcasts(User user) {
+        AudienceView view = snapshot.forRole(normalizeRole(user));
+        if (view.entries().isEmpty()) {
+            return List.of();
+        }
+
+        BroadcastInboxState state = stateRepository.findById(user.getId()).orElse(null);
+        if (state == null) {
+            return view.entries().stream().map(Entry::dto).toList();
+        }
+        BitSet dismissed = state.dismissedBits();
+        return view.entries().stream()
+                .filter(e -> !state.isHidden(e.seq(), dismissed))
+                .map(Entry::dto)
+                .toList();
+    }
+
+    /**
+     * Dismiss one broadcast for the user.
+     *
+     * @return false if the broadcast doesn't exist or isn't visible to the user
+     */
+    @Transactional
+    public boolean dismiss(User user, UUID notificationId) {
+        Snapshot current = snapshot;
+        Entry entry = current.byId().get(notificationId);
+        AudienceView view = current.forRole(normalizeRole(user));
+        if (entry == null || !view.seqs().contains(entry.seq())) {
+            return false;
+        }
+
+        BroadcastInboxState state = loadForUpdate(user.getId());
+        if (state.isHidden(entry.seq())) {
+            return true;
+        }
+
+        hide(state, List.of(entry.seq()), current);
+        stateRepository.save(state);
+        return true;
+    }
+
+    /**
+     * Dismiss every broadcast currently visible to the user.
+     */
+    @Transactional
+    public void dismissAll(User user) {
+        Snapshot current = snapshot;
+        AudienceView view = current.forRole(normalizeRole(user));
+        BroadcastInboxState state = loadForUpdate(user.getId());
+        hide(state, view.seqs(), current);
+        stateRepository.save(state);
+    }
+
+    /**
+     * Mark broadcasts as dismissed, then advance the watermark over the leading
+     * run of numbers that are dismissed or no longer exist. Undismissed
+     * broadcasts for another audience are not passed over, so they show up if
+     * the user's role changes to it; the bitmap is capped at
+     * {@link #MAX_DISMISSED_BITS} instead. Creation holds the counter row lock
+     * until commit, so broadcasts commit in sequence order and a number at or
+     * below the snapshot's highest that is missing from it was deleted or
+     * rolled back, never still in flight.
+     */
+    private static void hide(BroadcastInboxState state, Collection<Long> seqs, Snapshot current) {
+        long watermark = state.getWatermark();
+        BitSet bits = state.dismissedBits();
+        for (long seq : seqs) {
+            if (seq > watermark) {
+                bits.set((int) (seq - watermark - 1));
+            }
+        }
+
+        int shift = 0;
+        while (bits.get(shift) || isGone(watermark + 1 + shift, current)) {
+            shift++;
+        }
+        shift = Math.max(shift, bits.length() - MAX_DISMISSED_BITS);
+        if (shift > 0) {
+            bits = bits.get(shift, Math.max(shift, bits.length()));
+            state.setWatermark(watermark + shift);
+        }
+        state.setDismissed(bits.isEmpty() ? null : bits.toByteArray());
+    }
+
+    private static boolean isGone(long seq, Snapshot current) {
+        return seq <= current.maxSeq() && !current.activeSeqs().contains(seq);
+    }
+
+    private BroadcastInboxState loadForUpdate(UUID userId) {
+        stateRepository.createIfAbsent(userId);
+        return stateRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Broadcast inbox state missing for " + userId));
+    }
+
+    private static String normalizeRole(User user) {
+        return user.getRole() != null ? user.getRole().trim().toUpperCase() : null;
+    }
+}
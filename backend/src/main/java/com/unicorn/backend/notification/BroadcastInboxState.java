@@ -0,0 +1,65 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.UUID;
+
+/**
+ * Per-user broadcast inbox state: every broadcast with a sequence number at or
+ * below {@code watermark} is hidden, and bit {@code i} of {@code dismissed}
+ * hides broadcast {@code watermark + 1 + i}. One small row per user replaces a
+ * dismissal row per user and broadcast.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "broadcast_inbox_state")
+public class BroadcastInboxState {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private long watermark = 0;
+
+    /**
+     * {@link BitSet#toByteArray()} of dismissals above the watermark.
+     */
+    @Column(name = "dismissed")
+    private byte[] dismissed;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public boolean isHidden(long seq) {
+        return isHidden(seq, dismissedBits());
+    }
+
+    /**
+     * Check a sequence number against an already decoded {@link #dismissedBits()},
+     * for callers testing many numbers at once.
+     */
+    public boolean isHidden(long seq, BitSet dismissedBits) {
+        if (seq <= watermark) {
+            return true;
+        }
+        long offset = seq - watermark - 1;
+        return offset < Integer.MAX_VALUE && dismissedBits.get((int) offset);
+    }
+
+    public BitSet dismissedBits() {
+        return dismissed != null ? BitSet.valueOf(dismissed) : new BitSet();
+    }
+}
@@ -0,0 +1,36 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for per-user broadcast inbox state.
+ */
+@Repository
+public interface BroadcastInboxStateRepository extends JpaRepository<BroadcastInboxState, UUID> {
+
+    /**
+     * Create an empty state row for the user unless one exists, so concurrent
+     * first dismissals both find a row to lock instead of racing to insert it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_inbox_state (user_id, watermark, updated_at) VALUES (:userId, 0, NOW()) " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int createIfAbsent(@Param("userId") UUID userId);
+
+    /**
+     * Load a user's state for update, so concurrent dismissals from several
+     * devices don't overwrite each other's bits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BroadcastInboxState s WHERE s.userId = :userId")
+    Optional<BroadcastInboxState> findForUpdate(@Param("userId") UUID userId);
+}
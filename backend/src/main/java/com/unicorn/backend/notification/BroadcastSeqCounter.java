@@ -0,0 +1,29 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter holding the last broadcast sequence number handed out.
+ * Incremented atomically by {@link BroadcastSeqCounterRepository#next()}, so
+ * broadcasts created concurrently on several nodes get distinct numbers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "broadcast_seq_counter")
+public class BroadcastSeqCounter {
+
+    public static final int ID = 1;
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long value;
+}
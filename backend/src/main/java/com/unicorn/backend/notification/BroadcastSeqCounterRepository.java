@@ -0,0 +1,23 @@
+package com.unicorn.backend.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the broadcast sequence counter.
+ */
+@Repository
+public interface BroadcastSeqCounterRepository extends JpaRepository<BroadcastSeqCounter, Integer> {
+
+    /**
+     * Take the next broadcast sequence number. The counter row is created on
+     * first use, starting after the highest number already assigned; afterwards
+     * it is incremented under its row lock until the transaction ends.
+     */
+    @Query(value = "INSERT INTO broadcast_seq_counter (id, value) " +
+            "SELECT 1, COALESCE(MAX(broadcast_seq), 0) + 1 FROM notifications WHERE broadcast = true " +
+            "ON CONFLICT (id) DO UPDATE SET value = broadcast_seq_counter.value + 1 " +
+            "RETURNING value", nativeQuery = true)
+    long next();
+}
@@ -50,7 +50,8 @@ public class Notification {
     private String message;
 
     /**
-     * JSON string containing flexible metadata.
+     * JSON string containing flexible metadata. Always written by Jackson and
+     * passed through to API responses as raw JSON (see {@link NotificationDTO}).
      */
     @Column(columnDefinition = "TEXT")
     private String data;
@@ -92,4 +93,12 @@ public class Notification {
      */
     @Column(name = "target_audience", length = 30)
     private String targetAudience;
+
+    /**
+     * Dense sequence number of a broadcast, used by per-user inbox state to
+     * track dismissals as a watermark plus bitmap. NULL for individual
+     * notifications.
+     */
+    @Column(name = "broadcast_seq", unique = true)
+    private Long broadcastSeq;
 }
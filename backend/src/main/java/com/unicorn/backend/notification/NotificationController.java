@@ -1,5 +1,7 @@
 package com.unicorn.backend.notification;
 
+import com.unicorn.backend.notification.push.PushDispatchService;
+import com.unicorn.backend.notification.push.RegisterDeviceRequest;
 import com.unicorn.backend.user.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,6 +23,9 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final PushDispatchService pushDispatchService;
+    private final BroadcastInboxService broadcastInboxService;
+    private final ReadReceiptBuffer readReceiptBuffer;
 
     /**
      * Get paginated notifications for the authenticated user.
@@ -77,6 +82,27 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Submit a batch of read receipts. Receipts are applied asynchronously and
+     * the new unread count is pushed to /user/queue/notifications/unread.
+     *
+     * @param user    Current authenticated user
+     * @param request Notification IDs and/or an upTo watermark
+     * @return Accepted status
+     */
+    @PostMapping("/read-receipts")
+    public ResponseEntity<Map<String, Object>> submitReadReceipts(
+            @AuthenticationPrincipal User user,
+            @RequestBody ReadReceiptRequest request) {
+        try {
+            request.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+        readReceiptBuffer.submit(user.getId(), user.getUsername(), request.ids(), request.upTo());
+        return ResponseEntity.accepted().body(Map.of("success", true));
+    }
+
     /**
      * Mark all notifications as read for the authenticated user.
      *
@@ -91,4 +117,82 @@ public class NotificationController {
                 "message", "All notifications marked as read",
                 "count", count));
     }
+
+    /**
+     * Get broadcast announcements visible to the authenticated user.
+     *
+     * @param user Current authenticated user
+     * @return Broadcasts not yet dismissed, newest first
+     */
+    @GetMapping("/broadcasts")
+    public ResponseEntity<List<NotificationDTO>> getBroadcasts(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(broadcastInboxService.getVisibleBroadcasts(user));
+    }
+
+    /**
+     * Dismiss a broadcast announcement.
+     *
+     * @param user           Current authenticated user
+     * @param notificationId ID of the broadcast
+     * @return Success status
+     */
+    @PostMapping("/broadcasts/{notificationId}/dismiss")
+    public ResponseEntity<Map<String, Object>> dismissBroadcast(
+            @AuthenticationPrincipal User user,
+            @PathVariable UUID notificationId) {
+        if (broadcastInboxService.dismiss(user, notificationId)) {
+            return ResponseEntity.ok(Map.of("success", true, "message", "Broadcast dismissed"));
+        }
+        return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "Broadcast not found or access denied"));
+    }
+
+    /**
+     * Dismiss all broadcast announcements.
+     *
+     * @param user Current authenticated user
+     */
+    @PostMapping("/broadcasts/dismiss-all")
+    public ResponseEntity<Map<String, Object>> dismissAllBroadcasts(@AuthenticationPrincipal User user) {
+        broadcastInboxService.dismissAll(user);
+        return ResponseEntity.ok(Map.of("success", true, "message", "All broadcasts dismissed"));
+    }
+
+    /**
+     * Register the push token of the current device.
+     *
+     * @param user    Current authenticated user
+     * @param request Token and platform
+     */
+    @PostMapping("/devices")
+    public ResponseEntity<Map<String, Object>> registerDevice(
+            @AuthenticationPrincipal User user,
+            @RequestBody RegisterDeviceRequest request) {
+        try {
+            request.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+        pushDispatchService.registerToken(user.getId(), request.token(), request.platform());
+        return ResponseEntity.ok(Map.of("success", true, "message", "Device registered"));
+    }
+
+    /**
+     * Remove a push token (e.g. on logout).
+     *
+     * @param user    Current authenticated user
+     * @param request Token to remove
+     */
+    @DeleteMapping("/devices")
+    public ResponseEntity<Map<String, Object>> unregisterDevice(
+            @AuthenticationPrincipal User user,
+            @RequestBody RegisterDeviceRequest request) {
+        try {
+            request.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+        boolean removed = pushDispatchService.unregisterToken(user.getId(), request.token());
+        return ResponseEntity.ok(Map.of("success", removed));
+    }
 }
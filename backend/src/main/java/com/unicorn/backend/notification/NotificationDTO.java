@@ -1,7 +1,8 @@
 package com.unicorn.backend.notification;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -13,7 +14,8 @@ public record NotificationDTO(
         String type,
         String title,
         String message,
-        Map<String, Object> data,
+        // Stored JSON, written to the response as-is
+        @JsonRawValue String data,
         boolean read,
         LocalDateTime createdAt,
         // Actor information (who triggered the notification)
@@ -28,9 +30,10 @@ public record NotificationDTO(
         String recipientEmail,
         String recipientName) {
     /**
-     * Create a NotificationDTO from a Notification entity.
+     * Create a NotificationDTO from a Notification entity. The stored data JSON
+     * is passed through without being parsed.
      */
-    public static NotificationDTO from(Notification notification, Map<String, Object> parsedData) {
+    public static NotificationDTO from(Notification notification) {
         String recipientEmail = null;
         String recipientName = null;
         UUID recipientId = null;
@@ -48,7 +51,7 @@ public record NotificationDTO(
                 notification.getType().name(),
                 notification.getTitle(),
                 notification.getMessage(),
-                parsedData,
+                notification.getData() != null && !notification.getData().isBlank() ? notification.getData() : "{}",
                 notification.isRead(),
                 notification.getCreatedAt(),
                 notification.getActor() != null ? notification.getActor().getId() : null,
@@ -0,0 +1,38 @@
+package com.unicorn.backend.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for queued notification deliveries.
+ */
+@Repository
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, UUID> {
+
+    /**
+     * Lock a batch of due deliveries. Rows locked by another node are skipped,
+     * so several dispatchers can drain the outbox concurrently.
+     */
+    @Query(value = "SELECT * FROM notification_deliveries WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationDelivery> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Delete a chunk of finished deliveries created before the cutoff.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notification_deliveries WHERE id IN (SELECT id FROM notification_deliveries " +
+            "WHERE status <> 'PENDING' AND created_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    long countByStatus(NotificationDeliveryStatus status);
+
+    long countByChannelAndStatus(NotificationChannel channel, NotificationDeliveryStatus status);
+}
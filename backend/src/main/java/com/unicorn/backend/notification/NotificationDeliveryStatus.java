@@ -0,0 +1,26 @@
+package com.unicorn.backend.notification;
+
+/**
+ * Lifecycle of a queued notification delivery.
+ */
+public enum NotificationDeliveryStatus {
+    /**
+     * Waiting for (or between) delivery attempts.
+     */
+    PENDING,
+
+    /**
+     * Delivered through its channel.
+     */
+    SENT,
+
+    /**
+     * Nothing to deliver (e.g. no push token registered).
+     */
+    SKIPPED,
+
+    /**
+     * Retries exhausted; kept for inspection.
+     */
+    DEAD
+}
@@ -0,0 +1,270 @@
+package com.unicorn.backend.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicorn.backend.user.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification delivery outbox.
+ * A drain is requested after each committing transaction that queued
+ * deliveries, and by a periodic poll that picks up retries and work left by
+ * other nodes. Each channel has its own bounded worker pool so a slow push
+ * provider cannot starve WebSocket delivery. Failed deliveries are retried with
+ * exponential backoff and dead-lettered once retries are exhausted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationDispatcher {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final int CLAIM_LEASE_SECONDS = 120;
+    private static final long BASE_BACKOFF_SECONDS = 15;
+    private static final long MAX_BACKOFF_SECONDS = 1800;
+    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
+
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PushNotificationService pushNotificationService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.dispatch.in-app.concurrency:4}")
+    private int inAppConcurrency;
+
+    @Value("${notification.dispatch.push.concurrency:2}")
+    private int pushConcurrency;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    private ExecutorService drainExecutor;
+    private final Map<NotificationChannel, ExecutorService> channelExecutors = new EnumMap<>(NotificationChannel.class);
+
+    @PostConstruct
+    void start() {
+        drainExecutor = Executors.newSingleThreadExecutor(namedThreads("notification-drain"));
+        channelExecutors.put(NotificationChannel.IN_APP,
+                Executors.newFixedThreadPool(inAppConcurrency, namedThreads("notification-in-app")));
+        channelExecutors.put(NotificationChannel.PUSH,
+                Executors.newFixedThreadPool(pushConcurrency, namedThreads("notification-push")));
+    }
+
+    @PreDestroy
+    void stop() {
+        drainExecutor.shutdown();
+        channelExecutors.values().forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * Ask for the outbox to be drained. Returns immediately; if a drain is
+     * already running it makes another pass before stopping.
+     */
+    public void requestDrain() {
+        if (!enabled) {
+            return;
+        }
+
+        drainRequested.set(true);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                drainExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Pick up retries and deliveries queued on other nodes (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${notification.dispatch.poll.interval:1000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    private void drain() {
+        try {
+            while (drainRequested.getAndSet(false)) {
+                List<NotificationDelivery> batch;
+                do {
+                    batch = claimBatch();
+                    dispatchBatch(batch);
+                } while (batch.size() == BATCH_SIZE);
+            }
+        } catch (Exception e) {
+            log.error("Notification outbox drain failed: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private List<NotificationDelivery> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationDelivery> due = deliveryRepository.lockDueBatch(now, BATCH_SIZE);
+            LocalDateTime leaseUntil = now.plusSeconds(CLAIM_LEASE_SECONDS);
+            due.forEach(delivery -> delivery.setNextAttemptAt(leaseUntil));
+            return deliveryRepository.saveAll(due);
+        });
+    }
+
+    private void dispatchBatch(List<NotificationDelivery> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<UUID> notificationIds = batch.stream().map(NotificationDelivery::getNotificationId).distinct().toList();
+        Map<UUID, Notification> notifications = notificationRepository.findAllWithRecipientByIdIn(notificationIds)
+                .stream()
+                .collect(Collectors.toMap(Notification::getId, Function.identity()));
+
+        List<Future<?>> pending = new ArrayList<>(batch.size());
+        for (NotificationDelivery delivery : batch) {
+            Notification notification = notifications.get(delivery.getNotificationId());
+            ExecutorService executor = channelExecutors.get(delivery.getChannel());
+            if (notification == null || notification.getRecipient() == null || executor == null) {
+                // Notification deleted meanwhile, or a channel we don't deliver
+                markSkipped(delivery);
+                continue;
+            }
+            pending.add(executor.submit(() -> deliver(delivery, notification)));
+        }
+
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("Notification delivery task failed: {}", e.getMessage());
+            }
+        }
+
+        try {
+            deliveryRepository.saveAll(batch);
+        } catch (Exception e) {
+            log.error("Failed to record notification delivery results: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(NotificationDelivery delivery, Notification notification) {
+        User recipient = notification.getRecipient();
+        try {
+            boolean delivered = switch (delivery.getChannel()) {
+                case IN_APP -> {
+                    messagingTemplate.convertAndSendToUser(recipient.getUsername(), WEBSOCKET_DESTINATION,
+                            NotificationDTO.from(notification));
+                    yield true;
+                }
+                case PUSH -> pushNotificationService.sendPush(recipient, notification.getType(),
+                        notification.getTitle(), notification.getMessage(), parseData(notification.getData()));
+                case EMAIL -> false;
+            };
+
+            if (delivered) {
+                delivery.setStatus(NotificationDeliveryStatus.SENT);
+                delivery.setSentAt(LocalDateTime.now());
+                delivery.setLastError(null);
+            } else {
+                markSkipped(delivery);
+            }
+        } catch (Exception e) {
+            int attempts = delivery.getAttempts() + 1;
+            delivery.setAttempts(attempts);
+            delivery.setLastError(truncate(e.getMessage()));
+
+            if (attempts >= MAX_ATTEMPTS) {
+                delivery.setStatus(NotificationDeliveryStatus.DEAD);
+                log.error("Dead-lettering {} delivery {} for user {} after {} attempts: {}",
+                        delivery.getChannel(), delivery.getId(), recipient.getId(), attempts, e.getMessage());
+            } else {
+                long backoff = Math.min(BASE_BACKOFF_SECONDS << (attempts - 1), MAX_BACKOFF_SECONDS);
+                delivery.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+                log.warn("Failed {} delivery {} (attempt {}), retrying in {}s: {}",
+                        delivery.getChannel(), delivery.getId(), attempts, backoff, e.getMessage());
+            }
+        }
+    }
+
+    private void markSkipped(NotificationDelivery delivery) {
+        delivery.setStatus(NotificationDeliveryStatus.SKIPPED);
+        delivery.setSentAt(LocalDateTime.now());
+    }
+
+    private Map<String, Object> parseData(String json) {
+        if (json == null || json.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {
+            });
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse notification data: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    /**
+     * Pending and dead-lettered delivery counts per channel.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (NotificationChannel channel : channelExecutors.keySet()) {
+            stats.put(channel.name(), Map.of(
+                    "pending", deliveryRepository.countByChannelAndStatus(channel, NotificationDeliveryStatus.PENDING),
+                    "dead", deliveryRepository.countByChannelAndStatus(channel, NotificationDeliveryStatus.DEAD)));
+        }
+        return stats;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
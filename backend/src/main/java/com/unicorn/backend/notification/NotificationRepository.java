@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,6 +24,12 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
      */
     Page<Notification> findByRecipientIdOrderByCreatedAtDesc(UUID recipientId, Pageable pageable);
 
+    /**
+     * Load notifications with their recipients (used by the delivery dispatcher).
+     */
+    @Query("SELECT n FROM Notification n LEFT JOIN FETCH n.recipient WHERE n.id IN :ids")
+    List<Notification> findAllWithRecipientByIdIn(@Param("ids") Collection<UUID> ids);
+
     /**
      * Find unread notifications for a user.
      */
@@ -40,6 +47,24 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt WHERE n.recipient.id = :recipientId AND n.read = false")
     int markAllAsRead(@Param("recipientId") UUID recipientId, @Param("readAt") LocalDateTime readAt);
 
+    /**
+     * Mark the given notifications of a user as read (set-based).
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt " +
+            "WHERE n.recipient.id = :recipientId AND n.read = false AND n.id IN :ids")
+    int markAsReadByIds(@Param("recipientId") UUID recipientId, @Param("ids") Collection<UUID> ids,
+            @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Mark all of a user's notifications created up to a point in time as read.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt " +
+            "WHERE n.recipient.id = :recipientId AND n.read = false AND n.createdAt <= :upTo")
+    int markAsReadUpTo(@Param("recipientId") UUID recipientId, @Param("upTo") LocalDateTime upTo,
+            @Param("readAt") LocalDateTime readAt);
+
     /**
      * Find notifications by type for a user.
      */
@@ -48,12 +73,51 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
             NotificationType type,
             Pageable pageable);
 
+    // ============== Retention Queries ==============
+    // Each deletes at most :limit rows so retention runs as short transactions
+
+    /**
+     * Delete a chunk of read individual notifications created before the cutoff.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE id IN (SELECT id FROM notifications " +
+            "WHERE is_broadcast = false AND is_read = true AND created_at < :cutoff LIMIT :limit)",
+            nativeQuery = true)
+    int deleteReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Delete a chunk of individual notifications (read or not) created before the cutoff.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE id IN (SELECT id FROM notifications " +
+            "WHERE is_broadcast = false AND created_at < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteAllBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
     /**
-     * Delete old read notifications (for cleanup jobs).
+     * Delete a chunk of individual notifications of one type created before the cutoff.
      */
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.read = true AND n.createdAt < :cutoffDate")
-    int deleteOldReadNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query(value = "DELETE FROM notifications WHERE id IN (SELECT id FROM notifications " +
+            "WHERE is_broadcast = false AND type = :type AND created_at < :cutoff LIMIT :limit)",
+            nativeQuery = true)
+    int deleteTypeBefore(@Param("type") String type, @Param("cutoff") LocalDateTime cutoff,
+            @Param("limit") int limit);
+
+    /**
+     * Users storing more than the given number of notifications.
+     */
+    @Query(value = "SELECT recipient_id FROM notifications WHERE recipient_id IS NOT NULL " +
+            "GROUP BY recipient_id HAVING COUNT(*) > :cap LIMIT :limit", nativeQuery = true)
+    List<UUID> findRecipientsOverCap(@Param("cap") int cap, @Param("limit") int limit);
+
+    /**
+     * Delete a chunk of a user's notifications beyond the newest :cap.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE id IN (SELECT id FROM notifications " +
+            "WHERE recipient_id = :recipientId ORDER BY created_at DESC OFFSET :cap LIMIT :limit)",
+            nativeQuery = true)
+    int deleteBeyondCap(@Param("recipientId") UUID recipientId, @Param("cap") int cap, @Param("limit") int limit);
 
     // ============== Admin Queries ==============
 
@@ -102,14 +166,16 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     // ============== Broadcast Queries ==============
 
     /**
-     * Find all broadcast notifications matching user's role.
+     * Highest broadcast sequence number assigned so far (0 if none).
+     */
+    @Query("SELECT COALESCE(MAX(n.broadcastSeq), 0) FROM Notification n WHERE n.broadcast = true")
+    long findMaxBroadcastSeq();
+
+    /**
+     * Broadcasts without a sequence number (created before numbering), oldest first.
      */
-    @Query("SELECT n FROM Notification n WHERE n.broadcast = true AND " +
-            "(n.targetAudience = 'ALL_USERS' OR n.targetAudience = :userRole) " +
-            "AND n.id NOT IN :dismissedIds ORDER BY n.createdAt DESC")
-    List<Notification> findBroadcastsForUser(
-            @Param("userRole") String userRole,
-            @Param("dismissedIds") List<UUID> dismissedIds);
+    @Query("SELECT n FROM Notification n WHERE n.broadcast = true AND n.broadcastSeq IS NULL ORDER BY n.createdAt")
+    List<Notification> findUnnumberedBroadcasts();
 
     /**
      * Find all broadcasts (admin view).
@@ -0,0 +1,183 @@
+package com.unicorn.backend.notification;
+
+import com.unicorn.backend.appconfig.AppConfigService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Notification retention.
+ * Policies are read from app config (admin-editable): read notifications and
+ * all notifications expire after a number of days, individual types can have
+ * their own limit, and each user keeps at most a fixed number of
+ * notifications. Rows are deleted in small chunks, each in its own short
+ * transaction with a pause in between, so a large cleanup never holds long
+ * locks or one huge delete. Broadcasts are not touched.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+
+    private static final String CONFIG_READ_DAYS = "notification.retention.read.days";
+    private static final String CONFIG_ALL_DAYS = "notification.retention.unread.days";
+    private static final String CONFIG_MAX_PER_USER = "notification.retention.max.per.user";
+    private static final String CONFIG_TYPE_PREFIX = "notification.retention.type.";
+    private static final int DELIVERY_RETENTION_DAYS = 7;
+    private static final int CAP_USERS_PER_PASS = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final AppConfigService appConfigService;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationStatsAggregator statsAggregator;
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.retention.pause-ms:200}")
+    private long pauseMs;
+
+    private final Map<String, LongAdder> reclaimed = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    /**
+     * Apply all retention policies (scheduled job, nightly by default).
+     */
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void runRetention() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+
+        for (NotificationType type : NotificationType.values()) {
+            int days = appConfigService.getIntValue(CONFIG_TYPE_PREFIX + type.name() + ".days", 0);
+            if (days > 0) {
+                LocalDateTime cutoff = now.minusDays(days);
+                total += deleteInChunks("type:" + type.name(),
+                        () -> notificationRepository.deleteTypeBefore(type.name(), cutoff, chunkSize));
+            }
+        }
+
+        int readDays = appConfigService.getIntValue(CONFIG_READ_DAYS, 30);
+        if (readDays > 0) {
+            total += deleteReadOlderThan(readDays);
+        }
+
+        int allDays = appConfigService.getIntValue(CONFIG_ALL_DAYS, 180);
+        if (allDays > 0) {
+            LocalDateTime cutoff = now.minusDays(allDays);
+            total += deleteInChunks("age", () -> notificationRepository.deleteAllBefore(cutoff, chunkSize));
+        }
+
+        int cap = appConfigService.getIntValue(CONFIG_MAX_PER_USER, 500);
+        if (cap > 0) {
+            total += enforcePerUserCap(cap);
+        }
+
+        LocalDateTime deliveryCutoff = now.minusDays(DELIVERY_RETENTION_DAYS);
+        deleteInChunks("deliveries", () -> deliveryRepository.deleteFinishedBefore(deliveryCutoff, chunkSize));
+
+        statsAggregator.reconcile();
+        lastRunAt = now;
+        lastRunMillis = System.currentTimeMillis() - started;
+        log.info("Notification retention reclaimed {} notifications in {} ms", total, lastRunMillis);
+    }
+
+    /**
+     * Delete read notifications older than the given number of days.
+     *
+     * @return number of notifications deleted
+     */
+    public long deleteReadOlderThan(int days) {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
+        return deleteInChunks("read", () -> notificationRepository.deleteReadBefore(cutoff, chunkSize));
+    }
+
+    /**
+     * Manual cleanup of read notifications; stats are recomputed afterwards.
+     *
+     * @return number of notifications deleted
+     */
+    public long cleanupReadOlderThan(int days) {
+        long deleted = deleteReadOlderThan(days);
+        if (deleted > 0) {
+            statsAggregator.reconcile();
+        }
+        return deleted;
+    }
+
+    private long enforcePerUserCap(int cap) {
+        long total = 0;
+        List<UUID> users;
+        do {
+            users = notificationRepository.findRecipientsOverCap(cap, CAP_USERS_PER_PASS);
+            for (UUID userId : users) {
+                total += deleteInChunks("per_user_cap",
+                        () -> notificationRepository.deleteBeyondCap(userId, cap, chunkSize));
+            }
+        } while (users.size() == CAP_USERS_PER_PASS);
+        return total;
+    }
+
+    private long deleteInChunks(String policy, IntSupplier deleteChunk) {
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+            int count = deleted != null ? deleted : 0;
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            reclaimed.computeIfAbsent(policy, k -> new LongAdder()).add(total);
+            log.debug("Retention policy {} deleted {} rows", policy, total);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Rows reclaimed per policy since startup, plus the last run.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Long> byPolicy = new TreeMap<>();
+        reclaimed.forEach((policy, count) -> byPolicy.put(policy, count.sum()));
+
+        Map<String, Object> stats = new TreeMap<>();
+        stats.put("reclaimed", byPolicy);
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+}
@@ -1,7 +1,6 @@
 package com.unicorn.backend.notification;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unicorn.backend.user.User;
 import lombok.RequiredArgsConstructor;
@@ -9,9 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -19,7 +19,8 @@ import java.util.*;
 /**
  * Central service for managing notifications across the application.
  * Handles notification creation, persistence, retrieval, and real-time
- * delivery.
+ * delivery. Channel delivery goes through an outbox drained by
+ * {@link NotificationDispatcher} after commit.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,12 +28,11 @@ import java.util.*;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final PushNotificationService pushNotificationService;
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationStatsAggregator statsAggregator;
     private final ObjectMapper objectMapper;
 
-    private static final String WEBSOCKET_DESTINATION = "/queue/notifications";
-
     /**
      * Send a notification to a user through specified channels.
      * Default channel is IN_APP only.
@@ -100,20 +100,28 @@ public class NotificationService {
                 .build();
 
         notification = notificationRepository.save(notification);
+        statsAggregator.recordCreated(type, false);
         log.debug("Notification saved: {} for user {}", type, recipient.getId());
 
-        // Create DTO for response
-        NotificationDTO dto = NotificationDTO.from(notification, data != null ? data : Map.of());
-
-        // Deliver through channels
-        if (channels.contains(NotificationChannel.IN_APP)) {
-            sendWebSocket(recipient, dto);
+        // Queue channel deliveries in the same transaction; they are sent after commit
+        List<NotificationDelivery> deliveries = new ArrayList<>();
+        for (NotificationChannel channel : channels) {
+            if (channel == NotificationChannel.IN_APP || channel == NotificationChannel.PUSH) {
+                deliveries.add(NotificationDelivery.builder()
+                        .notificationId(notification.getId())
+                        .channel(channel)
+                        .nextAttemptAt(LocalDateTime.now())
+                        .build());
+            }
         }
-
-        if (channels.contains(NotificationChannel.PUSH)) {
-            pushNotificationService.sendPush(recipient, type, title, message, data);
+        if (!deliveries.isEmpty()) {
+            deliveryRepository.saveAll(deliveries);
+            requestDispatchAfterCommit();
         }
 
+        // Create DTO for response
+        NotificationDTO dto = NotificationDTO.from(notification);
+
         return dto;
     }
 
@@ -124,7 +132,7 @@ public class NotificationService {
     public Page<NotificationDTO> getUserNotifications(UUID userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, Math.min(size, 50)); // Max 50 per page
         return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, pageable)
-                .map(this::toDTO);
+                .map(NotificationDTO::from);
     }
 
     /**
@@ -157,6 +165,7 @@ public class NotificationService {
             notification.setRead(true);
             notification.setReadAt(LocalDateTime.now());
             notificationRepository.save(notification);
+            statsAggregator.recordRead(1);
         }
         return true;
     }
@@ -166,7 +175,9 @@ public class NotificationService {
      */
     @Transactional
     public int markAllAsRead(UUID userId) {
-        return notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        statsAggregator.recordRead(updated);
+        return updated;
     }
 
     /**
@@ -176,39 +187,25 @@ public class NotificationService {
     public List<NotificationDTO> getUnreadNotifications(UUID userId) {
         return notificationRepository.findByRecipientIdAndReadFalseOrderByCreatedAtDesc(userId)
                 .stream()
-                .map(this::toDTO)
+                .map(NotificationDTO::from)
                 .toList();
     }
 
     /**
-     * Send notification via WebSocket for real-time delivery.
-     */
-    private void sendWebSocket(User recipient, NotificationDTO dto) {
-        try {
-            messagingTemplate.convertAndSendToUser(
-                    recipient.getUsername(),
-                    WEBSOCKET_DESTINATION,
-                    dto);
-            log.debug("WebSocket notification sent to user: {}", recipient.getUsername());
-        } catch (Exception e) {
-            log.error("Failed to send WebSocket notification to {}: {}", recipient.getUsername(), e.getMessage());
-        }
-    }
-
-    /**
-     * Convert notification entity to DTO.
+     * Wake the dispatcher once the surrounding transaction commits. Nothing is
+     * delivered if it rolls back.
      */
-    private NotificationDTO toDTO(Notification notification) {
-        Map<String, Object> data = Map.of();
-        if (notification.getData() != null && !notification.getData().isEmpty()) {
-            try {
-                data = objectMapper.readValue(notification.getData(), new TypeReference<>() {
-                });
-            } catch (JsonProcessingException e) {
-                log.error("Failed to parse notification data: {}", e.getMessage());
-            }
+    private void requestDispatchAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notificationDispatcher.requestDrain();
+                }
+            });
+        } else {
+            notificationDispatcher.requestDrain();
         }
-        return NotificationDTO.from(notification, data);
     }
 
     /**
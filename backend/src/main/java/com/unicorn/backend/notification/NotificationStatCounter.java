@@ -0,0 +1,35 @@
+package com.unicorn.backend.notification;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rollup row for one notification statistic (e.g. {@code total},
+ * {@code type:POST_LIKED}, {@code day:2024-05-01}). Maintained by
+ * {@link NotificationStatsAggregator}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_stats_rollup")
+public class NotificationStatCounter {
+
+    @Id
+    @Column(name = "stat_key", length = 80)
+    private String statKey;
+
+    @Column(nullable = false)
+    private long value;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.unicorn.backend.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the notification stats rollup table.
+ */
+@Repository
+public interface NotificationStatCounterRepository extends JpaRepository<NotificationStatCounter, String> {
+
+    /**
+     * Add a delta to a counter, creating it if needed. Additive so several nodes
+     * can flush concurrently.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_stats_rollup (stat_key, value, updated_at) VALUES (:key, :delta, NOW()) " +
+            "ON CONFLICT (stat_key) DO UPDATE SET value = notification_stats_rollup.value + :delta, " +
+            "updated_at = NOW()", nativeQuery = true)
+    int addDelta(@Param("key") String key, @Param("delta") long delta);
+
+    /**
+     * Overwrite a counter with a recomputed value.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_stats_rollup (stat_key, value, updated_at) VALUES (:key, :value, NOW()) " +
+            "ON CONFLICT (stat_key) DO UPDATE SET value = :value, updated_at = NOW()", nativeQuery = true)
+    int setValue(@Param("key") String key, @Param("value") long value);
+
+    @Modifying
+    @Query("DELETE FROM NotificationStatCounter c WHERE c.statKey LIKE 'day:%' AND c.statKey < :oldestKey")
+    int deleteDaysBefore(@Param("oldestKey") String oldestKey);
+}
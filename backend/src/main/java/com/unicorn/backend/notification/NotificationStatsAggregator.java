@@ -0,0 +1,206 @@
+package com.unicorn.backend.notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incrementally maintained notification statistics for the admin dashboard.
+ * Send/read/delete events update in-memory deltas after commit; deltas are
+ * flushed additively to {@code notification_stats_rollup} so every node sees
+ * the same totals, and a nightly job recomputes the counters from the
+ * notifications table to correct drift (e.g. from bulk retention deletes).
+ * Reading stats is a map lookup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationStatsAggregator {
+
+    private static final String TOTAL = "total";
+    private static final String UNREAD = "unread";
+    private static final String BROADCAST = "broadcast";
+    private static final String TYPE_PREFIX = "type:";
+    private static final String DAY_PREFIX = "day:";
+    private static final int DAYS_KEPT = 7;
+
+    private final NotificationStatCounterRepository counterRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private volatile Map<String, Long> persisted = Map.of();
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        load();
+        if (persisted.isEmpty()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Count a new notification once the surrounding transaction commits.
+     */
+    public void recordCreated(NotificationType type, boolean broadcast) {
+        afterCommit(() -> {
+            add(TOTAL, 1);
+            add(UNREAD, 1);
+            add(TYPE_PREFIX + type.name(), 1);
+            add(dayKey(LocalDate.now()), 1);
+            if (broadcast) {
+                add(BROADCAST, 1);
+            }
+        });
+    }
+
+    /**
+     * Count notifications marked as read once the surrounding transaction commits.
+     */
+    public void recordRead(long count) {
+        if (count > 0) {
+            afterCommit(() -> add(UNREAD, -count));
+        }
+    }
+
+    /**
+     * Count a deleted notification once the surrounding transaction commits.
+     */
+    public void recordDeleted(Notification notification) {
+        afterCommit(() -> {
+            add(TOTAL, -1);
+            if (!notification.isRead()) {
+                add(UNREAD, -1);
+            }
+            add(TYPE_PREFIX + notification.getType().name(), -1);
+            if (notification.getCreatedAt() != null) {
+                add(dayKey(notification.getCreatedAt().toLocalDate()), -1);
+            }
+            if (notification.isBroadcast()) {
+                add(BROADCAST, -1);
+            }
+        });
+    }
+
+    /**
+     * Current dashboard statistics.
+     */
+    public NotificationStatsDTO getStats() {
+        String topType = "NONE";
+        long topTypeCount = 0;
+        for (NotificationType type : NotificationType.values()) {
+            long count = value(TYPE_PREFIX + type.name());
+            if (count > topTypeCount) {
+                topType = type.name();
+                topTypeCount = count;
+            }
+        }
+        return NotificationStatsDTO.of(value(TOTAL), value(UNREAD), value(dayKey(LocalDate.now())), topType,
+                topTypeCount);
+    }
+
+    /**
+     * Write pending deltas to the rollup table and reload totals (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${notification.stats.flush.interval:30000}")
+    public void flush() {
+        Map<String, Long> deltas = new HashMap<>();
+        pending.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(key, delta);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        deltas.forEach(counterRepository::addDelta));
+            } catch (Exception e) {
+                // Keep the deltas for the next flush
+                deltas.forEach(this::add);
+                log.error("Failed to flush notification stats: {}", e.getMessage());
+                return;
+            }
+        }
+        load();
+    }
+
+    /**
+     * Recompute all counters from the notifications table (nightly).
+     */
+    @Scheduled(cron = "${notification.stats.reconcile.cron:0 0 4 * * *}")
+    public void reconcile() {
+        flush();
+
+        LocalDate today = LocalDate.now();
+        Map<String, Long> values = new HashMap<>();
+        values.put(TOTAL, notificationRepository.count());
+        values.put(UNREAD, notificationRepository.countByReadFalse());
+        values.put(BROADCAST, notificationRepository.countByBroadcastTrue());
+        values.put(dayKey(today), notificationRepository.countCreatedAfter(today.atStartOfDay()));
+
+        Map<NotificationType, Long> byType = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            byType.put(type, 0L);
+        }
+        List<Object[]> rows = notificationRepository.findTopNotificationTypes();
+        for (Object[] row : rows) {
+            byType.put((NotificationType) row[0], (Long) row[1]);
+        }
+        byType.forEach((type, count) -> values.put(TYPE_PREFIX + type.name(), count));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            values.forEach(counterRepository::setValue);
+            counterRepository.deleteDaysBefore(dayKey(today.minusDays(DAYS_KEPT)));
+        });
+        load();
+        log.info("Notification stats reconciled: {} total, {} unread", values.get(TOTAL), values.get(UNREAD));
+    }
+
+    private void load() {
+        Map<String, Long> values = new HashMap<>();
+        for (NotificationStatCounter counter : counterRepository.findAll()) {
+            values.put(counter.getStatKey(), counter.getValue());
+        }
+        persisted = Map.copyOf(values);
+    }
+
+    private long value(String key) {
+        LongAdder delta = pending.get(key);
+        return persisted.getOrDefault(key, 0L) + (delta != null ? delta.sum() : 0);
+    }
+
+    private void add(String key, long delta) {
+        pending.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private static String dayKey(LocalDate date) {
+        return DAY_PREFIX + date;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,12 +2,13 @@ package com.unicorn.backend.notification;
 
 import com.unicorn.backend.user.User;
 
+import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
+import java.util.UUID;
 
 /**
  * Interface for push notification service.
- * Designed for future Firebase Cloud Messaging integration.
+ * Implemented by {@link com.unicorn.backend.notification.push.PushDispatchService}.
  */
 public interface PushNotificationService {
 
@@ -23,6 +24,15 @@ public interface PushNotificationService {
      */
     boolean sendPush(User recipient, NotificationType type, String title, String message, Map<String, Object> data);
 
+    /**
+     * Send one push notification to every device of several users, batching
+     * tokens into multicast requests.
+     *
+     * @return number of devices the notification was delivered to
+     */
+    int sendPushToUsers(Collection<UUID> userIds, NotificationType type, String title, String message,
+            Map<String, Object> data);
+
     /**
      * Check if push notifications are enabled for a user.
      */
@@ -0,0 +1,119 @@
+package com.unicorn.backend.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces read receipts per user.
+ * Receipts sent while a user scrolls are merged in memory and applied
+ * together on the next flush as at most two set-based UPDATEs; the new unread
+ * count is then pushed to the user's WebSocket session so badges stay in sync
+ * across devices.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadReceiptBuffer {
+
+    private static final String UNREAD_DESTINATION = "/queue/notifications/unread";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationStatsAggregator statsAggregator;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final class PendingReceipts {
+        private final String principal;
+        private final Set<UUID> ids = new HashSet<>();
+        private LocalDateTime upTo;
+
+        private PendingReceipts(String principal) {
+            this.principal = principal;
+        }
+    }
+
+    private final Map<UUID, PendingReceipts> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * Buffer read receipts for a user.
+     *
+     * @param principal WebSocket user name for the badge update
+     * @param ids       notification IDs read (may be null)
+     * @param upTo      mark everything created up to this time as read (may be null)
+     */
+    public void submit(UUID userId, String principal, Collection<UUID> ids, LocalDateTime upTo) {
+        buffers.compute(userId, (key, pending) -> {
+            if (pending == null) {
+                pending = new PendingReceipts(principal);
+            }
+            if (ids != null) {
+                pending.ids.addAll(ids);
+            }
+            if (upTo != null && (pending.upTo == null || upTo.isAfter(pending.upTo))) {
+                pending.upTo = upTo;
+            }
+            return pending;
+        });
+    }
+
+    /**
+     * Apply buffered receipts (scheduled job).
+     */
+    @Scheduled(fixedDelayString = "${notification.read-receipts.flush.interval:500}")
+    public void flush() {
+        for (UUID userId : buffers.keySet()) {
+            PendingReceipts pending = buffers.remove(userId);
+            if (pending != null) {
+                try {
+                    apply(userId, pending);
+                } catch (Exception e) {
+                    log.error("Failed to apply read receipts for user {}: {}", userId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void drainOnShutdown() {
+        flush();
+    }
+
+    private void apply(UUID userId, PendingReceipts pending) {
+        Integer result = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int count = 0;
+            if (pending.upTo != null) {
+                count += notificationRepository.markAsReadUpTo(userId, pending.upTo, now);
+            }
+            if (!pending.ids.isEmpty()) {
+                count += notificationRepository.markAsReadByIds(userId, pending.ids, now);
+            }
+            statsAggregator.recordRead(count);
+            return count;
+        });
+
+        int updated = result != null ? result : 0;
+        if (updated > 0) {
+            long unread = notificationRepository.countByRecipientIdAndReadFalse(userId);
+            try {
+                messagingTemplate.convertAndSendToUser(pending.principal, UNREAD_DESTINATION,
+                        Map.of("unreadCount", unread, "delta", -updated));
+            } catch (Exception e) {
+                log.debug("Failed to push unread badge to {}: {}", pending.principal, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.unicorn.backend.notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for a batch of read receipts: explicit notification IDs and/or a
+ * watermark marking everything created up to that time as read.
+ */
+public record ReadReceiptRequest(List<UUID> ids, LocalDateTime upTo) {
+
+    public static final int MAX_IDS = 500;
+
+    /**
+     * Validate the request.
+     */
+    public void validate() {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        if (!hasIds && upTo == null) {
+            throw new IllegalArgumentException("Either ids or upTo is required");
+        }
+        if (hasIds && ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids per request");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.unicorn.backend.notification.push;
+
+/**
+ * Platform a push token was registered from.
+ */
+public enum DevicePlatform {
+    ANDROID,
+    IOS,
+    WEB
+}
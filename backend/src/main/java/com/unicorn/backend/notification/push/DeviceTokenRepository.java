@@ -0,0 +1,37 @@
+package com.unicorn.backend.notification.push;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for registered push tokens.
+ */
+@Repository
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, UUID> {
+
+    Optional<DeviceToken> findByToken(String token);
+
+    boolean existsByUserId(UUID userId);
+
+    /**
+     * Token strings for a set of users (multicast targets).
+     */
+    @Query("SELECT d.token FROM DeviceToken d WHERE d.userId IN :userIds")
+    List<String> findTokensByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query("DELETE FROM DeviceToken d WHERE d.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+
+    @Modifying
+    @Query("DELETE FROM DeviceToken d WHERE d.userId = :userId AND d.token = :token")
+    int deleteByUserIdAndToken(@Param("userId") UUID userId, @Param("token") String token);
+}
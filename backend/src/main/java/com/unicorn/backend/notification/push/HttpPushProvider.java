@@ -0,0 +1,112 @@
+package com.unicorn.backend.notification.push;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Push provider speaking a simple JSON multicast protocol over HTTP.
+ * Request: {@code {"tokens": [...], "notification": {"title", "body"}, "data": {...}}}.
+ * Response: {@code {"results": [{"token", "status": "OK" | "INVALID" | "UNAVAILABLE"}]}}.
+ * A single {@link HttpClient} is shared so connections are kept alive between
+ * batches. {@link LocalPushServer} implements the same protocol for local runs.
+ */
+@Slf4j
+@Component
+public class HttpPushProvider implements PushProvider {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String apiKey;
+    private final Duration requestTimeout;
+
+    public HttpPushProvider(
+            ObjectMapper objectMapper,
+            @Value("${push.provider.url:}") String url,
+            @Value("${push.provider.api-key:}") String apiKey,
+            @Value("${push.provider.timeout-ms:10000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.endpoint = url.isBlank() ? null : URI.create(url);
+        this.apiKey = apiKey;
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return endpoint != null;
+    }
+
+    @Override
+    public PushBatchResult sendMulticast(List<String> tokens, PushMessage message) {
+        try {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("tokens", tokens);
+            body.put("notification", Map.of("title", message.title(), "body", message.body()));
+            body.put("data", message.data());
+
+            HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            if (!apiKey.isBlank()) {
+                request.header("Authorization", "Bearer " + apiKey);
+            }
+
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                log.warn("Push provider returned HTTP {} for batch of {}", response.statusCode(), tokens.size());
+                return PushBatchResult.allRetryable(tokens);
+            }
+            return parseResults(tokens, objectMapper.readTree(response.body()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PushBatchResult.allRetryable(tokens);
+        } catch (Exception e) {
+            log.warn("Push batch of {} failed: {}", tokens.size(), e.getMessage());
+            return PushBatchResult.allRetryable(tokens);
+        }
+    }
+
+    private PushBatchResult parseResults(List<String> tokens, JsonNode root) {
+        int success = 0;
+        List<String> invalid = new ArrayList<>();
+        List<String> retryable = new ArrayList<>();
+        Set<String> answered = new HashSet<>();
+
+        for (JsonNode result : root.path("results")) {
+            String token = result.path("token").asText();
+            answered.add(token);
+            switch (result.path("status").asText()) {
+                case "OK" -> success++;
+                case "INVALID" -> invalid.add(token);
+                default -> retryable.add(token);
+            }
+        }
+        // Tokens the provider didn't report on are retried
+        for (String token : tokens) {
+            if (!answered.contains(token)) {
+                retryable.add(token);
+            }
+        }
+        return new PushBatchResult(success, invalid, retryable);
+    }
+}
@@ -0,0 +1,116 @@
+package com.unicorn.backend.notification.push;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for a push provider, for development and load testing.
+ * Implements the {@link HttpPushProvider} protocol on a loopback port and
+ * accepts every token except those starting with {@code invalid}, which it
+ * reports as INVALID. Enable with {@code push.local-server.enabled=true} and
+ * point {@code push.provider.url} at {@code http://localhost:<port>/v1/send}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "push.local-server.enabled", havingValue = "true")
+public class LocalPushServer {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${push.local-server.port:8089}")
+    private int port;
+
+    @Value("${push.local-server.latency-ms:0}")
+    private long latencyMs;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/v1/send", this::handleSend);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Local push server listening on port {}", port);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handleSend(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            JsonNode request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = objectMapper.readTree(in);
+            }
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            List<Map<String, String>> results = new ArrayList<>();
+            for (JsonNode token : request.path("tokens")) {
+                String value = token.asText();
+                boolean invalid = value.startsWith("invalid");
+                results.add(Map.of("token", value, "status", invalid ? "INVALID" : "OK"));
+                if (!invalid) {
+                    delivered.increment();
+                }
+            }
+            requests.increment();
+
+            byte[] body = objectMapper.writeValueAsBytes(Map.of("results", results));
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Requests and delivered tokens seen since startup.
+     */
+    public Map<String, Long> getStats() {
+        return Map.of("requests", requests.sum(), "delivered", delivered.sum());
+    }
+}
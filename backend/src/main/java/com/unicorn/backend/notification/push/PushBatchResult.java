@@ -0,0 +1,17 @@
+package com.unicorn.backend.notification.push;
+
+import java.util.List;
+
+/**
+ * Outcome of one multicast request.
+ *
+ * @param successCount    tokens the provider accepted
+ * @param invalidTokens   tokens the provider rejected permanently (to be pruned)
+ * @param retryableTokens tokens that failed transiently and may be retried
+ */
+public record PushBatchResult(int successCount, List<String> invalidTokens, List<String> retryableTokens) {
+
+    public static PushBatchResult allRetryable(List<String> tokens) {
+        return new PushBatchResult(0, List.of(), List.copyOf(tokens));
+    }
+}
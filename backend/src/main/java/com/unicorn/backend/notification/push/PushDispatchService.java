@@ -0,0 +1,234 @@
+package com.unicorn.backend.notification.push;
+
+import com.unicorn.backend.notification.NotificationType;
+import com.unicorn.backend.notification.PushNotificationService;
+import com.unicorn.backend.user.User;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Push delivery through a multicast {@link PushProvider}.
+ * Tokens are looked up from the device registry, split into batches of up to
+ * {@code push.multicast.batch-size} and sent on a bounded worker pool.
+ * Transient failures are retried with exponential backoff; tokens the provider
+ * rejects are pruned from the registry.
+ */
+@Slf4j
+@Service
+public class PushDispatchService implements PushNotificationService {
+
+    private final PushProvider pushProvider;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService senders;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder prunedCount = new LongAdder();
+
+    public PushDispatchService(
+            PushProvider pushProvider,
+            DeviceTokenRepository deviceTokenRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${push.multicast.batch-size:500}") int batchSize,
+            @Value("${push.max-concurrency:4}") int maxConcurrency,
+            @Value("${push.retry.max-attempts:3}") int maxAttempts,
+            @Value("${push.retry.base-backoff-ms:500}") long baseBackoffMs) {
+        this.pushProvider = pushProvider;
+        this.deviceTokenRepository = deviceTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "push-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        senders.shutdown();
+    }
+
+    private record BatchOutcome(int success, List<String> invalid, int failed) {
+    }
+
+    @Override
+    public boolean sendPush(User recipient, NotificationType type, String title, String message,
+            Map<String, Object> data) {
+        return sendPushToUsers(List.of(recipient.getId()), type, title, message, data) > 0;
+    }
+
+    /**
+     * Send one message to every registered device of the given users.
+     *
+     * @return number of devices the provider accepted
+     * @throws IllegalStateException if devices exist but none could be reached,
+     *                               so the caller's outbox retries later
+     */
+    @Override
+    public int sendPushToUsers(Collection<UUID> userIds, NotificationType type, String title, String message,
+            Map<String, Object> data) {
+        if (!pushProvider.isConfigured() || userIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> tokens = deviceTokenRepository.findTokensByUserIdIn(userIds);
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+
+        PushMessage pushMessage = new PushMessage(title, message, toStringData(type, data));
+        List<List<String>> batches = new ArrayList<>();
+        List<Future<BatchOutcome>> futures = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += batchSize) {
+            List<String> batch = tokens.subList(from, Math.min(from + batchSize, tokens.size()));
+            batches.add(batch);
+            futures.add(senders.submit(() -> sendWithRetry(batch, pushMessage)));
+        }
+
+        int success = 0;
+        int failed = 0;
+        List<String> invalid = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                BatchOutcome outcome = futures.get(i).get();
+                success += outcome.success();
+                failed += outcome.failed();
+                invalid.addAll(outcome.invalid());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending push batches", e);
+            } catch (ExecutionException e) {
+                // Provider errors are retried per attempt inside the batch, so this is
+                // an unexpected error before any result was counted
+                log.error("Push batch failed: {}", e.getCause().getMessage());
+                failed += batches.get(i).size();
+            }
+        }
+
+        pruneTokens(invalid);
+        sentCount.add(success);
+        failedCount.add(failed);
+
+        if (success == 0 && failed > 0) {
+            throw new IllegalStateException("Push delivery failed for " + failed + " device(s)");
+        }
+        return success;
+    }
+
+    private BatchOutcome sendWithRetry(List<String> tokens, PushMessage message) throws InterruptedException {
+        int success = 0;
+        List<String> invalid = new ArrayList<>();
+        List<String> remaining = tokens;
+
+        for (int attempt = 1; attempt <= maxAttempts && !remaining.isEmpty(); attempt++) {
+            if (attempt > 1) {
+                long backoff = baseBackoffMs << (attempt - 2);
+                Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            }
+            PushBatchResult result;
+            try {
+                result = pushProvider.sendMulticast(remaining, message);
+            } catch (RuntimeException e) {
+                // Keep what earlier attempts delivered and retry the rest
+                log.warn("Push attempt {} failed: {}", attempt, e.getMessage());
+                result = PushBatchResult.allRetryable(remaining);
+            }
+            success += result.successCount();
+            invalid.addAll(result.invalidTokens());
+            remaining = result.retryableTokens();
+        }
+        return new BatchOutcome(success, invalid, remaining.size());
+    }
+
+    private void pruneTokens(List<String> invalid) {
+        if (invalid.isEmpty()) {
+            return;
+        }
+        try {
+            Integer removed = transactionTemplate.execute(status -> deviceTokenRepository.deleteByTokenIn(invalid));
+            prunedCount.add(removed != null ? removed : 0);
+            log.info("Pruned {} invalid push tokens", removed);
+        } catch (Exception e) {
+            log.error("Failed to prune invalid push tokens: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, String> toStringData(NotificationType type, Map<String, Object> data) {
+        Map<String, String> result = new HashMap<>();
+        if (data != null) {
+            data.forEach((key, value) -> {
+                if (value != null) {
+                    result.put(key, String.valueOf(value));
+                }
+            });
+        }
+        result.put("type", type.name());
+        return result;
+    }
+
+    @Override
+    public boolean isPushEnabled(User user) {
+        return pushProvider.isConfigured() && deviceTokenRepository.existsByUserId(user.getId());
+    }
+
+    /**
+     * Register (or refresh) a device token for a user. A token that moved to a
+     * different account is reassigned.
+     */
+    @Transactional
+    public void registerToken(UUID userId, String token, DevicePlatform platform) {
+        DeviceToken deviceToken = deviceTokenRepository.findByToken(token)
+                .orElseGet(() -> DeviceToken.builder().token(token).build());
+        deviceToken.setUserId(userId);
+        deviceToken.setPlatform(platform != null ? platform : DevicePlatform.ANDROID);
+        deviceToken.setLastSeenAt(LocalDateTime.now());
+        deviceTokenRepository.save(deviceToken);
+    }
+
+    /**
+     * Remove a device token (e.g. on logout).
+     */
+    @Transactional
+    public boolean unregisterToken(UUID userId, String token) {
+        return deviceTokenRepository.deleteByUserIdAndToken(userId, token) > 0;
+    }
+
+    /**
+     * Delivery counters since startup.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "configured", pushProvider.isConfigured(),
+                "sent", sentCount.sum(),
+                "failed", failedCount.sum(),
+                "pruned", prunedCount.sum());
+    }
+}
@@ -0,0 +1,9 @@
+package com.unicorn.backend.notification.push;
+
+import java.util.Map;
+
+/**
+ * Provider-agnostic push payload shared by every token in a multicast.
+ */
+public record PushMessage(String title, String body, Map<String, String> data) {
+}
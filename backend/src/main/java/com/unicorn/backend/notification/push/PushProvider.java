@@ -0,0 +1,20 @@
+package com.unicorn.backend.notification.push;
+
+import java.util.List;
+
+/**
+ * Transport to a push provider that accepts one message for many tokens.
+ */
+public interface PushProvider {
+
+    /**
+     * Whether the provider is configured; pushes are skipped otherwise.
+     */
+    boolean isConfigured();
+
+    /**
+     * Send one message to a batch of tokens. Transport failures are reported as
+     * retryable tokens rather than thrown.
+     */
+    PushBatchResult sendMulticast(List<String> tokens, PushMessage message);
+}
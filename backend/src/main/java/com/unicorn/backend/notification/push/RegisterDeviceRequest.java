@@ -0,0 +1,19 @@
+package com.unicorn.backend.notification.push;
+
+/**
+ * Request DTO for registering or removing a device push token.
+ */
+public record RegisterDeviceRequest(String token, DevicePlatform platform) {
+
+    /**
+     * Validate the request.
+     */
+    public void validate() {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Token is required");
+        }
+        if (token.length() > 512) {
+            throw new IllegalArgumentException("Token is too long");
+        }
+    }
+}
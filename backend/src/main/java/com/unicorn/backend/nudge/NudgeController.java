@@ -1,5 +1,6 @@
 package com.unicorn.backend.nudge;
 
+import com.unicorn.backend.ratelimit.RateLimited;
 import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +42,7 @@ public class NudgeController {
      * POST /api/v1/nudges/send/{investorId}
      */
     @PostMapping("/send/{investorId}")
+    @RateLimited(name = "nudge.send", capacity = 5, perMinute = 10)
     public ResponseEntity<NudgeResponse> sendNudge(
             @PathVariable UUID investorId,
             @RequestParam UUID startupId,
@@ -6,7 +6,6 @@ import com.unicorn.backend.notification.NotificationService;
 import com.unicorn.backend.notification.NotificationType;
 import com.unicorn.backend.startup.Startup;
 import com.unicorn.backend.startup.StartupRepository;
-import com.unicorn.backend.subscription.Subscription;
 import com.unicorn.backend.subscription.SubscriptionPlan;
 import com.unicorn.backend.subscription.SubscriptionService;
 import com.unicorn.backend.user.User;
@@ -40,12 +39,6 @@ public class NudgeService {
     private final AppConfigService appConfigService;
     private final NotificationService notificationService;
 
-    // Default config values
-    private static final int DEFAULT_FREE_MONTHLY_LIMIT = 4;
-    private static final int DEFAULT_PRO_MONTHLY_LIMIT = 12;
-    private static final int DEFAULT_PRO_COOLDOWN_DAYS = 5;
-    private static final int DEFAULT_ELITE_COOLDOWN_DAYS = 3;
-
     /**
      * Check if a sender can nudge a receiver based on plan limits.
      */
@@ -79,8 +72,7 @@ public class NudgeService {
 
             case PRO:
                 // PRO: Cooldown of X days per investor
-                int proCooldownDays = appConfigService.getIntValue("nudge.cooldown.pro.days",
-                        DEFAULT_PRO_COOLDOWN_DAYS);
+                int proCooldownDays = appConfigService.getSnapshot().nudge().proCooldownDays();
                 Optional<LocalDateTime> proCooldownEnds = checkCooldown(sender, receiver, proCooldownDays);
                 if (proCooldownEnds.isPresent()) {
                     return NudgeAvailabilityResponse.denied(
@@ -92,8 +84,7 @@ public class NudgeService {
 
             case ELITE:
                 // ELITE: Cooldown of X days per investor (no monthly limit)
-                int eliteCooldownDays = appConfigService.getIntValue("nudge.cooldown.elite.days",
-                        DEFAULT_ELITE_COOLDOWN_DAYS);
+                int eliteCooldownDays = appConfigService.getSnapshot().nudge().eliteCooldownDays();
                 Optional<LocalDateTime> eliteCooldownEnds = checkCooldown(sender, receiver, eliteCooldownDays);
                 if (eliteCooldownEnds.isPresent()) {
                     return NudgeAvailabilityResponse.denied(
@@ -218,8 +209,7 @@ public class NudgeService {
      * Get user's current subscription plan.
      */
     private SubscriptionPlan getUserPlan(User user) {
-        Subscription active = subscriptionService.getActiveSubscription(user.getId());
-        return active != null ? active.getPlanType() : SubscriptionPlan.FREE;
+        return subscriptionService.getActivePlan(user.getId());
     }
 
     /**
@@ -227,8 +217,8 @@ public class NudgeService {
      */
     private int getMonthlyLimit(SubscriptionPlan plan) {
         return switch (plan) {
-            case FREE -> appConfigService.getIntValue("nudge.limit.free.monthly", DEFAULT_FREE_MONTHLY_LIMIT);
-            case PRO -> appConfigService.getIntValue("nudge.limit.pro.monthly", DEFAULT_PRO_MONTHLY_LIMIT);
+            case FREE -> appConfigService.getSnapshot().nudge().freeMonthlyLimit();
+            case PRO -> appConfigService.getSnapshot().nudge().proMonthlyLimit();
             case ELITE -> Integer.MAX_VALUE; // Unlimited
         };
     }
@@ -0,0 +1,18 @@
+package com.unicorn.backend.payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat payment row for admin exports (read without loading entities).
+ */
+public record PaymentExportRow(
+        String transactionId,
+        String userEmail,
+        BigDecimal amount,
+        String currency,
+        PaymentStatus status,
+        String description,
+        String paymentMethod,
+        LocalDateTime timestamp) {
+}
@@ -1,9 +1,14 @@
 package com.unicorn.backend.payment;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +16,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Payment entity operations.
@@ -18,6 +24,14 @@ import java.util.UUID;
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, String> {
 
+        /**
+         * Load a payment for update, so concurrent status changes are applied one
+         * after another and revenue is adjusted once per transition.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT p FROM Payment p WHERE p.transactionId = :transactionId")
+        java.util.Optional<Payment> findForUpdate(@Param("transactionId") String transactionId);
+
         /**
          * Find all payments for a user ordered by timestamp descending.
          */
@@ -50,32 +64,6 @@ public interface PaymentRepository extends JpaRepository<Payment, String> {
                         @Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate);
 
-        /**
-         * Get total revenue for a period grouped by currency (completed payments only).
-         */
-        @Query("SELECT p.currency, COALESCE(SUM(p.amount), 0) FROM Payment p " +
-                        "WHERE p.status = 'COMPLETED' AND p.timestamp BETWEEN :startDate AND :endDate " +
-                        "GROUP BY p.currency")
-        List<Object[]> getTotalRevenueForPeriodByCurrency(
-                        @Param("startDate") LocalDateTime startDate,
-                        @Param("endDate") LocalDateTime endDate);
-
-        /**
-         * Get monthly revenue data for charts.
-         */
-        /**
-         * Get monthly revenue data grouped by currency.
-         */
-        @Query(value = "SELECT TO_CHAR(p.timestamp, 'Mon') as month, " +
-                        "EXTRACT(MONTH FROM p.timestamp) as month_num, " +
-                        "p.currency, " +
-                        "COALESCE(SUM(p.amount), 0) as revenue " +
-                        "FROM payments p " +
-                        "WHERE p.status = 'COMPLETED' AND p.timestamp >= :startDate " +
-                        "GROUP BY TO_CHAR(p.timestamp, 'Mon'), EXTRACT(MONTH FROM p.timestamp), p.currency " +
-                        "ORDER BY month_num", nativeQuery = true)
-        List<Object[]> getMonthlyRevenueByCurrency(@Param("startDate") LocalDateTime startDate);
-
         /**
          * Count payments by status.
          */
@@ -85,4 +73,21 @@ public interface PaymentRepository extends JpaRepository<Payment, String> {
          * Get recent payments.
          */
         Page<Payment> findAllByOrderByTimestampDesc(Pageable pageable);
+
+        /**
+         * Stream payments for export, newest first. Rows are fetched from the
+         * database cursor in chunks; the stream must be consumed and closed inside
+         * a transaction.
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+        @Query("SELECT new com.unicorn.backend.payment.PaymentExportRow(p.transactionId, u.email, p.amount, " +
+                        "p.currency, p.status, p.description, p.paymentMethod, p.timestamp) " +
+                        "FROM Payment p JOIN p.user u " +
+                        "WHERE (:status IS NULL OR p.status = :status) " +
+                        "AND p.timestamp BETWEEN :startDate AND :endDate " +
+                        "ORDER BY p.timestamp DESC")
+        Stream<PaymentExportRow> streamForExport(
+                        @Param("status") PaymentStatus status,
+                        @Param("startDate") LocalDateTime startDate,
+                        @Param("endDate") LocalDateTime endDate);
 }
@@ -4,6 +4,7 @@ import com.google.api.services.androidpublisher.AndroidPublisher;
 import com.google.api.services.androidpublisher.model.ProductPurchase;
 import com.google.api.services.androidpublisher.model.SubscriptionPurchase;
 import com.unicorn.backend.appconfig.AppConfigService;
+import com.unicorn.backend.appconfig.CurrencyConversionService;
 import com.unicorn.backend.config.GooglePlayConfig;
 import com.unicorn.backend.investor.InvestorProfile;
 import com.unicorn.backend.investor.InvestorProfileRepository;
@@ -12,20 +13,24 @@ import com.unicorn.backend.user.User;
 import com.unicorn.backend.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.format.TextStyle;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for managing payment transactions and Google Play subscription
@@ -39,11 +44,29 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final UserRepository userRepository;
     private final AppConfigService appConfigService;
+    private final CurrencyConversionService currencyConversionService;
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionService subscriptionService;
+    private final SubscriptionPlanCache subscriptionPlanCache;
+    private final MrrService mrrService;
+    private final SubscriptionExpiryScheduler subscriptionExpiryScheduler;
     private final InvestorProfileRepository investorProfileRepository;
     private final AndroidPublisher androidPublisher;
     private final GooglePlayConfig googlePlayConfig;
+    private final PurchaseVerificationRepository purchaseVerificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RevenueSeriesService revenueSeriesService;
+
+    private static final String SUBSCRIPTION_KEY_PREFIX = "subscription:";
+    private static final String PRODUCT_KEY_PREFIX = "product:";
+    private static final int PURCHASE_CACHE_MAX_ENTRIES = 10_000;
+
+    @Value("${payment.verification.cache-ttl-seconds:60}")
+    private long purchaseCacheTtlSeconds;
+
+    private final SingleFlight<GooglePlayPurchaseResponse> subscriptionFlights = new SingleFlight<>();
+    private final SingleFlight<VerificationPurchaseResponse> verificationFlights = new SingleFlight<>();
+    private final Map<String, CachedPurchase> purchaseCache = new ConcurrentHashMap<>();
 
     // Note: Product ID detection is flexible to support versioning
     // Examples: pro_monthly, pro_monthly_v2, unicorn_pro_v3, elite_yearly_v2
@@ -76,14 +99,38 @@ public class PaymentService {
         return null;
     }
 
+    /**
+     * Determines the billing period from a Google Play product ID
+     * (e.g. elite_yearly_v2). Defaults to monthly.
+     */
+    private SubscriptionService.SubscriptionDuration determineDurationFromProductId(String productId) {
+        String lowerId = productId.toLowerCase();
+        if (lowerId.contains("year") || lowerId.contains("annual")) {
+            return SubscriptionService.SubscriptionDuration.YEARLY;
+        }
+        return SubscriptionService.SubscriptionDuration.MONTHLY;
+    }
+
     /**
      * Verifies a Google Play purchase and processes the subscription activation.
+     * The Google Play call runs outside any transaction; concurrent requests from
+     * the same user for the same product and purchase token share one
+     * verification, and a purchase that was already processed is answered from
+     * its {@link PurchaseVerification} record.
      * 
      * @param request The purchase verification request
      * @return Response indicating success/failure with subscription details
      */
-    @Transactional
     public GooglePlayPurchaseResponse verifyAndProcessGooglePay(GooglePlayPurchaseRequest request) {
+        if (request.getPurchaseToken() == null || request.getPurchaseToken().isBlank()) {
+            return GooglePlayPurchaseResponse.failure("Purchase token is required");
+        }
+        return subscriptionFlights.execute(
+                flightKey(request.getUserId(), request.getSubscriptionId(), request.getPurchaseToken()),
+                () -> processGooglePay(request));
+    }
+
+    private GooglePlayPurchaseResponse processGooglePay(GooglePlayPurchaseRequest request) {
         try {
             // Validate the subscription product ID using flexible matching
             SubscriptionPlan plan = determinePlanFromProductId(request.getSubscriptionId());
@@ -92,14 +139,12 @@ public class PaymentService {
                         .failure("Unknown subscription product: " + request.getSubscriptionId());
             }
 
-            // Fetch the user
-            User user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found: " + request.getUserId()));
-
             // Call Google Play API to verify the purchase
-            SubscriptionPurchase purchase = verifyWithGooglePlay(
-                    request.getSubscriptionId(),
-                    request.getPurchaseToken());
+            SubscriptionPurchase purchase = cachedPurchase(SUBSCRIPTION_KEY_PREFIX + request.getSubscriptionId(),
+                    request.getPurchaseToken(), SubscriptionPurchase.class);
+            if (purchase == null) {
+                purchase = verifyWithGooglePlay(request.getSubscriptionId(), request.getPurchaseToken());
+            }
 
             if (purchase == null) {
                 return GooglePlayPurchaseResponse.failure("Failed to verify purchase with Google Play");
@@ -112,6 +157,8 @@ public class PaymentService {
                 log.warn("Invalid payment state for purchase: {}", paymentState);
                 return GooglePlayPurchaseResponse.failure("Payment not completed. State: " + paymentState);
             }
+            cachePurchase(SUBSCRIPTION_KEY_PREFIX + request.getSubscriptionId(), request.getPurchaseToken(),
+                    purchase);
 
             // Check if subscription is cancelled
             Integer cancelReason = purchase.getCancelReason();
@@ -120,6 +167,14 @@ public class PaymentService {
                 return GooglePlayPurchaseResponse.failure("Subscription has been cancelled");
             }
 
+            // Already processed (retry, or a concurrent request on another node)
+            String orderId = orderIdOf(purchase.getOrderId());
+            Optional<PurchaseVerification> processed = purchaseVerificationRepository
+                    .findByPurchaseTokenAndOrderId(request.getPurchaseToken(), orderId);
+            if (processed.isPresent()) {
+                return replaySubscription(processed.get(), request.getUserId());
+            }
+
             // Calculate expiry date from Google's response
             Long expiryTimeMillis = purchase.getExpiryTimeMillis();
             LocalDateTime expiryDate = LocalDateTime.ofInstant(
@@ -141,26 +196,55 @@ public class PaymentService {
             // Note: If Google doesn't return price, we still proceed with zero
             // and rely on the actual payment record in our database
 
-            // Create or update the subscription
-            createOrUpdateSubscription(
-                    user,
-                    plan,
-                    expiryDate,
-                    amount,
-                    request.getPurchaseToken());
-
-            // Create a payment record
-            Payment payment = createPaymentRecord(
-                    user,
-                    amount,
-                    "Google Play Subscription: " + request.getSubscriptionId(),
-                    "GOOGLE_PLAY",
-                    purchase.getOrderId());
+            BigDecimal finalAmount = amount;
+            String transactionId = purchase.getOrderId() != null ? purchase.getOrderId() : generateTransactionId();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Fetch the user
+                    User user = userRepository.findById(request.getUserId())
+                            .orElseThrow(() -> new RuntimeException("User not found: " + request.getUserId()));
+
+                    // Claim the purchase first: a concurrent duplicate fails here before any side effects
+                    purchaseVerificationRepository.saveAndFlush(PurchaseVerification.builder()
+                            .purchaseToken(request.getPurchaseToken())
+                            .orderId(orderId)
+                            .purchaseType(PurchaseType.SUBSCRIPTION)
+                            .userId(user.getId())
+                            .transactionId(transactionId)
+                            .plan(plan)
+                            .expiresAt(expiryDate)
+                            .amount(finalAmount)
+                            .currency("EGP")
+                            .build());
+
+                    // Create or update the subscription
+                    createOrUpdateSubscription(
+                            user,
+                            plan,
+                            determineDurationFromProductId(request.getSubscriptionId()),
+                            expiryDate,
+                            finalAmount,
+                            request.getPurchaseToken());
+
+                    // Create a payment record
+                    createPaymentRecord(
+                            user,
+                            finalAmount,
+                            "Google Play Subscription: " + request.getSubscriptionId(),
+                            "GOOGLE_PLAY",
+                            transactionId);
+                });
+            } catch (DataIntegrityViolationException e) {
+                return purchaseVerificationRepository
+                        .findByPurchaseTokenAndOrderId(request.getPurchaseToken(), orderId)
+                        .map(record -> replaySubscription(record, request.getUserId()))
+                        .orElseThrow(() -> e);
+            }
 
             log.info("Successfully processed Google Play subscription for user: {}, plan: {}, expires: {}",
-                    user.getId(), plan, expiryDate);
+                    request.getUserId(), plan, expiryDate);
 
-            return GooglePlayPurchaseResponse.success(plan, expiryDate, payment.getTransactionId());
+            return GooglePlayPurchaseResponse.success(plan, expiryDate, transactionId);
 
         } catch (IOException e) {
             log.error("IO error verifying Google Play purchase", e);
@@ -171,6 +255,16 @@ public class PaymentService {
         }
     }
 
+    private GooglePlayPurchaseResponse replaySubscription(PurchaseVerification record, UUID userId) {
+        if (!record.getUserId().equals(userId)) {
+            log.warn("Purchase token for order {} was already used by another user", record.getOrderId());
+            return GooglePlayPurchaseResponse.failure("Purchase has already been used by another account");
+        }
+        log.info("Google Play subscription purchase {} already processed, returning stored result",
+                record.getTransactionId());
+        return GooglePlayPurchaseResponse.success(record.getPlan(), record.getExpiresAt(), record.getTransactionId());
+    }
+
     /**
      * Verifies a subscription purchase with Google Play API.
      * 
@@ -206,12 +300,22 @@ public class PaymentService {
     /**
      * Verifies a Google Play one-time purchase (investor verification fee)
      * and marks the investor as verified.
+     * Like {@link #verifyAndProcessGooglePay}, the Google Play call runs outside
+     * any transaction and the purchase is processed at most once.
      * 
      * @param request The purchase verification request
      * @return Response indicating success/failure with verification details
      */
-    @Transactional
     public VerificationPurchaseResponse verifyAndProcessVerificationPayment(VerificationPurchaseRequest request) {
+        if (request.getPurchaseToken() == null || request.getPurchaseToken().isBlank()) {
+            return VerificationPurchaseResponse.failure("Purchase token is required");
+        }
+        return verificationFlights.execute(
+                flightKey(request.getUserId(), request.getProductId(), request.getPurchaseToken()),
+                () -> processVerificationPayment(request));
+    }
+
+    private VerificationPurchaseResponse processVerificationPayment(VerificationPurchaseRequest request) {
         try {
             // Validate product ID contains "verification" keyword
             String productId = request.getProductId();
@@ -220,25 +324,12 @@ public class PaymentService {
                 return VerificationPurchaseResponse.failure("Invalid verification product: " + productId);
             }
 
-            // Fetch the user
-            User user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new RuntimeException("User not found: " + request.getUserId()));
-
-            // Verify the investor has a profile and is ready for payment
-            InvestorProfile investorProfile = investorProfileRepository.findByUser(user)
-                    .orElseThrow(
-                            () -> new RuntimeException("Investor profile not found for user: " + request.getUserId()));
-
-            if (!Boolean.TRUE.equals(investorProfile.getReadyForPayment())) {
-                return VerificationPurchaseResponse.failure("Investor is not approved for verification payment yet");
-            }
-
-            if (Boolean.TRUE.equals(investorProfile.getIsVerified())) {
-                return VerificationPurchaseResponse.failure("Investor is already verified");
-            }
-
             // Call Google Play API to verify the one-time purchase
-            ProductPurchase purchase = verifyProductWithGooglePlay(productId, request.getPurchaseToken());
+            ProductPurchase purchase = cachedPurchase(PRODUCT_KEY_PREFIX + productId, request.getPurchaseToken(),
+                    ProductPurchase.class);
+            if (purchase == null) {
+                purchase = verifyProductWithGooglePlay(productId, request.getPurchaseToken());
+            }
 
             if (purchase == null) {
                 return VerificationPurchaseResponse.failure("Failed to verify purchase with Google Play");
@@ -250,6 +341,15 @@ public class PaymentService {
                 log.warn("Invalid purchase state for verification: {}", purchaseState);
                 return VerificationPurchaseResponse.failure("Purchase not completed. State: " + purchaseState);
             }
+            cachePurchase(PRODUCT_KEY_PREFIX + productId, request.getPurchaseToken(), purchase);
+
+            // Already processed (retry, or a concurrent request on another node)
+            String orderId = orderIdOf(purchase.getOrderId());
+            Optional<PurchaseVerification> processed = purchaseVerificationRepository
+                    .findByPurchaseTokenAndOrderId(request.getPurchaseToken(), orderId);
+            if (processed.isPresent()) {
+                return replayVerification(processed.get(), request.getUserId());
+            }
 
             // Get the verification fee from AppConfig
             // Note: ProductPurchase API doesn't return price - it's managed in Google Play
@@ -258,25 +358,64 @@ public class PaymentService {
             BigDecimal amount = new BigDecimal(feeStr);
             String currency = appConfigService.getValue("default_currency", "USD");
 
-            // Create a payment record
-            String orderId = purchase.getOrderId();
-            Payment payment = createVerificationPaymentRecord(user, amount, currency, orderId);
-
-            // Mark investor as verified
+            String transactionId = purchase.getOrderId() != null ? purchase.getOrderId() : generateTransactionId();
             LocalDateTime verifiedAt = LocalDateTime.now();
-            investorProfile.setIsVerified(true);
-            investorProfile.setVerifiedAt(verifiedAt);
-            investorProfile.setVerificationNotes("Verification completed via Google Play payment on " + verifiedAt);
-            investorProfileRepository.save(investorProfile);
-
-            log.info("Successfully processed verification payment for user: {}, amount: {} {}, txn: {}",
-                    user.getId(), amount, currency, payment.getTransactionId());
+            VerificationPurchaseResponse response;
+            try {
+                response = transactionTemplate.execute(status -> {
+                    // Fetch the user
+                    User user = userRepository.findById(request.getUserId())
+                            .orElseThrow(() -> new RuntimeException("User not found: " + request.getUserId()));
+
+                    // Verify the investor has a profile and is ready for payment
+                    InvestorProfile investorProfile = investorProfileRepository.findByUser(user)
+                            .orElseThrow(() -> new RuntimeException(
+                                    "Investor profile not found for user: " + request.getUserId()));
+
+                    if (!Boolean.TRUE.equals(investorProfile.getReadyForPayment())) {
+                        return VerificationPurchaseResponse
+                                .failure("Investor is not approved for verification payment yet");
+                    }
+
+                    if (Boolean.TRUE.equals(investorProfile.getIsVerified())) {
+                        return VerificationPurchaseResponse.failure("Investor is already verified");
+                    }
+
+                    // Claim the purchase first: a concurrent duplicate fails here before any side effects
+                    purchaseVerificationRepository.saveAndFlush(PurchaseVerification.builder()
+                            .purchaseToken(request.getPurchaseToken())
+                            .orderId(orderId)
+                            .purchaseType(PurchaseType.VERIFICATION_FEE)
+                            .userId(user.getId())
+                            .transactionId(transactionId)
+                            .amount(amount)
+                            .currency(currency)
+                            .build());
+
+                    // Create a payment record
+                    createVerificationPaymentRecord(user, amount, currency, transactionId);
+
+                    // Mark investor as verified
+                    investorProfile.setIsVerified(true);
+                    investorProfile.setVerifiedAt(verifiedAt);
+                    investorProfile.setVerificationNotes(
+                            "Verification completed via Google Play payment on " + verifiedAt);
+                    investorProfileRepository.save(investorProfile);
+
+                    return VerificationPurchaseResponse.success(transactionId, verifiedAt, amount, currency);
+                });
+            } catch (DataIntegrityViolationException e) {
+                return purchaseVerificationRepository
+                        .findByPurchaseTokenAndOrderId(request.getPurchaseToken(), orderId)
+                        .map(record -> replayVerification(record, request.getUserId()))
+                        .orElseThrow(() -> e);
+            }
 
-            return VerificationPurchaseResponse.success(
-                    payment.getTransactionId(),
-                    verifiedAt,
-                    amount,
-                    currency);
+            if (response != null && response.isSuccess()) {
+                log.info("Successfully processed verification payment for user: {}, amount: {} {}, txn: {}",
+                        request.getUserId(), amount, currency, transactionId);
+            }
+            return response;
 
         } catch (IOException e) {
             log.error("IO error verifying Google Play verification purchase", e);
@@ -287,6 +426,16 @@ public class PaymentService {
         }
     }
 
+    private VerificationPurchaseResponse replayVerification(PurchaseVerification record, UUID userId) {
+        if (!record.getUserId().equals(userId)) {
+            log.warn("Verification purchase for order {} was already used by another user", record.getOrderId());
+            return VerificationPurchaseResponse.failure("Purchase has already been used by another account");
+        }
+        log.info("Verification purchase {} already processed, returning stored result", record.getTransactionId());
+        return VerificationPurchaseResponse.success(record.getTransactionId(), record.getCreatedAt(),
+                record.getAmount(), record.getCurrency());
+    }
+
     /**
      * Verifies a one-time product purchase with Google Play API.
      *
@@ -318,6 +467,58 @@ public class PaymentService {
         }
     }
 
+    // ==================== Verification Result Cache ====================
+
+    /**
+     * A completed purchase as returned by Google Play.
+     */
+    private record CachedPurchase(Object purchase, long expiresAtMillis) {
+    }
+
+    /**
+     * Get a cached Google Play purchase, or null if missing or expired.
+     */
+    private <T> T cachedPurchase(String product, String purchaseToken, Class<T> type) {
+        String key = product + ":" + purchaseToken;
+        CachedPurchase cached = purchaseCache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > cached.expiresAtMillis()) {
+            purchaseCache.remove(key, cached); // Lazy cleanup
+            return null;
+        }
+        return type.isInstance(cached.purchase()) ? type.cast(cached.purchase()) : null;
+    }
+
+    /**
+     * Cache a completed purchase so a retry after a failed processing step
+     * doesn't call Google Play again. Pending purchases are never cached.
+     */
+    private void cachePurchase(String product, String purchaseToken, Object purchase) {
+        long now = System.currentTimeMillis();
+        if (purchaseCache.size() >= PURCHASE_CACHE_MAX_ENTRIES) {
+            purchaseCache.values().removeIf(cached -> now > cached.expiresAtMillis());
+        }
+        if (purchaseCache.size() < PURCHASE_CACHE_MAX_ENTRIES) {
+            purchaseCache.put(product + ":" + purchaseToken,
+                    new CachedPurchase(purchase, now + purchaseCacheTtlSeconds * 1000L));
+        }
+    }
+
+    /**
+     * Key under which concurrent requests share one verification. It includes the
+     * user and product, so a request for someone else's purchase token runs on
+     * its own and is answered by the ownership check in the replay.
+     */
+    private static String flightKey(UUID userId, String product, String purchaseToken) {
+        return userId + ":" + product + ":" + purchaseToken;
+    }
+
+    private static String orderIdOf(String orderId) {
+        return orderId != null ? orderId : "";
+    }
+
     /**
      * Creates a payment record for a verification fee transaction.
      */
@@ -325,9 +526,7 @@ public class PaymentService {
             User user,
             BigDecimal amount,
             String currency,
-            String orderId) {
-
-        String transactionId = orderId != null ? orderId : generateTransactionId();
+            String transactionId) {
 
         Payment payment = Payment.builder()
                 .transactionId(transactionId)
@@ -340,7 +539,9 @@ public class PaymentService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        revenueSeriesService.recordCompleted(saved);
+        return saved;
     }
 
     /**
@@ -349,6 +550,7 @@ public class PaymentService {
     private Subscription createOrUpdateSubscription(
             User user,
             SubscriptionPlan plan,
+            SubscriptionService.SubscriptionDuration duration,
             LocalDateTime expiryDate,
             BigDecimal amount,
             String purchaseToken) {
@@ -358,6 +560,7 @@ public class PaymentService {
             existing.setStatus(SubscriptionStatus.CANCELLED);
             existing.setEndDate(LocalDateTime.now());
             subscriptionRepository.save(existing);
+            mrrService.recordDeactivated(existing);
         });
 
         // Create new subscription
@@ -368,11 +571,16 @@ public class PaymentService {
                 .endDate(expiryDate)
                 .status(SubscriptionStatus.ACTIVE)
                 .amount(amount)
+                .monthlyAmount(MrrService.monthlyAmount(amount, duration))
                 .currency("EGP")
                 .googlePlayPurchaseToken(purchaseToken)
                 .build();
 
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        mrrService.recordActivated(saved);
+        subscriptionExpiryScheduler.schedule(saved);
+        subscriptionPlanCache.evict(user.getId());
+        return saved;
     }
 
     /**
@@ -383,9 +591,7 @@ public class PaymentService {
             BigDecimal amount,
             String description,
             String paymentMethod,
-            String orderId) {
-
-        String transactionId = orderId != null ? orderId : generateTransactionId();
+            String transactionId) {
 
         Payment payment = Payment.builder()
                 .transactionId(transactionId)
@@ -398,7 +604,9 @@ public class PaymentService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        return paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        revenueSeriesService.recordCompleted(saved);
+        return saved;
     }
 
     /**
@@ -428,23 +636,44 @@ public class PaymentService {
      */
     @Transactional
     public Payment completePayment(String transactionId) {
-        Payment payment = paymentRepository.findById(transactionId)
+        Payment payment = paymentRepository.findForUpdate(transactionId)
                 .orElseThrow(() -> new RuntimeException("Payment not found: " + transactionId));
-        payment.setStatus(PaymentStatus.COMPLETED);
+        if (payment.getStatus() != PaymentStatus.COMPLETED) {
+            payment.setStatus(PaymentStatus.COMPLETED);
+            revenueSeriesService.recordCompleted(payment);
+        }
         return paymentRepository.save(payment);
     }
 
     /**
-     * Mark payment as failed.
+     * Mark payment as failed. A completed payment is taken out of revenue.
      */
     @Transactional
     public Payment failPayment(String transactionId) {
-        Payment payment = paymentRepository.findById(transactionId)
+        Payment payment = paymentRepository.findForUpdate(transactionId)
                 .orElseThrow(() -> new RuntimeException("Payment not found: " + transactionId));
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            revenueSeriesService.recordReversed(payment);
+        }
         payment.setStatus(PaymentStatus.FAILED);
         return paymentRepository.save(payment);
     }
 
+    /**
+     * Mark a completed payment as refunded and remove it from revenue.
+     */
+    @Transactional
+    public Payment refundPayment(String transactionId) {
+        Payment payment = paymentRepository.findForUpdate(transactionId)
+                .orElseThrow(() -> new RuntimeException("Payment not found: " + transactionId));
+        if (payment.getStatus() != PaymentStatus.COMPLETED) {
+            throw new IllegalStateException("Only completed payments can be refunded: " + transactionId);
+        }
+        payment.setStatus(PaymentStatus.REFUNDED);
+        revenueSeriesService.recordReversed(payment);
+        return paymentRepository.save(payment);
+    }
+
     /**
      * Get recent payments.
      */
@@ -460,85 +689,21 @@ public class PaymentService {
     }
 
     /**
-     * Get monthly revenue data for charts with USD conversion.
+     * Get monthly revenue data for charts with USD conversion (current year,
+     * months with revenue only, in month order).
      */
     public List<Map<String, Object>> getMonthlyRevenueData() {
-        LocalDateTime startOfYear = LocalDateTime.now().withMonth(1).withDayOfMonth(1)
-                .withHour(0).withMinute(0).withSecond(0);
-
-        List<Object[]> rawData = paymentRepository.getMonthlyRevenueByCurrency(startOfYear);
-
-        // Map: MonthNum -> Total Revenue (USD)
-        Map<Integer, BigDecimal> monthlyRevenueMap = new HashMap<>();
-        Map<Integer, String> monthNameMap = new HashMap<>();
-
-        for (Object[] row : rawData) {
-            String monthName = (String) row[0];
-            int monthNum = ((Number) row[1]).intValue();
-            String currency = (String) row[2];
-            BigDecimal amount = (BigDecimal) row[3];
-
-            BigDecimal amountUSD = convertToUSD(amount, currency);
-
-            monthlyRevenueMap.put(monthNum, monthlyRevenueMap.getOrDefault(monthNum, BigDecimal.ZERO).add(amountUSD));
-            monthNameMap.put(monthNum, monthName);
-        }
-
+        YearMonth now = YearMonth.now();
         List<Map<String, Object>> result = new ArrayList<>();
-        // Iterate through months to ensure order
-        monthlyRevenueMap.forEach((monthNum, totalUSD) -> {
-            Map<String, Object> monthData = new HashMap<>();
-            monthData.put("month", monthNameMap.get(monthNum));
-            monthData.put("revenue", totalUSD);
-            result.add(monthData);
-        });
-
-        // Create a list ordered by month number if needed, though the map iteration
-        // order isn't guaranteed
-        // Better to sort by monthNum
-        return result.stream()
-                .sorted(Comparator.comparingInt(m -> monthlyRevenueMap.keySet().stream()
-                        .filter(k -> monthlyRevenueMap.get(k).equals(m.get("revenue"))) // This is weak linking, better
-                                                                                        // logic below
-                        .findFirst().orElse(0)))
-                // Actually simpler: just creating list from map entries?
-                // Let's stick to the previous loop style for simplicity and correctness
-                .collect(Collectors.toList());
-    }
-
-    // Better implementation replacing the return above:
-    /*
-     * List<Map<String, Object>> sortedResult = new ArrayList<>();
-     * monthlyRevenueMap.entrySet().stream()
-     * .sorted(Map.Entry.comparingByKey())
-     * .forEach(entry -> {
-     * Map<String, Object> monthData = new HashMap<>();
-     * monthData.put("month", monthNameMap.get(entry.getKey()));
-     * monthData.put("revenue", entry.getValue());
-     * sortedResult.add(monthData);
-     * });
-     * return sortedResult;
-     */
-
-    private BigDecimal convertToUSD(BigDecimal amount, String currency) {
-        if (amount == null)
-            return BigDecimal.ZERO;
-        if (currency == null || "USD".equalsIgnoreCase(currency)) {
-            return amount;
-        }
-
-        String rateKey = "rate_" + currency.toLowerCase();
-        String rateValue = appConfigService.getValue(rateKey).orElse(null);
-
-        if (rateValue != null) {
-            try {
-                BigDecimal rate = new BigDecimal(rateValue);
-                return amount.divide(rate, 2, RoundingMode.HALF_UP);
-            } catch (NumberFormatException e) {
-                return amount;
+        revenueSeriesService.getMonthly(YearMonth.of(now.getYear(), 1), now).forEach((month, totalUSD) -> {
+            if (totalUSD.signum() != 0) {
+                Map<String, Object> monthData = new HashMap<>();
+                monthData.put("month", month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
+                monthData.put("revenue", totalUSD);
+                result.add(monthData);
             }
-        }
-        return amount;
+        });
+        return result;
     }
 
     /**
@@ -0,0 +1,9 @@
+package com.unicorn.backend.payment;
+
+/**
+ * Kind of Google Play purchase recorded in {@link PurchaseVerification}.
+ */
+public enum PurchaseType {
+    SUBSCRIPTION,
+    VERIFICATION_FEE
+}
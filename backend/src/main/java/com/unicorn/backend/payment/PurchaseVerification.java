@@ -0,0 +1,71 @@
+package com.unicorn.backend.payment;
+
+import com.unicorn.backend.subscription.SubscriptionPlan;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Idempotency record of a processed Google Play purchase.
+ * The unique (purchase token, order id) key guarantees a purchase is applied
+ * once, even when the client retries concurrently or on another node; repeated
+ * requests are answered from the stored result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "purchase_verifications", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_purchase_verification_token_order", columnNames = { "purchase_token",
+                "order_id" })
+})
+public class PurchaseVerification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "purchase_token", nullable = false, length = 500)
+    private String purchaseToken;
+
+    /**
+     * Google order id; empty when Google didn't return one.
+     */
+    @Column(name = "order_id", nullable = false, length = 100)
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "purchase_type", nullable = false, length = 20)
+    private PurchaseType purchaseType;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "transaction_id", nullable = false, length = 100)
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "plan", length = 20)
+    private SubscriptionPlan plan;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 10)
+    private String currency;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
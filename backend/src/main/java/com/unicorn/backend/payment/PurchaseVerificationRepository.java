@@ -0,0 +1,16 @@
+package com.unicorn.backend.payment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for processed Google Play purchases.
+ */
+@Repository
+public interface PurchaseVerificationRepository extends JpaRepository<PurchaseVerification, UUID> {
+
+    Optional<PurchaseVerification> findByPurchaseTokenAndOrderId(String purchaseToken, String orderId);
+}
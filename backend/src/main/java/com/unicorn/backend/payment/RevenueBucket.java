@@ -0,0 +1,42 @@
+package com.unicorn.backend.payment;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Completed payment revenue for one day in one currency (unconverted).
+ * Maintained by {@link RevenueSeriesService} as payments complete or are
+ * refunded, so revenue charts read a few rows instead of the payments table.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "revenue_buckets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_buckets_date_currency", columnNames = { "bucket_date", "currency" })
+})
+public class RevenueBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false, length = 10)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+}
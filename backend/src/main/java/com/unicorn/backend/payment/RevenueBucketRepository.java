@@ -0,0 +1,50 @@
+package com.unicorn.backend.payment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueBucketRepository extends JpaRepository<RevenueBucket, Long> {
+
+    /**
+     * Add an amount (negative for a refund) to the bucket of a day and currency.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_buckets (bucket_date, currency, amount, payment_count) " +
+            "VALUES (:date, :currency, :amount, :count) " +
+            "ON CONFLICT (bucket_date, currency) DO UPDATE SET " +
+            "amount = revenue_buckets.amount + EXCLUDED.amount, " +
+            "payment_count = revenue_buckets.payment_count + EXCLUDED.payment_count", nativeQuery = true)
+    int add(@Param("date") LocalDate date, @Param("currency") String currency,
+            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    /**
+     * Block bucket updates until the surrounding transaction ends, so a rebuild
+     * sees every payment whose bucket update it would otherwise overwrite.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE revenue_buckets IN EXCLUSIVE MODE", nativeQuery = true)
+    void lock();
+
+    @Modifying
+    @Query(value = "DELETE FROM revenue_buckets", nativeQuery = true)
+    int deleteAllBuckets();
+
+    /**
+     * Recreate all buckets from the completed payments.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO revenue_buckets (bucket_date, currency, amount, payment_count) " +
+            "SELECT CAST(p.timestamp AS date), p.currency, SUM(p.amount), COUNT(*) FROM payments p " +
+            "WHERE p.status = 'COMPLETED' GROUP BY CAST(p.timestamp AS date), p.currency", nativeQuery = true)
+    int insertFromPayments();
+
+    List<RevenueBucket> findByBucketDateBetween(LocalDate from, LocalDate to);
+}
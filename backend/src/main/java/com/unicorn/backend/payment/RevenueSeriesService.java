@@ -0,0 +1,139 @@
+package com.unicorn.backend.payment;
+
+import com.unicorn.backend.appconfig.CurrencyConversionService;
+import com.unicorn.backend.appconfig.ExchangeRateTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Revenue time series for the financial charts.
+ * Completed payment amounts are kept in per-day, per-currency
+ * {@link RevenueBucket}s, updated in the same transaction as the payment
+ * status change. Charts read one range of buckets and convert each bucket to
+ * USD with the current rates, so rate changes apply without a rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevenueSeriesService {
+
+    private final RevenueBucketRepository revenueBucketRepository;
+    private final CurrencyConversionService currencyConversionService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Backfill the buckets from payment history on first start.
+     */
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        try {
+            if (revenueBucketRepository.count() == 0) {
+                long buckets = rebuild();
+                log.info("Backfilled {} revenue buckets from payment history", buckets);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill revenue buckets: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recreate all buckets from the completed payments.
+     *
+     * @return number of buckets written
+     */
+    public long rebuild() {
+        Integer written = transactionTemplate.execute(status -> {
+            revenueBucketRepository.lock();
+            revenueBucketRepository.deleteAllBuckets();
+            return revenueBucketRepository.insertFromPayments();
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Add a payment that just became COMPLETED to its bucket.
+     * Must run in the transaction that changes the payment status.
+     */
+    public void recordCompleted(Payment payment) {
+        revenueBucketRepository.add(payment.getTimestamp().toLocalDate(), payment.getCurrency(),
+                payment.getAmount(), 1);
+    }
+
+    /**
+     * Remove a previously COMPLETED payment (e.g. refunded) from its bucket.
+     * Must run in the transaction that changes the payment status.
+     */
+    public void recordReversed(Payment payment) {
+        revenueBucketRepository.add(payment.getTimestamp().toLocalDate(), payment.getCurrency(),
+                payment.getAmount().negate(), -1);
+    }
+
+    /**
+     * Revenue in USD per day, oldest first, with zero for days without revenue.
+     */
+    public Map<LocalDate, BigDecimal> getDaily(LocalDate from, LocalDate to) {
+        Map<LocalDate, BigDecimal> series = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            series.put(day, BigDecimal.ZERO);
+        }
+        return sum(from, to, Function.identity(), series);
+    }
+
+    /**
+     * Revenue in USD per month, oldest first, with zero for months without revenue.
+     */
+    public Map<YearMonth, BigDecimal> getMonthly(YearMonth from, YearMonth to) {
+        Map<YearMonth, BigDecimal> series = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            series.put(month, BigDecimal.ZERO);
+        }
+        return sum(from.atDay(1), to.atEndOfMonth(), YearMonth::from, series);
+    }
+
+    /**
+     * Revenue in USD per year, oldest first, with zero for years without revenue.
+     */
+    public Map<Year, BigDecimal> getYearly(Year from, Year to) {
+        Map<Year, BigDecimal> series = new LinkedHashMap<>();
+        for (Year year = from; !year.isAfter(to); year = year.plusYears(1)) {
+            series.put(year, BigDecimal.ZERO);
+        }
+        return sum(from.atDay(1), to.atMonth(12).atEndOfMonth(), Year::from, series);
+    }
+
+    /**
+     * Total revenue in USD between two days (inclusive).
+     */
+    public BigDecimal getTotal(LocalDate from, LocalDate to) {
+        ExchangeRateTable rates = currencyConversionService.getRates();
+        BigDecimal total = BigDecimal.ZERO;
+        for (RevenueBucket bucket : revenueBucketRepository.findByBucketDateBetween(from, to)) {
+            total = total.add(rates.toUsd(bucket.getAmount(), bucket.getCurrency()));
+        }
+        return total;
+    }
+
+    /**
+     * Add the USD value of each bucket in the range to the series entry of its
+     * period. One range scan; conversion is per bucket, not per payment.
+     */
+    private <K> Map<K, BigDecimal> sum(LocalDate from, LocalDate to, Function<LocalDate, K> period,
+            Map<K, BigDecimal> series) {
+        ExchangeRateTable rates = currencyConversionService.getRates();
+        for (RevenueBucket bucket : revenueBucketRepository.findByBucketDateBetween(from, to)) {
+            BigDecimal usd = rates.toUsd(bucket.getAmount(), bucket.getCurrency());
+            series.merge(period.apply(bucket.getBucketDate()), usd, BigDecimal::add);
+        }
+        return series;
+    }
+}
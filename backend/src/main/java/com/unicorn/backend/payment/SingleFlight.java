@@ -0,0 +1,35 @@
+package com.unicorn.backend.payment;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the
+ * call, callers arriving while it is in flight wait for and share its result.
+ * Nothing is kept once the call finishes.
+ */
+final class SingleFlight<T> {
+
+    private final Map<String, CompletableFuture<T>> calls = new ConcurrentHashMap<>();
+
+    T execute(String key, Supplier<T> call) {
+        CompletableFuture<T> own = new CompletableFuture<>();
+        CompletableFuture<T> inFlight = calls.putIfAbsent(key, own);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+
+        try {
+            T result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, own);
+        }
+    }
+}
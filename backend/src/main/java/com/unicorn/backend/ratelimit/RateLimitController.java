@@ -0,0 +1,32 @@
+package com.unicorn.backend.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Admin endpoints for rate limiter metrics.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/rate-limits")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+@RequiredArgsConstructor
+public class RateLimitController {
+
+    private final RateLimiterService rateLimiterService;
+
+    /**
+     * Get allowed/rejected counts per limit.
+     *
+     * GET /api/v1/admin/rate-limits/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(rateLimiterService.getStats());
+    }
+}
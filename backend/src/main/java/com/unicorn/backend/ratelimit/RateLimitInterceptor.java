@@ -0,0 +1,53 @@
+package com.unicorn.backend.ratelimit;
+
+import com.unicorn.backend.exception.RateLimitExceededException;
+import com.unicorn.backend.user.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Enforces {@link RateLimited} limits before the controller method runs, so
+ * rejected requests never reach the service layer or JPA.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiterService rateLimiterService;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        RateLimited limit = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (limit == null || !rateLimiterService.isEnabled()) {
+            return true;
+        }
+
+        long retryAfterSeconds = rateLimiterService.tryAcquire(limit, resolveSubject(limit.scope(), request));
+        if (retryAfterSeconds > 0) {
+            throw new RateLimitExceededException(limit.name(), retryAfterSeconds);
+        }
+        return true;
+    }
+
+    private String resolveSubject(RateLimitScope scope, HttpServletRequest request) {
+        if (scope == RateLimitScope.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof User user && user.getId() != null) {
+                return "u:" + user.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
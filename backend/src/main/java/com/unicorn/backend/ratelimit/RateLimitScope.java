@@ -0,0 +1,15 @@
+package com.unicorn.backend.ratelimit;
+
+/**
+ * Key used to pick a rate-limit bucket.
+ */
+public enum RateLimitScope {
+    /**
+     * Authenticated user id, falling back to the client IP for anonymous calls.
+     */
+    USER,
+    /**
+     * Client IP address (for unauthenticated endpoints such as login).
+     */
+    IP
+}
@@ -0,0 +1,36 @@
+package com.unicorn.backend.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a request rate limit on a controller method.
+ * The defaults can be overridden at runtime through the app config keys
+ * {@code ratelimit.<name>.capacity} and {@code ratelimit.<name>.per_minute}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    /**
+     * Limit name, shared by endpoints that should draw from the same bucket.
+     */
+    String name();
+
+    /**
+     * Maximum burst size.
+     */
+    int capacity();
+
+    /**
+     * Sustained number of requests allowed per minute.
+     */
+    int perMinute();
+
+    /**
+     * What the bucket is keyed by.
+     */
+    RateLimitScope scope() default RateLimitScope.USER;
+}
@@ -0,0 +1,170 @@
+package com.unicorn.backend.ratelimit;
+
+import com.unicorn.backend.appconfig.AppConfigService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process rate limiter backed by sharded, lock-free token buckets.
+ * Limits are resolved from {@link RateLimited} defaults, overridable through
+ * {@link AppConfigService}. When {@code ratelimit.redis.enabled} is set, a
+ * per-minute counter in Redis is also checked so limits hold across nodes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RateLimiterService {
+
+    private static final int SHARD_COUNT = 16;
+    private static final String CONFIG_PREFIX = "ratelimit.";
+    private static final String CONFIG_ENABLED = "ratelimit.enabled";
+
+    private final AppConfigService appConfigService;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    @Value("${ratelimit.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    private final Map<String, TokenBucket>[] shards = newShards();
+
+    private final Map<String, LongAdder> allowedCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejectedCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether rate limiting is switched on (app config, defaults to true).
+     */
+    public boolean isEnabled() {
+        return Boolean.parseBoolean(appConfigService.getValue(CONFIG_ENABLED, "true"));
+    }
+
+    /**
+     * Try to consume one request from the bucket for the given limit and subject.
+     *
+     * @param limit   the declared limit
+     * @param subject bucket key (user id or IP)
+     * @return 0 if allowed, otherwise seconds the caller should wait
+     */
+    public long tryAcquire(RateLimited limit, String subject) {
+        String name = limit.name();
+        int capacity = appConfigService.getIntValue(CONFIG_PREFIX + name + ".capacity", limit.capacity());
+        int perMinute = appConfigService.getIntValue(CONFIG_PREFIX + name + ".per_minute", limit.perMinute());
+
+        long now = System.nanoTime();
+        String key = name + ':' + subject;
+        Map<String, TokenBucket> shard = shards[(key.hashCode() & 0x7fffffff) % SHARD_COUNT];
+
+        // Fast path is a plain lookup; buckets are replaced only when limits change
+        TokenBucket bucket = shard.get(key);
+        if (bucket == null) {
+            TokenBucket created = new TokenBucket(capacity, perMinute, now);
+            TokenBucket raced = shard.putIfAbsent(key, created);
+            bucket = raced != null ? raced : created;
+        } else if (!bucket.hasLimits(capacity, perMinute)) {
+            bucket = new TokenBucket(capacity, perMinute, now);
+            shard.put(key, bucket);
+        }
+
+        long waitNanos = bucket.tryAcquire(now);
+        long retryAfterSeconds = waitNanos > 0 ? Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1) : 0;
+
+        if (retryAfterSeconds == 0 && redisEnabled) {
+            retryAfterSeconds = checkClusterLimit(key, perMinute + capacity);
+        }
+
+        (retryAfterSeconds == 0 ? allowedCounts : rejectedCounts)
+                .computeIfAbsent(name, k -> new LongAdder())
+                .increment();
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Fixed one-minute window counter in Redis shared by all nodes. Fails open if
+     * Redis is unavailable.
+     */
+    private long checkClusterLimit(String key, int maxPerWindow) {
+        StringRedisTemplate redis = redisTemplateProvider.getIfAvailable();
+        if (redis == null) {
+            return 0;
+        }
+
+        try {
+            long nowMillis = System.currentTimeMillis();
+            long window = nowMillis / 60_000;
+            String redisKey = "rl:" + key + ':' + window;
+            Long count = redis.opsForValue().increment(redisKey);
+            if (count != null && count == 1) {
+                redis.expire(redisKey, Duration.ofSeconds(61));
+            }
+            if (count != null && count > maxPerWindow) {
+                return Math.max(1, ((window + 1) * 60_000 - nowMillis) / 1000);
+            }
+        } catch (Exception e) {
+            log.debug("Redis rate limit check failed, allowing request: {}", e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Drop buckets that have fully refilled (scheduled job).
+     */
+    @Scheduled(fixedDelay = 300000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map<String, TokenBucket> shard : shards) {
+            int before = shard.size();
+            shard.values().removeIf(bucket -> bucket.isIdle(now));
+            removed += before - shard.size();
+        }
+        if (removed > 0) {
+            log.debug("Evicted {} idle rate limit buckets", removed);
+        }
+    }
+
+    /**
+     * Allowed/rejected counts per limit name since startup.
+     */
+    public Map<String, Object> getStats() {
+        Set<String> names = new TreeSet<>(allowedCounts.keySet());
+        names.addAll(rejectedCounts.keySet());
+
+        Map<String, Object> stats = new TreeMap<>();
+        for (String name : names) {
+            stats.put(name, Map.of("allowed", sum(allowedCounts, name), "rejected", sum(rejectedCounts, name)));
+        }
+
+        int buckets = 0;
+        for (Map<String, TokenBucket> shard : shards) {
+            buckets += shard.size();
+        }
+        return Map.of("enabled", isEnabled(), "activeBuckets", buckets, "limits", stats);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, TokenBucket>[] newShards() {
+        Map<String, TokenBucket>[] shards = new Map[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        return shards;
+    }
+
+    private static long sum(Map<String, LongAdder> counts, String name) {
+        LongAdder adder = counts.get(name);
+        return adder != null ? adder.sum() : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.unicorn.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Implemented as a generic cell rate algorithm: the whole bucket state is a
+ * single "theoretical arrival time" updated with CAS, so acquiring never
+ * blocks and never allocates.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final int perMinute;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, int perMinute, long nowNanos) {
+        this.capacity = Math.max(1, capacity);
+        this.perMinute = Math.max(1, perMinute);
+        this.emissionIntervalNanos = 60_000_000_000L / this.perMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * this.capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until a token is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long waitNanos = newTat - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has fully refilled.
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+    boolean hasLimits(int capacity, int perMinute) {
+        return this.capacity == Math.max(1, capacity) && this.perMinute == Math.max(1, perMinute);
+    }
+}
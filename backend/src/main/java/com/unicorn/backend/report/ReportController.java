@@ -1,5 +1,6 @@
 package com.unicorn.backend.report;
 
+import com.unicorn.backend.ratelimit.RateLimited;
 import com.unicorn.backend.user.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +36,7 @@ public class ReportController {
      * POST /api/v1/reports/user/{userId}
      */
     @PostMapping("/reports/user/{userId}")
+    @RateLimited(name = "report.create", capacity = 5, perMinute = 5)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> reportUser(
             @PathVariable UUID userId,
@@ -60,6 +62,7 @@ public class ReportController {
      * POST /api/v1/reports/startup/{startupId}
      */
     @PostMapping("/reports/startup/{startupId}")
+    @RateLimited(name = "report.create", capacity = 5, perMinute = 5)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> reportStartup(
             @PathVariable UUID startupId,
@@ -85,6 +88,7 @@ public class ReportController {
      * POST /api/v1/reports/post/{postId}
      */
     @PostMapping("/reports/post/{postId}")
+    @RateLimited(name = "report.create", capacity = 5, perMinute = 5)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> reportPost(
             @PathVariable UUID postId,
@@ -110,6 +114,7 @@ public class ReportController {
      * POST /api/v1/reports/comment/{commentId}
      */
     @PostMapping("/reports/comment/{commentId}")
+    @RateLimited(name = "report.create", capacity = 5, perMinute = 5)
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<Map<String, Object>> reportComment(
             @PathVariable UUID commentId,
@@ -3,8 +3,11 @@ package com.unicorn.backend.report;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -62,4 +65,37 @@ public interface ReportRepository extends JpaRepository<Report, UUID> {
                         ReportedEntityType entityType,
                         UUID entityId,
                         List<ReportStatus> statuses);
+
+        /**
+         * Display summaries of users (reporters or reported users).
+         */
+        @Query("SELECT new com.unicorn.backend.report.ReportedEntitySummary(" +
+                        "u.id, u.displayName, u.firstName, u.lastName, u.avatarUrl) " +
+                        "FROM User u WHERE u.id IN :ids")
+        List<ReportedEntitySummary> findUserSummaries(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * Display summaries of startups.
+         */
+        @Query("SELECT new com.unicorn.backend.report.ReportedEntitySummary(" +
+                        "s.id, s.name, s.logoUrl, CAST(s.status AS String)) " +
+                        "FROM Startup s WHERE s.id IN :ids")
+        List<ReportedEntitySummary> findStartupSummaries(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * Display summaries of posts. The name holds the first 51 characters of
+         * the content, enough to tell whether the preview needs truncating.
+         */
+        @Query("SELECT new com.unicorn.backend.report.ReportedEntitySummary(" +
+                        "p.id, SUBSTRING(p.content, 1, 51), CAST(NULL AS String), CAST(p.status AS String)) " +
+                        "FROM Post p WHERE p.id IN :ids")
+        List<ReportedEntitySummary> findPostSummaries(@Param("ids") Collection<UUID> ids);
+
+        /**
+         * Display summaries of comments, with the content cut like posts.
+         */
+        @Query("SELECT new com.unicorn.backend.report.ReportedEntitySummary(" +
+                        "c.id, SUBSTRING(c.content, 1, 51), CAST(NULL AS String), CAST(NULL AS String)) " +
+                        "FROM Comment c WHERE c.id IN :ids")
+        List<ReportedEntitySummary> findCommentSummaries(@Param("ids") Collection<UUID> ids);
 }
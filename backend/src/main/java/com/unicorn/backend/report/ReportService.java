@@ -11,8 +11,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing reports and reporter statistics.
@@ -145,48 +151,86 @@ public class ReportService {
      */
     public ReportResponse getReportDetailsById(UUID reportId) {
         Report report = getReportById(reportId);
-        return mapToResponse(report);
+        return mapToResponses(List.of(report)).get(0);
     }
 
     /**
      * Get all reports with pagination (DTOs).
      */
     public Page<ReportResponse> getAllReports(Pageable pageable) {
-        return reportRepository.findAll(pageable).map(this::mapToResponse);
+        return mapToResponses(reportRepository.findAll(pageable));
     }
 
     /**
      * Get reports by status (DTOs).
      */
     public Page<ReportResponse> getReportsByStatus(ReportStatus status, Pageable pageable) {
-        return reportRepository.findByStatus(status, pageable).map(this::mapToResponse);
+        return mapToResponses(reportRepository.findByStatus(status, pageable));
     }
 
     /**
      * Get reports by entity type (DTOs).
      */
     public Page<ReportResponse> getReportsByEntityType(ReportedEntityType entityType, Pageable pageable) {
-        return reportRepository.findByReportedEntityType(entityType, pageable).map(this::mapToResponse);
+        return mapToResponses(reportRepository.findByReportedEntityType(entityType, pageable));
     }
 
     /**
      * Get reports by reporter (DTOs).
      */
     public Page<ReportResponse> getReportsByReporter(UUID reporterId, Pageable pageable) {
-        return reportRepository.findByReporterId(reporterId, pageable).map(this::mapToResponse);
+        return mapToResponses(reportRepository.findByReporterId(reporterId, pageable));
     }
 
     /**
      * Get reports for a specific entity (DTOs).
      */
     public List<ReportResponse> getReportsForEntity(ReportedEntityType entityType, UUID entityId) {
-        return reportRepository.findByReportedEntityTypeAndReportedEntityId(entityType, entityId)
-                .stream()
-                .map(this::mapToResponse)
+        return mapToResponses(reportRepository.findByReportedEntityTypeAndReportedEntityId(entityType, entityId));
+    }
+
+    private Page<ReportResponse> mapToResponses(Page<Report> reports) {
+        Map<ReportedEntityType, Map<UUID, ReportedEntitySummary>> summaries = loadSummaries(reports.getContent());
+        return reports.map(report -> mapToResponse(report, summaries));
+    }
+
+    private List<ReportResponse> mapToResponses(List<Report> reports) {
+        Map<ReportedEntityType, Map<UUID, ReportedEntitySummary>> summaries = loadSummaries(reports);
+        return reports.stream()
+                .map(report -> mapToResponse(report, summaries))
                 .toList();
     }
 
-    private ReportResponse mapToResponse(Report report) {
+    /**
+     * Load the reporters and reported entities of a list of reports, with one
+     * query per entity type. Reporters are looked up together with reported users.
+     */
+    private Map<ReportedEntityType, Map<UUID, ReportedEntitySummary>> loadSummaries(List<Report> reports) {
+        Map<ReportedEntityType, Set<UUID>> ids = new EnumMap<>(ReportedEntityType.class);
+        for (ReportedEntityType type : ReportedEntityType.values()) {
+            ids.put(type, new HashSet<>());
+        }
+        for (Report report : reports) {
+            ids.get(ReportedEntityType.USER).add(report.getReporterId());
+            ids.get(report.getReportedEntityType()).add(report.getReportedEntityId());
+        }
+
+        Map<ReportedEntityType, Map<UUID, ReportedEntitySummary>> summaries = new EnumMap<>(ReportedEntityType.class);
+        ids.forEach((type, typeIds) -> {
+            List<ReportedEntitySummary> found = typeIds.isEmpty() ? List.of() : switch (type) {
+                case USER -> reportRepository.findUserSummaries(typeIds);
+                case STARTUP -> reportRepository.findStartupSummaries(typeIds);
+                case POST -> reportRepository.findPostSummaries(typeIds);
+                case COMMENT -> reportRepository.findCommentSummaries(typeIds);
+            };
+            summaries.put(type, found.stream()
+                    .collect(Collectors.toMap(ReportedEntitySummary::id, Function.identity())));
+        });
+        return summaries;
+    }
+
+    private ReportResponse mapToResponse(Report report,
+            Map<ReportedEntityType, Map<UUID, ReportedEntitySummary>> summaries) {
         ReportResponse.ReportResponseBuilder builder = ReportResponse.builder()
                 .id(report.getId())
                 .reporterId(report.getReporterId())
@@ -205,47 +249,26 @@ public class ReportService {
                 .updatedAt(report.getUpdatedAt())
                 .resolvedAt(report.getResolvedAt());
 
-        // Fetch Reporter
-        userRepository.findById(report.getReporterId()).ifPresent(reporter -> {
-            String name = (reporter.getDisplayName() != null && !reporter.getDisplayName().isEmpty())
-                    ? reporter.getDisplayName()
-                    : reporter.getFirstName() + " " + reporter.getLastName();
-            builder.reporterName(name);
-            builder.reporterImage(reporter.getAvatarUrl());
-        });
+        ReportedEntitySummary reporter = summaries.get(ReportedEntityType.USER).get(report.getReporterId());
+        if (reporter != null) {
+            builder.reporterName(reporter.name());
+            builder.reporterImage(reporter.image());
+        }
 
-        // Fetch Reported Entity
-        if (report.getReportedEntityType() == ReportedEntityType.USER) {
-            userRepository.findById(report.getReportedEntityId()).ifPresent(user -> {
-                String name = (user.getDisplayName() != null && !user.getDisplayName().isEmpty())
-                        ? user.getDisplayName()
-                        : user.getFirstName() + " " + user.getLastName();
-                builder.reportedEntityName(name);
-                builder.reportedEntityImage(user.getAvatarUrl());
-            });
-        } else if (report.getReportedEntityType() == ReportedEntityType.STARTUP) {
-            startupRepository.findById(report.getReportedEntityId()).ifPresent(startup -> {
-                builder.reportedEntityName(startup.getName());
-                builder.reportedEntityImage(startup.getLogoUrl());
-                builder.reportedEntityStatus(startup.getStatus().name());
-            });
-        } else if (report.getReportedEntityType() == ReportedEntityType.POST) {
-            postRepository.findById(report.getReportedEntityId()).ifPresent(post -> {
-                String preview = post.getContent();
+        ReportedEntitySummary entity = summaries.get(report.getReportedEntityType()).get(report.getReportedEntityId());
+        if (entity != null) {
+            String name = entity.name();
+            if (report.getReportedEntityType() == ReportedEntityType.POST
+                    || report.getReportedEntityType() == ReportedEntityType.COMMENT) {
+                String preview = name;
                 if (preview != null && preview.length() > 50) {
                     preview = preview.substring(0, 50) + "...";
                 }
-                builder.reportedEntityName("Post: " + preview);
-                builder.reportedEntityStatus(post.getStatus().name());
-            });
-        } else if (report.getReportedEntityType() == ReportedEntityType.COMMENT) {
-            commentRepository.findById(report.getReportedEntityId()).ifPresent(comment -> {
-                String preview = comment.getContent();
-                if (preview != null && preview.length() > 50) {
-                    preview = preview.substring(0, 50) + "...";
-                }
-                builder.reportedEntityName("Comment: " + preview);
-            });
+                name = (report.getReportedEntityType() == ReportedEntityType.POST ? "Post: " : "Comment: ") + preview;
+            }
+            builder.reportedEntityName(name);
+            builder.reportedEntityImage(entity.image());
+            builder.reportedEntityStatus(entity.status());
         }
 
         return builder.build();
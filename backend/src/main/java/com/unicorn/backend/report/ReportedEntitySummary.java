@@ -0,0 +1,18 @@
+package com.unicorn.backend.report;
+
+import java.util.UUID;
+
+/**
+ * Display fields of a reporter or reported entity, loaded in batches when
+ * rendering report lists.
+ */
+public record ReportedEntitySummary(UUID id, String name, String image, String status) {
+
+    /**
+     * Summary of a user, named by display name or else first and last name.
+     */
+    public ReportedEntitySummary(UUID id, String displayName, String firstName, String lastName, String avatarUrl) {
+        this(id, displayName != null && !displayName.isEmpty() ? displayName : firstName + " " + lastName,
+                avatarUrl, null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.unicorn.backend.service;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for EmailOutbox entity operations.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    /**
+     * Lock a batch of due emails. Rows locked by another node are skipped, so
+     * several senders can drain the outbox concurrently.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(EmailOutboxStatus status);
+
+    /**
+     * Clear the body (one-time codes, message contents) of sent and failed emails.
+     */
+    @Modifying
+    @Query(value = "UPDATE email_outbox SET body = NULL WHERE status <> 'PENDING' AND body IS NOT NULL",
+            nativeQuery = true)
+    int clearFinishedBodies();
+}
@@ -0,0 +1,159 @@
+package com.unicorn.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox for outbound email.
+ * Callers enqueue inside their own transaction; a background sender delivers
+ * after commit, retrying failed sends with exponential backoff. A slow mail
+ * provider therefore never holds a request thread or a DB transaction.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int BATCH_SIZE = 50;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final int CLAIM_LEASE_SECONDS = 120;
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Clear bodies left on sent or failed rows by earlier versions.
+     */
+    @jakarta.annotation.PostConstruct
+    void init() {
+        try {
+            int cleared = transactionTemplate.execute(status -> outboxRepository.clearFinishedBodies());
+            if (cleared > 0) {
+                log.info("Cleared the body of {} sent or failed outbox emails", cleared);
+            }
+        } catch (Exception e) {
+            log.error("Failed to clear sent outbox email bodies: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a one-time password email.
+     */
+    public EmailOutbox enqueueOtp(String to, String otp) {
+        return enqueue(EmailOutboxType.OTP, to, null, otp);
+    }
+
+    /**
+     * Queue a generic email.
+     */
+    public EmailOutbox enqueueGeneric(String to, String subject, String body) {
+        return enqueue(EmailOutboxType.GENERIC, to, subject, body);
+    }
+
+    private EmailOutbox enqueue(EmailOutboxType type, String to, String subject, String body) {
+        EmailOutbox entry = EmailOutbox.builder()
+                .type(type)
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        return outboxRepository.save(entry);
+    }
+
+    /**
+     * Drain due outbox entries (scheduled job).
+     * Each batch is claimed in a short transaction by pushing its next attempt
+     * time forward; delivery then runs outside any transaction. If this node
+     * dies mid-send, the lease expires and another sender retries.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll.interval:2000}")
+    public void processOutbox() {
+        if (!enabled) {
+            return;
+        }
+
+        List<EmailOutbox> batch;
+        do {
+            batch = claimBatch();
+            for (EmailOutbox entry : batch) {
+                deliver(entry);
+            }
+        } while (batch.size() == BATCH_SIZE);
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> due = outboxRepository.lockDueBatch(now, BATCH_SIZE);
+            LocalDateTime leaseUntil = now.plusSeconds(CLAIM_LEASE_SECONDS);
+            due.forEach(entry -> entry.setNextAttemptAt(leaseUntil));
+            return outboxRepository.saveAll(due);
+        });
+    }
+
+    private void deliver(EmailOutbox entry) {
+        try {
+            switch (entry.getType()) {
+                case OTP -> emailService.sendOtp(entry.getRecipient(), entry.getBody());
+                case GENERIC -> emailService.sendGenericEmail(entry.getRecipient(), entry.getSubject(),
+                        entry.getBody());
+            }
+
+            entry.setStatus(EmailOutboxStatus.SENT);
+            entry.setSentAt(LocalDateTime.now());
+            entry.setLastError(null);
+            // Do not keep one-time codes or message contents once delivered
+            entry.setBody(null);
+        } catch (Exception e) {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(truncate(e.getMessage()));
+
+            if (attempts >= MAX_ATTEMPTS) {
+                entry.setStatus(EmailOutboxStatus.FAILED);
+                entry.setBody(null);
+                log.error("Giving up on email {} to {} after {} attempts: {}",
+                        entry.getId(), entry.getRecipient(), attempts, e.getMessage());
+            } else {
+                long backoff = Math.min(BASE_BACKOFF_SECONDS << (attempts - 1), MAX_BACKOFF_SECONDS);
+                entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+                log.warn("Failed to send email {} (attempt {}), retrying in {}s: {}",
+                        entry.getId(), attempts, backoff, e.getMessage());
+            }
+        }
+
+        try {
+            outboxRepository.save(entry);
+        } catch (Exception e) {
+            log.error("Failed to record delivery result for email {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    /**
+     * Number of emails still waiting for delivery.
+     */
+    public long getPendingCount() {
+        return outboxRepository.countByStatus(EmailOutboxStatus.PENDING);
+    }
+}
@@ -0,0 +1,10 @@
+package com.unicorn.backend.service;
+
+/**
+ * Delivery status of a queued outbound email.
+ */
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
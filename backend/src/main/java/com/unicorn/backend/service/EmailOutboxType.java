@@ -0,0 +1,9 @@
+package com.unicorn.backend.service;
+
+/**
+ * Kind of queued outbound email, used to pick the {@link EmailService} method.
+ */
+public enum EmailOutboxType {
+    OTP,
+    GENERIC
+}
@@ -0,0 +1,20 @@
+package com.unicorn.backend.startup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat startup row for admin exports (read without loading entities).
+ */
+public record StartupExportRow(
+        UUID id,
+        String name,
+        String industry,
+        Stage stage,
+        StartupStatus status,
+        BigDecimal fundingGoal,
+        BigDecimal raisedAmount,
+        String ownerEmail,
+        LocalDateTime createdAt) {
+}
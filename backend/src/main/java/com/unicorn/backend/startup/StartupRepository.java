@@ -58,4 +58,19 @@ public interface StartupRepository extends JpaRepository<Startup, UUID>, JpaSpec
      */
     @org.springframework.data.jpa.repository.Query("SELECT COUNT(m) FROM StartupMember m WHERE m.isActive = true")
     long countTotalMembers();
+
+    /**
+     * Stream startups for export, newest first. Rows are fetched from the
+     * database cursor in chunks; the stream must be consumed and closed inside
+     * a transaction.
+     */
+    @org.springframework.data.jpa.repository.QueryHints(@jakarta.persistence.QueryHint(
+            name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @org.springframework.data.jpa.repository.Query("SELECT new com.unicorn.backend.startup.StartupExportRow(" +
+            "s.id, s.name, s.industry, s.stage, s.status, s.fundingGoal, s.raisedAmount, o.email, s.createdAt) " +
+            "FROM Startup s LEFT JOIN s.owner o " +
+            "WHERE (:status IS NULL OR s.status = :status) " +
+            "ORDER BY s.createdAt DESC")
+    java.util.stream.Stream<StartupExportRow> streamForExport(
+            @org.springframework.data.repository.query.Param("status") StartupStatus status);
 }
@@ -24,6 +24,7 @@ public class StartupService {
     private final UserRepository userRepository;
     private final StartupMemberRepository startupMemberRepository;
     private final com.unicorn.backend.appconfig.AppConfigService appConfigService;
+    private final com.unicorn.backend.admin.DashboardMetricsService dashboardMetricsService;
 
     /**
      * Create a new startup for the authenticated user.
@@ -90,6 +91,7 @@ public class StartupService {
         startup.getMembers().add(ownerMember);
 
         Startup savedStartup = startupRepository.save(startup);
+        dashboardMetricsService.recordStartupCreated(savedStartup.getStatus());
         return StartupResponse.fromEntity(savedStartup);
     }
 
@@ -197,6 +199,7 @@ public class StartupService {
         }
 
         startupRepository.delete(startup);
+        dashboardMetricsService.recordStartupDeleted(startup.getStatus());
     }
 
     /**
@@ -228,8 +231,10 @@ public class StartupService {
         Startup startup = startupRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Startup not found"));
 
+        StartupStatus previous = startup.getStatus();
         startup.setStatus(status);
         Startup updatedStartup = startupRepository.save(startup);
+        dashboardMetricsService.recordStartupStatusChanged(previous, status);
         return StartupResponse.fromEntity(updatedStartup);
     }
 
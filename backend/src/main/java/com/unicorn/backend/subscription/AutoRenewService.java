@@ -3,133 +3,329 @@ package com.unicorn.backend.subscription;
 import com.google.api.services.androidpublisher.AndroidPublisher;
 import com.google.api.services.androidpublisher.model.SubscriptionPurchase;
 import com.unicorn.backend.config.GooglePlayConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for checking and processing subscription auto-renewals.
- * Runs as a scheduled job to poll Google Play for subscription status updates.
+ * Runs as a scheduled sweep that polls Google Play for the status of every
+ * active subscription about to expire.
+ *
+ * Subscriptions are read in keyset-paged batches and checked concurrently on
+ * a bounded pool, paced to a maximum request rate. Each result is written in
+ * its own short transaction (no transaction is held during HTTP calls), and
+ * progress is checkpointed in {@link RenewalSweep} after every page so an
+ * interrupted sweep is resumed rather than restarted.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AutoRenewService {
 
+    private static final int PAGE_SIZE = 200;
+    private static final int HEARTBEAT_LEASE_MINUTES = 5;
+
+    /**
+     * Result of checking one subscription.
+     */
+    enum RenewalOutcome {
+        RENEWED,
+        CANCELLED,
+        EXPIRED,
+        UNCHANGED
+    }
+
     private final SubscriptionRepository subscriptionRepository;
+    private final RenewalSweepRepository sweepRepository;
     private final AndroidPublisher androidPublisher;
     private final GooglePlayConfig googlePlayConfig;
+    private final SubscriptionPlanCache planCache;
+    private final MrrService mrrService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${subscription.renewal.concurrency:8}")
+    private int concurrency;
+
+    @Value("${subscription.renewal.max-qps:10}")
+    private int maxQps;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Object pacingLock = new Object();
+    private long nextPermitNanos;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "renewal-check-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
 
     /**
      * Scheduled task that runs daily at 2:00 AM to check subscription renewals.
-     * 
+     *
      * This method:
-     * 1. Finds all active subscriptions expiring within the next 24 hours
+     * 1. Resumes an interrupted sweep, or starts one for all active
+     * subscriptions expiring within the next 24 hours
      * 2. Polls Google Play API for each subscription's current status
      * 3. Updates subscription records based on Google's response
      */
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
+    @Scheduled(cron = "${subscription.renewal.cron:0 0 2 * * ?}")
     public void checkSubscriptionRenewals() {
-        log.info("Starting scheduled subscription renewal check");
+        sweep(true);
+    }
+
+    /**
+     * Pick up a sweep left unfinished by a restart or a dead node (scheduled
+     * job). Only sweeps whose heartbeat has gone stale are taken over.
+     */
+    @Scheduled(fixedDelayString = "${subscription.renewal.resume.interval:300000}")
+    public void resumeInterruptedSweep() {
+        sweep(false);
+    }
+
+    /**
+     * Manual trigger for subscription renewal check.
+     * Useful for testing or administrative purposes.
+     */
+    public void triggerManualRenewalCheck() {
+        log.info("Manual subscription renewal check triggered");
+        checkSubscriptionRenewals();
+    }
 
+    private void sweep(boolean startNew) {
+        if (!sweeping.compareAndSet(false, true)) {
+            log.debug("Subscription renewal sweep already running on this node");
+            return;
+        }
         try {
-            // Find subscriptions expiring in the next 24 hours
-            LocalDateTime checkThreshold = LocalDateTime.now().plusDays(1);
-            List<Subscription> expiringSubscriptions = subscriptionRepository
-                    .findActiveSubscriptionsExpiringBefore(checkThreshold);
-
-            log.info("Found {} subscriptions to check for renewal", expiringSubscriptions.size());
-
-            int renewed = 0;
-            int cancelled = 0;
-            int errors = 0;
-
-            for (Subscription subscription : expiringSubscriptions) {
-                try {
-                    boolean wasRenewed = processSubscriptionRenewal(subscription);
-                    if (wasRenewed) {
-                        renewed++;
-                    } else {
-                        cancelled++;
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing renewal for subscription {}: {}",
-                            subscription.getId(), e.getMessage());
-                    errors++;
+            Optional<RenewalSweep> unfinished = sweepRepository
+                    .findFirstByStatusOrderByCreatedAtAsc(RenewalSweepStatus.RUNNING);
+            RenewalSweep sweep;
+            if (unfinished.isPresent()) {
+                sweep = claim(unfinished.get());
+                if (sweep == null) {
+                    log.debug("Subscription renewal sweep {} is running on another node", unfinished.get().getId());
+                    return;
+                }
+                log.info("Resuming subscription renewal sweep {} after subscription {}",
+                        sweep.getId(), sweep.getLastSubscriptionId());
+            } else if (startNew) {
+                sweep = startSweep();
+                if (sweep == null) {
+                    log.debug("Subscription renewal sweep already started on another node");
+                    return;
                 }
+                log.info("Starting subscription renewal sweep {}", sweep.getId());
+            } else {
+                return;
             }
+            run(sweep);
+        } catch (Exception e) {
+            log.error("Error during subscription renewal sweep", e);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private RenewalSweep startSweep() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Integer started = transactionTemplate.execute(status ->
+                sweepRepository.startIfNoneRunning(id, now.plusDays(1), now));
+        return started != null && started > 0 ? sweepRepository.findById(id).orElse(null) : null;
+    }
+
+    private RenewalSweep claim(RenewalSweep sweep) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> sweepRepository.claimIfStale(sweep.getId(), now,
+                now.minusMinutes(HEARTBEAT_LEASE_MINUTES)));
+        return claimed != null && claimed > 0 ? sweep : null;
+    }
+
+    private void run(RenewalSweep sweep) {
+        long afterId = sweep.getLastSubscriptionId();
+        long checked = sweep.getChecked();
+        long renewed = sweep.getRenewed();
+        long cancelled = sweep.getCancelled();
+        long expired = sweep.getExpired();
+        long errors = sweep.getErrors();
+
+        try {
+            List<Subscription> page;
+            do {
+                page = subscriptionRepository.findActiveSubscriptionsExpiringBeforeAfterId(
+                        sweep.getExpiryThreshold(), afterId, PageRequest.of(0, PAGE_SIZE));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                List<Future<RenewalOutcome>> results = new ArrayList<>(page.size());
+                for (Subscription subscription : page) {
+                    results.add(executor.submit(() -> processSubscriptionRenewal(subscription)));
+                }
 
-            log.info("Subscription renewal check completed. Renewed: {}, Cancelled: {}, Errors: {}",
-                    renewed, cancelled, errors);
+                for (int i = 0; i < results.size(); i++) {
+                    try {
+                        switch (results.get(i).get()) {
+                            case RENEWED -> renewed++;
+                            case CANCELLED -> cancelled++;
+                            case EXPIRED -> expired++;
+                            case UNCHANGED -> {
+                            }
+                        }
+                    } catch (ExecutionException e) {
+                        log.error("Error processing renewal for subscription {}: {}",
+                                page.get(i).getId(), e.getCause().getMessage());
+                        errors++;
+                    }
+                }
 
+                checked += page.size();
+                afterId = page.get(page.size() - 1).getId();
+                checkpoint(sweep, afterId, checked, renewed, cancelled, expired, errors);
+            } while (page.size() == PAGE_SIZE);
+        } catch (InterruptedException e) {
+            // Shutting down; the checkpoint lets the sweep resume later
+            Thread.currentThread().interrupt();
+            return;
         } catch (Exception e) {
-            log.error("Error during subscription renewal check", e);
+            finish(sweep, RenewalSweepStatus.FAILED, e.getMessage());
+            throw e;
         }
+
+        finish(sweep, RenewalSweepStatus.COMPLETED, null);
+        log.info("Subscription renewal sweep {} completed. Checked: {}, Renewed: {}, Cancelled: {}, Expired: {}, " +
+                "Errors: {}", sweep.getId(), checked, renewed, cancelled, expired, errors);
+    }
+
+    private void checkpoint(RenewalSweep sweep, long lastId, long checked, long renewed, long cancelled,
+            long expired, long errors) {
+        transactionTemplate.executeWithoutResult(status -> sweepRepository.checkpoint(sweep.getId(), lastId,
+                checked, renewed, cancelled, expired, errors, LocalDateTime.now()));
+    }
+
+    private void finish(RenewalSweep sweep, RenewalSweepStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> sweepRepository.findById(sweep.getId()).ifPresent(s -> {
+            s.setStatus(status);
+            s.setRunningLock(null);
+            s.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            s.setFinishedAt(LocalDateTime.now());
+            sweepRepository.save(s);
+        }));
     }
 
     /**
      * Processes a single subscription renewal by checking with Google Play.
-     * 
+     * Runs on the sweep pool; the subscription is only updated (in its own
+     * transaction) when the status changed.
+     *
      * @param subscription The subscription to check
-     * @return true if subscription was renewed, false if cancelled/expired
+     * @return what happened to the subscription
      */
-    private boolean processSubscriptionRenewal(Subscription subscription) throws IOException {
+    private RenewalOutcome processSubscriptionRenewal(Subscription subscription)
+            throws IOException, InterruptedException {
         String purchaseToken = subscription.getGooglePlayPurchaseToken();
 
         if (purchaseToken == null || purchaseToken.isEmpty()) {
             log.warn("Subscription {} has no Google Play purchase token, skipping", subscription.getId());
-            return false;
+            return RenewalOutcome.UNCHANGED;
         }
 
         // Determine the subscription ID based on plan type
         String subscriptionId = getSubscriptionIdForPlan(subscription.getPlanType());
 
-        try {
-            SubscriptionPurchase purchase = androidPublisher
-                    .purchases()
-                    .subscriptions()
-                    .get(googlePlayConfig.getPackageName(), subscriptionId, purchaseToken)
-                    .execute();
+        acquirePermit();
+        SubscriptionPurchase purchase = androidPublisher
+                .purchases()
+                .subscriptions()
+                .get(googlePlayConfig.getPackageName(), subscriptionId, purchaseToken)
+                .execute();
 
-            return handleGooglePlayResponse(subscription, purchase);
+        return handleGooglePlayResponse(subscription, purchase);
+    }
 
-        } catch (IOException e) {
-            log.error("Failed to verify renewal for subscription {}: {}", subscription.getId(), e.getMessage());
-            throw e;
+    /**
+     * Check one subscription with Google Play now, outside the sweep. Used by
+     * {@link SubscriptionExpiryScheduler} once a subscription's grace period
+     * has passed.
+     */
+    RenewalOutcome recheck(Subscription subscription) throws IOException, InterruptedException {
+        return processSubscriptionRenewal(subscription);
+    }
+
+    /**
+     * Wait for the next request slot so calls to Google Play stay under the
+     * configured rate across all sweep threads.
+     */
+    private void acquirePermit() throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxQps);
+        long waitNanos;
+        synchronized (pacingLock) {
+            long now = System.nanoTime();
+            long slot = Math.max(nextPermitNanos, now);
+            nextPermitNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
         }
     }
 
     /**
      * Handles the response from Google Play and updates the subscription
      * accordingly.
-     * 
+     *
      * @param subscription The local subscription record
      * @param purchase     The purchase details from Google Play
-     * @return true if subscription was renewed, false otherwise
+     * @return what happened to the subscription
      */
-    private boolean handleGooglePlayResponse(Subscription subscription, SubscriptionPurchase purchase) {
+    private RenewalOutcome handleGooglePlayResponse(Subscription subscription, SubscriptionPurchase purchase) {
         // Check if subscription was cancelled
         Integer cancelReason = purchase.getCancelReason();
         if (cancelReason != null) {
             log.info("Subscription {} has been cancelled by user. Reason: {}", subscription.getId(), cancelReason);
-            markSubscriptionCancelled(subscription);
-            return false;
+            return applyIfActive(subscription.getId(), RenewalOutcome.CANCELLED, null);
         }
 
         // Check payment state (1 = Payment received)
         Integer paymentState = purchase.getPaymentState();
         if (paymentState == null || paymentState != 1) {
             log.warn("Subscription {} has invalid payment state: {}", subscription.getId(), paymentState);
-            return false;
+            return RenewalOutcome.UNCHANGED;
         }
 
         // Get new expiry date
@@ -141,45 +337,53 @@ public class AutoRenewService {
         // Check if subscription has been renewed (new expiry is after current expiry)
         if (newExpiryDate.isAfter(subscription.getEndDate())) {
             log.info("Subscription {} has been renewed. New expiry: {}", subscription.getId(), newExpiryDate);
-            updateSubscriptionExpiry(subscription, newExpiryDate);
-            return true;
+            return applyIfActive(subscription.getId(), RenewalOutcome.RENEWED, newExpiryDate);
         }
 
         // Check if subscription has expired
         if (newExpiryDate.isBefore(LocalDateTime.now())) {
             log.info("Subscription {} has expired", subscription.getId());
-            markSubscriptionExpired(subscription);
-            return false;
+            return applyIfActive(subscription.getId(), RenewalOutcome.EXPIRED, null);
         }
 
         // No change - subscription is still active
         log.debug("Subscription {} unchanged. Current expiry: {}", subscription.getId(), subscription.getEndDate());
-        return false;
-    }
-
-    /**
-     * Updates the subscription expiry date after successful renewal.
-     */
-    private void updateSubscriptionExpiry(Subscription subscription, LocalDateTime newExpiryDate) {
-        subscription.setEndDate(newExpiryDate);
-        subscription.setStatus(SubscriptionStatus.ACTIVE);
-        subscriptionRepository.save(subscription);
-    }
-
-    /**
-     * Marks a subscription as cancelled.
-     */
-    private void markSubscriptionCancelled(Subscription subscription) {
-        subscription.setStatus(SubscriptionStatus.CANCELLED);
-        subscriptionRepository.save(subscription);
+        return RenewalOutcome.UNCHANGED;
     }
 
     /**
-     * Marks a subscription as expired.
+     * Apply a renewal result in a short transaction, re-reading the subscription
+     * under a row lock so a change made while Google Play was being queried or
+     * racing this one (e.g. a manual cancellation) is not overwritten and MRR is
+     * adjusted only once.
      */
-    private void markSubscriptionExpired(Subscription subscription) {
-        subscription.setStatus(SubscriptionStatus.EXPIRED);
-        subscriptionRepository.save(subscription);
+    private RenewalOutcome applyIfActive(Long subscriptionId, RenewalOutcome outcome, LocalDateTime newExpiryDate) {
+        Boolean applied = transactionTemplate.execute(status -> {
+            Subscription subscription = subscriptionRepository.findForUpdate(subscriptionId).orElse(null);
+            if (subscription == null || subscription.getStatus() != SubscriptionStatus.ACTIVE) {
+                return false;
+            }
+            switch (outcome) {
+                case RENEWED -> {
+                    subscription.setEndDate(newExpiryDate);
+                    subscription.setStatus(SubscriptionStatus.ACTIVE);
+                }
+                case CANCELLED -> subscription.setStatus(SubscriptionStatus.CANCELLED);
+                case EXPIRED -> subscription.setStatus(SubscriptionStatus.EXPIRED);
+                case UNCHANGED -> {
+                    return false;
+                }
+            }
+            subscriptionRepository.save(subscription);
+            if (subscription.getStatus() != SubscriptionStatus.ACTIVE) {
+                mrrService.recordDeactivated(subscription);
+                eventPublisher.publishEvent(new SubscriptionEndedEvent(subscription.getId(),
+                        subscription.getUser().getId(), subscription.getPlanType(), subscription.getStatus()));
+            }
+            planCache.evict(subscription.getUser().getId());
+            return true;
+        });
+        return Boolean.TRUE.equals(applied) ? outcome : RenewalOutcome.UNCHANGED;
     }
 
     /**
@@ -193,13 +397,4 @@ public class AutoRenewService {
             default -> throw new IllegalArgumentException("No subscription ID for plan: " + plan);
         };
     }
-
-    /**
-     * Manual trigger for subscription renewal check.
-     * Useful for testing or administrative purposes.
-     */
-    public void triggerManualRenewalCheck() {
-        log.info("Manual subscription renewal check triggered");
-        checkSubscriptionRenewals();
-    }
 }
@@ -0,0 +1,163 @@
+package com.unicorn.backend.subscription;
+
+import com.unicorn.backend.appconfig.CurrencyConversionService;
+import com.unicorn.backend.appconfig.ExchangeRateTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Monthly recurring revenue.
+ * Every subscription stores its amount normalized to one month
+ * ({@link Subscription#getMonthlyAmount()}). Per plan and currency running
+ * totals of the active subscriptions are kept in {@code mrr_totals}, adjusted
+ * in the same transaction as each activation or deactivation, so reads cost a
+ * handful of rows regardless of the number of subscriptions. A nightly
+ * reconciliation rebuilds the totals from the subscriptions table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MrrService {
+
+    private final MrrTotalRepository mrrTotalRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final CurrencyConversionService currencyConversionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @jakarta.annotation.PostConstruct
+    public void init() {
+        try {
+            if (mrrTotalRepository.count() == 0) {
+                reconcile();
+            }
+        } catch (Exception e) {
+            log.error("Failed to initialize MRR totals: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Normalize an amount paid for a billing period to one month.
+     */
+    public static BigDecimal monthlyAmount(BigDecimal amount, SubscriptionService.SubscriptionDuration duration) {
+        if (amount == null) {
+            return BigDecimal.ZERO;
+        }
+        return amount.divide(BigDecimal.valueOf(duration.getMonths()), 4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Count a subscription that became active. Must run in the transaction
+     * that saves it.
+     */
+    public void recordActivated(Subscription subscription) {
+        mrrTotalRepository.add(subscription.getPlanType().name(), currencyOf(subscription),
+                monthlyAmountOf(subscription), 1);
+    }
+
+    /**
+     * Stop counting a subscription that was active (cancelled, expired or
+     * revoked). Must run in the transaction that saves it.
+     */
+    public void recordDeactivated(Subscription subscription) {
+        mrrTotalRepository.add(subscription.getPlanType().name(), currencyOf(subscription),
+                monthlyAmountOf(subscription).negate(), -1);
+    }
+
+    /**
+     * Rebuild the totals from the active subscriptions (scheduled job), logging
+     * any drift from the running totals.
+     */
+    @Scheduled(cron = "${subscription.mrr.reconcile.cron:0 30 3 * * ?}")
+    public void reconcile() {
+        Map<String, BigDecimal> before = new HashMap<>();
+        Map<String, BigDecimal> after = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            mrrTotalRepository.lock();
+            mrrTotalRepository.findAll().forEach(total -> before.put(key(total), total.getAmount()));
+            int backfilled = subscriptionRepository.backfillMonthlyAmounts();
+            if (backfilled > 0) {
+                log.info("Backfilled monthly amount of {} subscriptions", backfilled);
+            }
+            mrrTotalRepository.deleteAllTotals();
+            mrrTotalRepository.insertFromSubscriptions();
+            mrrTotalRepository.flush();
+            mrrTotalRepository.findAll().forEach(total -> after.put(key(total), total.getAmount()));
+        });
+
+        // An empty table is a first build, not drift
+        if (!before.isEmpty()) {
+            Set<String> keys = new HashSet<>(before.keySet());
+            keys.addAll(after.keySet());
+            for (String key : keys) {
+                BigDecimal running = before.getOrDefault(key, BigDecimal.ZERO);
+                BigDecimal reconciled = after.getOrDefault(key, BigDecimal.ZERO);
+                if (running.compareTo(reconciled) != 0) {
+                    log.warn("MRR drift for {}: running total {}, reconciled {}", key, running, reconciled);
+                }
+            }
+        }
+        log.info("Reconciled MRR totals for {} plan/currency pairs", after.size());
+    }
+
+    /**
+     * Total MRR in USD.
+     */
+    public BigDecimal getMrr() {
+        ExchangeRateTable rates = currencyConversionService.getRates();
+        BigDecimal total = BigDecimal.ZERO;
+        for (MrrTotal mrrTotal : mrrTotalRepository.findAll()) {
+            total = total.add(rates.toUsd(mrrTotal.getAmount(), mrrTotal.getCurrency()));
+        }
+        return total;
+    }
+
+    /**
+     * MRR in USD per plan (plans without active subscriptions are absent).
+     */
+    public Map<SubscriptionPlan, BigDecimal> getMrrByPlan() {
+        ExchangeRateTable rates = currencyConversionService.getRates();
+        Map<SubscriptionPlan, BigDecimal> byPlan = new EnumMap<>(SubscriptionPlan.class);
+        for (MrrTotal mrrTotal : mrrTotalRepository.findAll()) {
+            byPlan.merge(mrrTotal.getPlanType(), rates.toUsd(mrrTotal.getAmount(), mrrTotal.getCurrency()),
+                    BigDecimal::add);
+        }
+        return byPlan;
+    }
+
+    /**
+     * MRR per currency, unconverted.
+     */
+    public Map<String, BigDecimal> getMrrByCurrency() {
+        Map<String, BigDecimal> byCurrency = new HashMap<>();
+        for (MrrTotal mrrTotal : mrrTotalRepository.findAll()) {
+            byCurrency.merge(mrrTotal.getCurrency(), mrrTotal.getAmount(), BigDecimal::add);
+        }
+        return byCurrency;
+    }
+
+    private static BigDecimal monthlyAmountOf(Subscription subscription) {
+        if (subscription.getMonthlyAmount() != null) {
+            return subscription.getMonthlyAmount();
+        }
+        return subscription.getAmount() != null ? subscription.getAmount() : BigDecimal.ZERO;
+    }
+
+    private static String currencyOf(Subscription subscription) {
+        return subscription.getCurrency() != null ? subscription.getCurrency() : "EGP";
+    }
+
+    private static String key(MrrTotal total) {
+        return total.getPlanType() + "/" + total.getCurrency();
+    }
+}
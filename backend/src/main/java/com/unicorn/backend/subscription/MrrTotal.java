@@ -0,0 +1,41 @@
+package com.unicorn.backend.subscription;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Running MRR of the active subscriptions of one plan in one currency
+ * (unconverted). Maintained by {@link MrrService}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "mrr_totals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_mrr_totals_plan_currency", columnNames = { "plan_type", "currency" })
+})
+public class MrrTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "plan_type", nullable = false, length = 20)
+    private SubscriptionPlan planType;
+
+    @Column(nullable = false, length = 10)
+    private String currency;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column(name = "subscription_count", nullable = false)
+    private long subscriptionCount;
+}
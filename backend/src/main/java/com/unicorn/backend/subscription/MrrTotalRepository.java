@@ -0,0 +1,48 @@
+package com.unicorn.backend.subscription;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface MrrTotalRepository extends JpaRepository<MrrTotal, Long> {
+
+    /**
+     * Add a monthly amount (negative when a subscription stops being active)
+     * to the total of a plan and currency.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO mrr_totals (plan_type, currency, amount, subscription_count) " +
+            "VALUES (:plan, :currency, :amount, :count) " +
+            "ON CONFLICT (plan_type, currency) DO UPDATE SET " +
+            "amount = mrr_totals.amount + EXCLUDED.amount, " +
+            "subscription_count = mrr_totals.subscription_count + EXCLUDED.subscription_count", nativeQuery = true)
+    int add(@Param("plan") String plan, @Param("currency") String currency,
+            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    /**
+     * Block total updates until the surrounding transaction ends, so a
+     * reconciliation sees every subscription change whose update it replaces.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE mrr_totals IN EXCLUSIVE MODE", nativeQuery = true)
+    void lock();
+
+    @Modifying
+    @Query(value = "DELETE FROM mrr_totals", nativeQuery = true)
+    int deleteAllTotals();
+
+    /**
+     * Recreate all totals from the active subscriptions.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO mrr_totals (plan_type, currency, amount, subscription_count) " +
+            "SELECT s.plan_type, COALESCE(s.currency, 'EGP'), SUM(s.monthly_amount), COUNT(*) " +
+            "FROM subscriptions s WHERE s.status = 'ACTIVE' " +
+            "GROUP BY s.plan_type, COALESCE(s.currency, 'EGP')", nativeQuery = true)
+    int insertFromSubscriptions();
+}
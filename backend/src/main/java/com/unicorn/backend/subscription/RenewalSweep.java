@@ -0,0 +1,86 @@
+package com.unicorn.backend.subscription;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint of one run of the subscription renewal sweep (see
+ * {@link AutoRenewService}). Subscriptions are visited in id order and the last
+ * fully processed id is stored after every page, so an interrupted sweep is
+ * resumed from there instead of starting over.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "renewal_sweeps", indexes = {
+        @Index(name = "idx_renewal_sweep_status", columnList = "status")
+})
+public class RenewalSweep {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private RenewalSweepStatus status = RenewalSweepStatus.RUNNING;
+
+    /**
+     * Active subscriptions ending before this time are checked.
+     */
+    @Column(name = "expiry_threshold", nullable = false)
+    private LocalDateTime expiryThreshold;
+
+    @Column(name = "last_subscription_id", nullable = false)
+    private long lastSubscriptionId;
+
+    @Column(nullable = false)
+    private long checked;
+
+    @Column(nullable = false)
+    private long renewed;
+
+    @Column(nullable = false)
+    private long cancelled;
+
+    @Column(nullable = false)
+    private long expired;
+
+    @Column(nullable = false)
+    private long errors;
+
+    /**
+     * Refreshed by the node running the sweep; a stale heartbeat lets another
+     * node (or this one after a restart) take over.
+     */
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * TRUE while the sweep is running and NULL afterwards. The column is unique and
+     * NULLs do not collide, so at most one sweep can be running across all nodes.
+     */
+    @Column(name = "running_lock", unique = true)
+    @Builder.Default
+    private Boolean runningLock = Boolean.TRUE;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,57 @@
+package com.unicorn.backend.subscription;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for subscription renewal sweep checkpoints.
+ */
+@Repository
+public interface RenewalSweepRepository extends JpaRepository<RenewalSweep, UUID> {
+
+    Optional<RenewalSweep> findFirstByStatusOrderByCreatedAtAsc(RenewalSweepStatus status);
+
+    /**
+     * Start a sweep unless one is already running, as a single insert so nodes
+     * whose schedules fire together cannot both start one.
+     *
+     * @return 1 if started, 0 if another sweep holds the running lock
+     */
+    @Modifying
+    @Query(value = "INSERT INTO renewal_sweeps (id, status, expiry_threshold, last_subscription_id, checked, " +
+            "renewed, cancelled, expired, errors, heartbeat_at, running_lock, created_at) " +
+            "VALUES (:id, 'RUNNING', :expiryThreshold, 0, 0, 0, 0, 0, 0, :now, TRUE, :now) " +
+            "ON CONFLICT (running_lock) DO NOTHING", nativeQuery = true)
+    int startIfNoneRunning(@Param("id") UUID id, @Param("expiryThreshold") LocalDateTime expiryThreshold,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Take over a running sweep whose heartbeat is older than the given time.
+     *
+     * @return 1 if claimed, 0 if another node is still running it
+     */
+    @Modifying
+    @Query("UPDATE RenewalSweep s SET s.heartbeatAt = :now WHERE s.id = :id " +
+            "AND s.status = com.unicorn.backend.subscription.RenewalSweepStatus.RUNNING " +
+            "AND s.heartbeatAt < :staleBefore")
+    int claimIfStale(@Param("id") UUID id, @Param("now") LocalDateTime now,
+            @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Store progress after a page and refresh the heartbeat.
+     */
+    @Modifying
+    @Query("UPDATE RenewalSweep s SET s.lastSubscriptionId = :lastId, s.checked = :checked, " +
+            "s.renewed = :renewed, s.cancelled = :cancelled, s.expired = :expired, s.errors = :errors, " +
+            "s.heartbeatAt = :now WHERE s.id = :id")
+    int checkpoint(@Param("id") UUID id, @Param("lastId") long lastId, @Param("checked") long checked,
+            @Param("renewed") long renewed, @Param("cancelled") long cancelled, @Param("expired") long expired,
+            @Param("errors") long errors, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,10 @@
+package com.unicorn.backend.subscription;
+
+/**
+ * Lifecycle of a subscription renewal sweep.
+ */
+public enum RenewalSweepStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "subscriptions", indexes = {
         @Index(name = "idx_subscription_user_id", columnList = "user_id"),
-        @Index(name = "idx_subscription_status", columnList = "status")
+        @Index(name = "idx_subscription_status", columnList = "status"),
+        @Index(name = "idx_subscription_status_end_date", columnList = "status, end_date")
 })
 public class Subscription {
 
@@ -55,6 +56,13 @@ public class Subscription {
     @Builder.Default
     private String currency = "EGP";
 
+    /**
+     * Amount normalized to one month of the billing period (e.g. a twelfth of
+     * a yearly amount). Counted in MRR while the subscription is active.
+     */
+    @Column(name = "monthly_amount", precision = 12, scale = 4)
+    private java.math.BigDecimal monthlyAmount;
+
     @Column(name = "google_play_purchase_token", length = 500)
     private String googlePlayPurchaseToken;
 
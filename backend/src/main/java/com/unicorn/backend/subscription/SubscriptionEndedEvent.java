@@ -0,0 +1,11 @@
+package com.unicorn.backend.subscription;
+
+import java.util.UUID;
+
+/**
+ * Published when an active subscription stops being active (expired or
+ * cancelled). Transactional listeners receive it after the change commits.
+ */
+public record SubscriptionEndedEvent(Long subscriptionId, UUID userId, SubscriptionPlan plan,
+        SubscriptionStatus status) {
+}
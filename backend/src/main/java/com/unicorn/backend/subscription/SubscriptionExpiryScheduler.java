@@ -0,0 +1,242 @@
+package com.unicorn.backend.subscription;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expires subscriptions at their end date.
+ * Upcoming end dates are held in a {@link DelayQueue}, loaded periodically for
+ * the next window with an indexed range query and added directly when a
+ * subscription is created. A worker thread takes due entries in small batches
+ * and re-reads them: renewed subscriptions are rescheduled, the rest are
+ * expired and a {@link SubscriptionEndedEvent} is published.
+ *
+ * Google Play subscriptions get a grace period after their end date, then are
+ * checked with Google Play (via {@link AutoRenewService}) instead of being
+ * expired locally, so a renewal that happened at the end date is not lost.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubscriptionExpiryScheduler {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int LOAD_LIMIT = 5000;
+
+    /**
+     * One scheduled expiry check.
+     */
+    private record Expiry(long subscriptionId, long dueMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final AutoRenewService autoRenewService;
+    private final MrrService mrrService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${subscription.expiry.load.interval:3600000}")
+    private long loadIntervalMillis;
+
+    @Value("${subscription.expiry.play-grace-minutes:60}")
+    private long playGraceMinutes;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final Map<Long, Long> scheduled = new ConcurrentHashMap<>();
+    private Thread worker;
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::runWorker, "subscription-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    /**
+     * Queue the subscriptions ending within the next two load intervals,
+     * including overdue ones (scheduled job; also runs at startup).
+     */
+    @Scheduled(fixedDelayString = "${subscription.expiry.load.interval:3600000}")
+    public void loadUpcoming() {
+        try {
+            List<Subscription> upcoming = subscriptionRepository.findActiveEndingBefore(windowEnd(),
+                    PageRequest.of(0, LOAD_LIMIT));
+            upcoming.forEach(this::schedule);
+            log.debug("Loaded {} upcoming subscription expiries, {} scheduled", upcoming.size(), scheduled.size());
+        } catch (Exception e) {
+            log.error("Failed to load upcoming subscription expiries: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Schedule the expiry of an active subscription. Subscriptions ending after
+     * the load window are picked up by a later load.
+     */
+    public void schedule(Subscription subscription) {
+        if (subscription.getId() == null || subscription.getEndDate() == null
+                || subscription.getStatus() != SubscriptionStatus.ACTIVE) {
+            return;
+        }
+        LocalDateTime due = subscription.getEndDate();
+        if (isGooglePlay(subscription)) {
+            due = due.plusMinutes(playGraceMinutes);
+        }
+        if (due.isAfter(windowEnd())) {
+            return;
+        }
+        enqueue(subscription.getId(), due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void enqueue(long subscriptionId, long dueMillis) {
+        Long previous = scheduled.put(subscriptionId, dueMillis);
+        if (previous == null || previous != dueMillis) {
+            // A superseded entry stays in the queue and is skipped when taken
+            queue.add(new Expiry(subscriptionId, dueMillis));
+        }
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Expiry> batch = new ArrayList<>();
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Still-active subscriptions are queued again by the next load
+                log.error("Error processing subscription expiries", e);
+            }
+        }
+    }
+
+    private void process(List<Expiry> batch) throws InterruptedException {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Expiry expiry : batch) {
+            if (scheduled.remove(expiry.subscriptionId(), expiry.dueMillis())) {
+                ids.add(expiry.subscriptionId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Subscription> local = new ArrayList<>();
+        List<Subscription> googlePlay = new ArrayList<>();
+        for (Subscription subscription : subscriptionRepository.findAllById(ids)) {
+            if (subscription.getStatus() != SubscriptionStatus.ACTIVE || subscription.getEndDate() == null) {
+                continue;
+            }
+            if (!isGooglePlay(subscription) && !subscription.getEndDate().isAfter(now)) {
+                local.add(subscription);
+            } else if (isGooglePlay(subscription)
+                    && !subscription.getEndDate().plusMinutes(playGraceMinutes).isAfter(now)) {
+                googlePlay.add(subscription);
+            } else {
+                // Renewed since it was queued
+                schedule(subscription);
+            }
+        }
+
+        if (!local.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> local.forEach(s -> expire(s, now)));
+        }
+        for (Subscription subscription : googlePlay) {
+            checkWithGooglePlay(subscription);
+        }
+    }
+
+    private void checkWithGooglePlay(Subscription subscription) throws InterruptedException {
+        AutoRenewService.RenewalOutcome outcome;
+        try {
+            outcome = autoRenewService.recheck(subscription);
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() >= 400 && e.getStatusCode() < 500) {
+                // Unknown or revoked purchase token; it will never renew
+                log.warn("Google Play rejected expired subscription {} ({}), expiring it",
+                        subscription.getId(), e.getStatusCode());
+                transactionTemplate.executeWithoutResult(status -> expire(subscription, LocalDateTime.now()));
+                return;
+            }
+            retryLater(subscription, e);
+            return;
+        } catch (IOException e) {
+            retryLater(subscription, e);
+            return;
+        }
+
+        switch (outcome) {
+            case RENEWED -> subscriptionRepository.findById(subscription.getId()).ifPresent(this::schedule);
+            // Still unpaid after the grace period
+            case UNCHANGED -> transactionTemplate.executeWithoutResult(
+                    status -> expire(subscription, LocalDateTime.now()));
+            case CANCELLED, EXPIRED -> {
+            }
+        }
+    }
+
+    private void retryLater(Subscription subscription, IOException e) {
+        log.warn("Could not check expired subscription {} with Google Play, retrying later: {}",
+                subscription.getId(), e.getMessage());
+        enqueue(subscription.getId(), System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(playGraceMinutes));
+    }
+
+    private void expire(Subscription subscription, LocalDateTime now) {
+        int updated = subscriptionRepository.expireIfDue(subscription.getId(), now,
+                SubscriptionStatus.ACTIVE, SubscriptionStatus.EXPIRED);
+        if (updated == 0) {
+            return;
+        }
+        mrrService.recordDeactivated(subscription);
+        eventPublisher.publishEvent(new SubscriptionEndedEvent(subscription.getId(),
+                subscription.getUser().getId(), subscription.getPlanType(), SubscriptionStatus.EXPIRED));
+        log.info("Subscription {} expired at {}", subscription.getId(), subscription.getEndDate());
+    }
+
+    private LocalDateTime windowEnd() {
+        return LocalDateTime.now().plus(Duration.ofMillis(2 * loadIntervalMillis));
+    }
+
+    private static boolean isGooglePlay(Subscription subscription) {
+        String token = subscription.getGooglePlayPurchaseToken();
+        return token != null && !token.isEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+package com.unicorn.backend.subscription;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of each user's active subscription plan.
+ * Entries self-expire at the subscription end date (or after a short TTL for
+ * FREE users) and are evicted whenever a subscription changes. The map is
+ * bounded at {@link #MAX_ENTRIES} and expired entries are swept every minute, so
+ * it holds recently active users rather than every user ever looked up.
+ */
+@Slf4j
+@Component
+public class SubscriptionPlanCache {
+
+    /**
+     * Upper bound for any entry, so changes made on another node are picked up.
+     */
+    private static final int MAX_TTL_MINUTES = 10;
+
+    private static final int MAX_ENTRIES = 50_000;
+
+    /**
+     * Cached plan for a single user.
+     */
+    record CachedPlan(SubscriptionPlan plan, LocalDateTime expiresAt) {
+
+        boolean isExpired(LocalDateTime now) {
+            return now.isAfter(expiresAt);
+        }
+    }
+
+    private final Map<UUID, CachedPlan> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Get the cached plan for a user, or null if missing or expired.
+     */
+    public SubscriptionPlan get(UUID userId) {
+        CachedPlan entry = cache.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(LocalDateTime.now())) {
+            cache.remove(userId, entry); // Lazy cleanup
+            return null;
+        }
+        return entry.plan();
+    }
+
+    /**
+     * Cache the plan derived from a user's active subscription (null = FREE).
+     */
+    public void put(UUID userId, Subscription activeSubscription) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(MAX_TTL_MINUTES);
+        SubscriptionPlan plan = SubscriptionPlan.FREE;
+
+        if (activeSubscription != null) {
+            plan = activeSubscription.getPlanType();
+            LocalDateTime endDate = activeSubscription.getEndDate();
+            if (endDate != null && endDate.isBefore(expiresAt)) {
+                expiresAt = endDate;
+            }
+        }
+
+        if (cache.size() >= MAX_ENTRIES) {
+            evictExpired(now);
+        }
+        if (cache.size() < MAX_ENTRIES || cache.containsKey(userId)) {
+            cache.put(userId, new CachedPlan(plan, expiresAt));
+        }
+    }
+
+    /**
+     * Drop expired entries of users who have not been read again (scheduled job).
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void sweepExpired() {
+        int removed = evictExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Swept {} expired subscription plan entries", removed);
+        }
+    }
+
+    private int evictExpired(LocalDateTime now) {
+        int before = cache.size();
+        cache.values().removeIf(entry -> entry.isExpired(now));
+        return Math.max(0, before - cache.size());
+    }
+
+    /**
+     * Evict a user's entry. When called inside a transaction the entry is evicted
+     * again after commit, so a concurrent reader cannot re-cache the old plan.
+     */
+    public void evict(UUID userId) {
+        cache.remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.remove(userId);
+                }
+            });
+        }
+        log.debug("Evicted cached subscription plan for user: {}", userId);
+    }
+
+    /**
+     * Drop the plan of a user whose subscription ended, once the change commits.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionEnded(SubscriptionEndedEvent event) {
+        cache.remove(event.userId());
+        log.debug("Evicted cached subscription plan for user {} after subscription {} ended",
+                event.userId(), event.subscriptionId());
+    }
+
+    /**
+     * Clear all entries.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
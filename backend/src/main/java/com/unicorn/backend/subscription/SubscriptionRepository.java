@@ -1,12 +1,16 @@
 package com.unicorn.backend.subscription;
 
 import com.unicorn.backend.user.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +26,15 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
          */
         List<Subscription> findByUserOrderByCreatedAtDesc(User user);
 
+        /**
+         * Load a subscription for update, so concurrent status changes (a manual
+         * cancel and a renewal sweep result) are applied one after the other and
+         * only the first one that sees it active adjusts MRR.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT s FROM Subscription s WHERE s.id = :id")
+        Optional<Subscription> findForUpdate(@Param("id") Long id);
+
         /**
          * Find the active subscription for a user.
          */
@@ -33,6 +46,12 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
         @Query("SELECT s FROM Subscription s WHERE s.user.id = :userId AND s.status = 'ACTIVE'")
         Optional<Subscription> findActiveByUserId(@Param("userId") UUID userId);
 
+        /**
+         * Find active subscriptions for a batch of users (for list rendering).
+         */
+        @Query("SELECT s FROM Subscription s WHERE s.user.id IN :userIds AND s.status = 'ACTIVE'")
+        List<Subscription> findActiveByUserIds(@Param("userIds") Collection<UUID> userIds);
+
         /**
          * Count subscriptions by plan type.
          */
@@ -56,15 +75,6 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
                         @Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate);
 
-        /**
-         * Get total revenue for a month.
-         */
-        @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Subscription s " +
-                        "WHERE s.status = 'ACTIVE' AND s.createdAt BETWEEN :startDate AND :endDate")
-        java.math.BigDecimal getTotalRevenueForPeriod(
-                        @Param("startDate") LocalDateTime startDate,
-                        @Param("endDate") LocalDateTime endDate);
-
         /**
          * Find active subscriptions that expire before the given date.
          * Used by AutoRenewService to check for renewals.
@@ -74,28 +84,45 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
                         @Param("expiryThreshold") LocalDateTime expiryThreshold);
 
         /**
-         * Calculate MRR from actual subscription amounts.
+         * Page through active subscriptions expiring before the given date in id
+         * order (keyset pagination). Used by the renewal sweep.
          */
-        @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Subscription s WHERE s.status = 'ACTIVE'")
-        java.math.BigDecimal calculateTotalActiveMRR();
+        @Query("SELECT s FROM Subscription s WHERE s.status = 'ACTIVE' AND s.endDate <= :expiryThreshold " +
+                        "AND s.id > :afterId ORDER BY s.id")
+        List<Subscription> findActiveSubscriptionsExpiringBeforeAfterId(
+                        @Param("expiryThreshold") LocalDateTime expiryThreshold,
+                        @Param("afterId") long afterId,
+                        org.springframework.data.domain.Pageable pageable);
 
         /**
-         * Calculate MRR grouped by currency from active subscriptions.
+         * Active subscriptions ending before the given date, soonest first.
+         * Used by SubscriptionExpiryScheduler to load upcoming expiries.
          */
-        @Query("SELECT s.currency, COALESCE(SUM(s.amount), 0) FROM Subscription s WHERE s.status = 'ACTIVE' GROUP BY s.currency")
-        List<Object[]> calculateTotalActiveMRRByCurrency();
+        @Query("SELECT s FROM Subscription s WHERE s.status = 'ACTIVE' AND s.endDate <= :until ORDER BY s.endDate")
+        List<Subscription> findActiveEndingBefore(
+                        @Param("until") LocalDateTime until,
+                        org.springframework.data.domain.Pageable pageable);
 
         /**
-         * Calculate MRR for a specific plan from actual amounts.
+         * Mark a subscription as expired if it is still active and its end date
+         * has passed.
+         *
+         * @return 1 if the subscription was expired, 0 otherwise
          */
-        @Query("SELECT COALESCE(SUM(s.amount), 0) FROM Subscription s WHERE s.status = 'ACTIVE' AND s.planType = :plan")
-        java.math.BigDecimal calculateMRRByPlan(@Param("plan") SubscriptionPlan plan);
+        @Modifying
+        @Query("UPDATE Subscription s SET s.status = :expired " +
+                        "WHERE s.id = :id AND s.status = :active AND s.endDate <= :now")
+        int expireIfDue(
+                        @Param("id") Long id,
+                        @Param("now") LocalDateTime now,
+                        @Param("active") SubscriptionStatus active,
+                        @Param("expired") SubscriptionStatus expired);
 
         /**
-         * Calculate MRR for a specific plan grouped by currency.
+         * Set the monthly amount of subscriptions created before it was stored.
+         * These were all billed monthly, so it equals the amount.
          */
-        @Query("SELECT s.currency, COALESCE(SUM(s.amount), 0) FROM Subscription s " +
-                        "WHERE s.status = 'ACTIVE' AND s.planType = :plan " +
-                        "GROUP BY s.currency")
-        List<Object[]> calculateMRRByPlanAndCurrency(@Param("plan") SubscriptionPlan plan);
+        @Modifying
+        @Query("UPDATE Subscription s SET s.monthlyAmount = COALESCE(s.amount, 0) WHERE s.monthlyAmount IS NULL")
+        int backfillMonthlyAmounts();
 }
@@ -12,9 +12,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -28,6 +31,9 @@ public class SubscriptionService {
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
     private final UserModerationLogRepository moderationLogRepository;
+    private final SubscriptionPlanCache planCache;
+    private final MrrService mrrService;
+    private final SubscriptionExpiryScheduler expiryScheduler;
 
     /**
      * Revoke a user's subscription (for refund cases).
@@ -54,6 +60,8 @@ public class SubscriptionService {
             activeSubscription.setStatus(SubscriptionStatus.CANCELLED);
             activeSubscription.setEndDate(LocalDateTime.now());
             subscriptionRepository.save(activeSubscription);
+            mrrService.recordDeactivated(activeSubscription);
+            planCache.evict(userId);
             log.info("Revoked {} subscription for user: {}", previousPlan, userId);
         } else {
             log.warn("No active subscription found for user: {}", userId);
@@ -115,6 +123,7 @@ public class SubscriptionService {
             existing.setStatus(SubscriptionStatus.CANCELLED);
             existing.setEndDate(LocalDateTime.now());
             subscriptionRepository.save(existing);
+            mrrService.recordDeactivated(existing);
         });
 
         // Calculate end date based on duration
@@ -128,13 +137,18 @@ public class SubscriptionService {
                 .endDate(endDate)
                 .status(SubscriptionStatus.ACTIVE)
                 .amount(amount)
+                .monthlyAmount(MrrService.monthlyAmount(amount, duration))
                 .currency("EGP")
                 .build();
 
         log.info("Created {} subscription for user: {}, plan: {}, expires: {}",
                 duration, userId, plan, endDate);
 
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        mrrService.recordActivated(saved);
+        expiryScheduler.schedule(saved);
+        planCache.evict(userId);
+        return saved;
     }
 
     /**
@@ -153,6 +167,56 @@ public class SubscriptionService {
         return subscriptionRepository.findActiveByUserId(userId).orElse(null);
     }
 
+    /**
+     * Get the active plan for a user (CACHED). Returns FREE if there is no active
+     * subscription.
+     */
+    public SubscriptionPlan getActivePlan(UUID userId) {
+        SubscriptionPlan cached = planCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Subscription active = getActiveSubscription(userId);
+        planCache.put(userId, active);
+        return active != null ? active.getPlanType() : SubscriptionPlan.FREE;
+    }
+
+    /**
+     * Get the active plans for a batch of users (CACHED). Cache misses are
+     * resolved with a single query. Every requested user is present in the result.
+     */
+    public Map<UUID, SubscriptionPlan> getActivePlans(Collection<UUID> userIds) {
+        Map<UUID, SubscriptionPlan> plans = new HashMap<>();
+        Set<UUID> misses = new HashSet<>();
+
+        for (UUID userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            SubscriptionPlan cached = planCache.get(userId);
+            if (cached != null) {
+                plans.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<UUID, Subscription> activeByUser = new HashMap<>();
+            for (Subscription subscription : subscriptionRepository.findActiveByUserIds(misses)) {
+                activeByUser.put(subscription.getUser().getId(), subscription);
+            }
+            for (UUID userId : misses) {
+                Subscription active = activeByUser.get(userId);
+                planCache.put(userId, active);
+                plans.put(userId, active != null ? active.getPlanType() : SubscriptionPlan.FREE);
+            }
+        }
+
+        return plans;
+    }
+
     /**
      * Get subscription history for a user.
      */
@@ -165,12 +229,18 @@ public class SubscriptionService {
      */
     @Transactional
     public Subscription cancelSubscription(Long subscriptionId) {
-        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+        Subscription subscription = subscriptionRepository.findForUpdate(subscriptionId)
                 .orElseThrow(() -> new RuntimeException("Subscription not found: " + subscriptionId));
 
+        boolean wasActive = subscription.getStatus() == SubscriptionStatus.ACTIVE;
         subscription.setStatus(SubscriptionStatus.CANCELLED);
         subscription.setEndDate(LocalDateTime.now());
-        return subscriptionRepository.save(subscription);
+        Subscription saved = subscriptionRepository.save(subscription);
+        if (wasActive) {
+            mrrService.recordDeactivated(saved);
+        }
+        planCache.evict(subscription.getUser().getId());
+        return saved;
     }
 
     /**
@@ -196,13 +266,9 @@ public class SubscriptionService {
     }
 
     /**
-     * Calculate MRR (Monthly Recurring Revenue).
+     * Calculate MRR (Monthly Recurring Revenue) in USD, see {@link MrrService}.
      */
     public BigDecimal calculateMRR() {
-        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = startOfMonth.plusMonths(1);
-
-        BigDecimal revenue = subscriptionRepository.getTotalRevenueForPeriod(startOfMonth, endOfMonth);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return mrrService.getMrr();
     }
 }
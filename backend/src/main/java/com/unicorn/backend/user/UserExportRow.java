@@ -0,0 +1,22 @@
+package com.unicorn.backend.user;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat user row for admin exports (read without loading entities).
+ */
+public record UserExportRow(
+        UUID id,
+        String email,
+        String username,
+        String firstName,
+        String lastName,
+        String displayName,
+        String role,
+        String status,
+        String authProvider,
+        String country,
+        LocalDateTime createdAt,
+        LocalDateTime lastLoginAt) {
+}
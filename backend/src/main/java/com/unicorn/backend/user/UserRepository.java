@@ -18,6 +18,13 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
 
     Optional<User> findByUsername(String username);
 
+    /**
+     * Return which of the given usernames are already taken (single query).
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(
+            @org.springframework.data.repository.query.Param("usernames") java.util.Collection<String> usernames);
+
     @org.springframework.data.jpa.repository.Query("SELECT u FROM User u WHERE lower(u.email) LIKE lower(concat('%', :query, '%'))")
     org.springframework.data.domain.Page<User> searchUsers(String query,
             org.springframework.data.domain.Pageable pageable);
@@ -39,4 +46,52 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
      * Find users by status (for announcements).
      */
     List<User> findByStatus(String status);
+
+    long countByRoleAndStatus(String role, String status);
+
+    /**
+     * Page of active users (id and login name) after the given id, in id order.
+     * Used for keyset-paginated announcement fan-out.
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, COALESCE(u.username, u.email) FROM User u " +
+            "WHERE u.status = 'ACTIVE' AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findActiveRecipientsAfter(
+            @org.springframework.data.repository.query.Param("afterId") UUID afterId,
+            org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Same as {@link #findActiveRecipientsAfter} restricted to one role.
+     */
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, COALESCE(u.username, u.email) FROM User u " +
+            "WHERE u.status = 'ACTIVE' AND u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findActiveRecipientsByRoleAfter(
+            @org.springframework.data.repository.query.Param("role") String role,
+            @org.springframework.data.repository.query.Param("afterId") UUID afterId,
+            org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Stream users for export, newest first, optionally filtered by role and
+     * status. Rows are fetched from the database cursor in chunks; the stream
+     * must be consumed and closed inside a transaction.
+     */
+    @org.springframework.data.jpa.repository.QueryHints(@jakarta.persistence.QueryHint(
+            name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @org.springframework.data.jpa.repository.Query("SELECT new com.unicorn.backend.user.UserExportRow(" +
+            "u.id, u.email, u.username, u.firstName, u.lastName, u.displayName, u.role, u.status, " +
+            "u.authProvider, u.country, u.createdAt, u.lastLoginAt) FROM User u " +
+            "WHERE (:role IS NULL OR u.role = :role) AND (:status IS NULL OR u.status = :status) " +
+            "ORDER BY u.createdAt DESC")
+    java.util.stream.Stream<UserExportRow> streamForExport(
+            @org.springframework.data.repository.query.Param("role") String role,
+            @org.springframework.data.repository.query.Param("status") String status);
+
+    /**
+     * Load a user with the investor profile and startup memberships (with their
+     * startups) in one query, for the admin user details.
+     */
+    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = {
+            "investorProfile", "memberships", "memberships.startup" })
+    @org.springframework.data.jpa.repository.Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithProfileAndMembershipsById(
+            @org.springframework.data.repository.query.Param("id") UUID id);
 }
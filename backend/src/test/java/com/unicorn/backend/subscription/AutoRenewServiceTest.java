@@ -0,0 +1,218 @@
+package com.unicorn.backend.subscription;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.androidpublisher.AndroidPublisher;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.unicorn.backend.config.GooglePlayConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the renewal sweep against a local stub of the Google Play subscriptions
+ * API (pointed at through the publisher's root URL, as
+ * {@code google.play.root-url} does), with the repositories mocked.
+ */
+class AutoRenewServiceTest {
+
+    private static final String PACKAGE_NAME = "com.unicorn.app";
+
+    private final long endMillis = Instant.now().plus(12, java.time.temporal.ChronoUnit.HOURS).toEpochMilli();
+    private final List<String> requestedTokens = new CopyOnWriteArrayList<>();
+    private final List<Long> requestNanos = new CopyOnWriteArrayList<>();
+
+    private HttpServer playStub;
+    private SubscriptionRepository subscriptionRepository;
+    private RenewalSweepRepository sweepRepository;
+    private AutoRenewService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        playStub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        playStub.createContext("/", this::handlePurchaseGet);
+        playStub.start();
+
+        AndroidPublisher publisher = new AndroidPublisher.Builder(new NetHttpTransport(),
+                GsonFactory.getDefaultInstance(), null)
+                .setRootUrl("http://127.0.0.1:" + playStub.getAddress().getPort() + "/")
+                .setApplicationName("Unicorn Backend Test")
+                .build();
+        GooglePlayConfig googlePlayConfig = mock(GooglePlayConfig.class);
+        when(googlePlayConfig.getPackageName()).thenReturn(PACKAGE_NAME);
+
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        sweepRepository = mock(RenewalSweepRepository.class);
+        service = new AutoRenewService(subscriptionRepository, sweepRepository, publisher, googlePlayConfig,
+                mock(SubscriptionPlanCache.class), mock(MrrService.class), mock(ApplicationEventPublisher.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "concurrency", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        playStub.stop(0);
+    }
+
+    /**
+     * Answer every purchase lookup with an unchanged, still-paid subscription and
+     * record the token from {@code .../subscriptions/{id}/tokens/{token}}.
+     */
+    private void handlePurchaseGet(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestNanos.add(System.nanoTime());
+            String path = exchange.getRequestURI().getPath();
+            if (!path.startsWith("/androidpublisher/v3/applications/" + PACKAGE_NAME
+                    + "/purchases/subscriptions/pro_monthly/tokens/")) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            requestedTokens.add(path.substring(path.lastIndexOf('/') + 1));
+
+            byte[] body = ("{\"paymentState\": 1, \"expiryTimeMillis\": \"" + endMillis + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    @Test
+    void sweepPagesThroughAllExpiringSubscriptions() {
+        givenSubscriptions(450);
+        givenNewSweep();
+        startService(1000);
+
+        service.checkSubscriptionRenewals();
+
+        assertThat(requestedTokens).hasSize(450);
+        assertThat(requestedTokens).containsExactlyInAnyOrderElementsOf(tokens(1, 450));
+        verify(subscriptionRepository).findActiveSubscriptionsExpiringBeforeAfterId(any(), eq(0L), any());
+        verify(subscriptionRepository).findActiveSubscriptionsExpiringBeforeAfterId(any(), eq(200L), any());
+        verify(subscriptionRepository).findActiveSubscriptionsExpiringBeforeAfterId(any(), eq(400L), any());
+        verify(sweepRepository).checkpoint(any(), eq(200L), eq(200L), anyLong(), anyLong(), anyLong(), eq(0L),
+                any());
+        verify(sweepRepository).checkpoint(any(), eq(450L), eq(450L), anyLong(), anyLong(), anyLong(), eq(0L),
+                any());
+    }
+
+    @Test
+    void sweepStaysUnderMaxQps() {
+        int maxQps = 10;
+        givenSubscriptions(25);
+        givenNewSweep();
+        startService(maxQps);
+
+        service.checkSubscriptionRenewals();
+
+        assertThat(requestNanos).hasSize(25);
+        List<Long> sorted = new ArrayList<>(requestNanos);
+        Collections.sort(sorted);
+        // The first request of each of the 4 sender threads also pays for its
+        // connection setup, so pacing is measured from the fifth request on
+        int first = 4;
+        long span = sorted.get(sorted.size() - 1) - sorted.get(first);
+        long minSpanMillis = (sorted.size() - 1 - first) * 1000L / maxQps - 100;
+        assertThat(span).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(minSpanMillis));
+    }
+
+    @Test
+    void interruptedSweepResumesFromCheckpoint() {
+        givenSubscriptions(450);
+        RenewalSweep interrupted = RenewalSweep.builder()
+                .id(UUID.randomUUID())
+                .expiryThreshold(LocalDateTime.now().plusDays(1))
+                .lastSubscriptionId(300)
+                .checked(300)
+                .heartbeatAt(LocalDateTime.now().minusMinutes(30))
+                .build();
+        when(sweepRepository.findFirstByStatusOrderByCreatedAtAsc(RenewalSweepStatus.RUNNING))
+                .thenReturn(Optional.of(interrupted));
+        when(sweepRepository.claimIfStale(eq(interrupted.getId()), any(), any())).thenReturn(1);
+        startService(1000);
+
+        service.resumeInterruptedSweep();
+
+        assertThat(requestedTokens).containsExactlyInAnyOrderElementsOf(tokens(301, 450));
+        verify(subscriptionRepository).findActiveSubscriptionsExpiringBeforeAfterId(any(), eq(300L), any());
+        verify(sweepRepository).checkpoint(eq(interrupted.getId()), eq(450L), eq(450L), anyLong(), anyLong(),
+                anyLong(), eq(0L), any());
+    }
+
+    private void startService(int maxQps) {
+        ReflectionTestUtils.setField(service, "maxQps", maxQps);
+        service.start();
+    }
+
+    private void givenNewSweep() {
+        when(sweepRepository.findFirstByStatusOrderByCreatedAtAsc(RenewalSweepStatus.RUNNING))
+                .thenReturn(Optional.empty());
+        when(sweepRepository.startIfNoneRunning(any(), any(), any())).thenReturn(1);
+        when(sweepRepository.findById(any())).thenAnswer(invocation -> Optional.of(RenewalSweep.builder()
+                .id(invocation.getArgument(0))
+                .expiryThreshold(LocalDateTime.now().plusDays(1))
+                .heartbeatAt(LocalDateTime.now())
+                .build()));
+    }
+
+    /**
+     * Active PRO subscriptions with ids 1..count, served in keyset pages.
+     */
+    private void givenSubscriptions(int count) {
+        LocalDateTime endDate = LocalDateTime.ofInstant(Instant.ofEpochMilli(endMillis), ZoneId.systemDefault());
+        List<Subscription> subscriptions = LongStream.rangeClosed(1, count)
+                .mapToObj(id -> Subscription.builder()
+                        .id(id)
+                        .planType(SubscriptionPlan.PRO)
+                        .endDate(endDate)
+                        .googlePlayPurchaseToken("token-" + id)
+                        .build())
+                .toList();
+        when(subscriptionRepository.findActiveSubscriptionsExpiringBeforeAfterId(any(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(1);
+                    Pageable pageable = invocation.getArgument(2);
+                    return subscriptions.stream()
+                            .filter(s -> s.getId() > afterId)
+                            .limit(pageable.getPageSize())
+                            .toList();
+                });
+    }
+
+    private static List<String> tokens(long from, long to) {
+        return LongStream.rangeClosed(from, to).mapToObj(id -> "token-" + id).toList();
+    }
+}